@@ -0,0 +1,20 @@
+package de.leidenheit.core.exception;
+
+public class ItarazzoDependencyFailedException extends ItarazzoInterruptException {
+
+    public ItarazzoDependencyFailedException() {
+        super();
+    }
+
+    public ItarazzoDependencyFailedException(final String message) {
+        super(message);
+    }
+
+    public ItarazzoDependencyFailedException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+    public ItarazzoDependencyFailedException(final Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,236 @@
+package de.leidenheit.core.execution;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.jayway.jsonpath.JsonPath;
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import de.leidenheit.core.execution.balancing.LoadBalancer;
+import de.leidenheit.core.execution.context.ExecutionResultContext;
+import de.leidenheit.core.execution.plan.ExecutionPlan;
+import de.leidenheit.core.execution.plan.StepPlan;
+import de.leidenheit.core.execution.throttling.Throttle;
+import de.leidenheit.core.execution.timing.StepTimer;
+import de.leidenheit.core.execution.timing.TimingPhase;
+import de.leidenheit.core.model.Criterion;
+import de.leidenheit.core.model.FailureAction;
+import de.leidenheit.core.model.Parameter;
+import de.leidenheit.core.model.PayloadReplacementObject;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.core.model.SuccessAction;
+import de.leidenheit.core.model.Workflow;
+import de.leidenheit.infrastructure.evaluation.CriterionEvaluator;
+import de.leidenheit.infrastructure.resolving.HttpResolverContext;
+import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
+import de.leidenheit.infrastructure.resolving.StreamingXPath;
+import de.leidenheit.infrastructure.utils.RetryAfterUtils;
+import de.leidenheit.infrastructure.utils.XmlUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.TransformerException;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// parameters, payloads, criteria, actions and outputs of a step, shared by the step executors of all HTTP engines
+@Slf4j
+public abstract class AbstractStepExecutor implements StepExecutor {
+
+    protected final ExecutionPlan plan;
+    protected final CriterionEvaluator criterionEvaluator;
+    protected final SpecExpressionResolver resolver;
+
+    protected AbstractStepExecutor(final ExecutionPlan plan,
+                                   final CriterionEvaluator criterionEvaluator,
+                                   final SpecExpressionResolver resolver) {
+        this.plan = plan;
+        this.resolver = resolver;
+        this.criterionEvaluator = criterionEvaluator;
+    }
+
+    protected StepPlan findStepPlan(final Workflow workflow, final Step step) {
+        var stepPlan = plan.getWorkflowPlan(workflow.getWorkflowId()).findStep(step.getStepId());
+        if (Objects.isNull(stepPlan.getHttpMethod())) throw new ItarazzoIllegalStateException(
+                "No operation resolved: stepId='%s'".formatted(step.getStepId()));
+        return stepPlan;
+    }
+
+    protected Map<String, Object> resolveParameters(final StepPlan stepPlan, final Parameter.ParameterIn in) {
+        return stepPlan.getRequestTemplate().resolveParameters(in, resolver);
+    }
+
+    // resolves the payload of the request body and applies its replacements
+    protected String resolvePayload(final StepPlan stepPlan) {
+        var step = stepPlan.getStep();
+        var resolvedPayload = stepPlan.getRequestTemplate().renderPayload(resolver);
+
+        if (Objects.nonNull(step.getRequestBody().getReplacements())) {
+            var replacements = step.getRequestBody().getReplacements();
+            for (PayloadReplacementObject replacementObject : replacements) {
+                if (replacementObject.getTarget().startsWith("$")) {
+                    // JSONPointer
+                    resolvedPayload = (applyPayloadFromJsonPath(resolvedPayload, replacementObject));
+                } else {
+                    // XPATH
+                    resolvedPayload = (applyPayloadFromXPath(resolvedPayload, replacementObject));
+                }
+            }
+        }
+        return resolvedPayload;
+    }
+
+    // reports the outcome of a response to the throttle and the load balancer of its source description
+    protected void reportOutcome(final Throttle.Permit permit,
+                                 final LoadBalancer.Selection server,
+                                 final HttpResolverContext httpContext) {
+        var statusCode = httpContext.getLatestStatusCode();
+        server.complete(statusCode);
+        permit.complete(statusCode, RetryAfterUtils.parseRetryAfter(httpContext.getLatestResponseHeader("Retry-After")));
+    }
+
+    // evaluates the criteria of a received response and resolves the outputs of a successful one
+    protected ExecutionResultContext evaluateResponse(final Step step,
+                                                      final HttpResolverContext httpContext,
+                                                      final StepTimer stepTimer) {
+        var executionResult = stepTimer.time(TimingPhase.CRITERIA_EVALUATION, () -> handleResponse(step, httpContext));
+        if (executionResult.isSuccessful()) {
+            // Resolve outputs
+            stepTimer.start(TimingPhase.OUTPUT_RESOLUTION);
+            handleOutputs(step, httpContext);
+            stepTimer.stop(TimingPhase.OUTPUT_RESOLUTION);
+        }
+        stepTimer.setResponseSize(httpContext.getLatestResponseDocument().getSize());
+        return executionResult.toBuilder().timings(stepTimer.toTimings()).build();
+    }
+
+    protected ExecutionResultContext handleResponse(final Step step, final HttpResolverContext httpContext) {
+        var stepExecutionResultBuilder = ExecutionResultContext.builder();
+
+        // Evaluate success criteria
+        var success = evaluateSuccessCriteria(step, httpContext);
+        if (!success) {
+            var failureAction = findFittingFailureAction(step, httpContext);
+            stepExecutionResultBuilder.failureAction(failureAction);
+
+            if (Objects.nonNull(failureAction) && FailureAction.FailureActionType.RETRY.equals(failureAction.getType())) {
+                // the shared action is left untouched, the header only applies to this result
+                var retryAfter = RetryAfterUtils.parseRetryAfter(httpContext.getLatestResponseHeader("Retry-After"));
+                if (Objects.nonNull(retryAfter)) {
+                    log.info("FailureAction ['{}' as '{}']: applying header 'Retry-After' with a delay of '{}'",
+                            failureAction.getName(), failureAction.getType(), retryAfter);
+                    stepExecutionResultBuilder.retryAfter(retryAfter);
+                }
+            }
+        } else {
+            stepExecutionResultBuilder.successAction(findFittingSuccessAction(step, httpContext));
+        }
+        return stepExecutionResultBuilder.successful(success).build();
+    }
+
+    protected void handleOutputs(final Step step, final HttpResolverContext httpContext) {
+        if (Objects.nonNull(step.getOutputs())) {
+            var expressions = new LinkedHashMap<String, String>();
+            step.getOutputs().forEach((key, value) ->
+                    expressions.put(key, value instanceof TextNode textNode ? textNode.asText() : value.toString()));
+            // pointer-compatible outputs of the response body are collected in a single pass
+            resolver.prefetchResponseBody(expressions.values(), httpContext);
+
+            expressions.forEach((key, expression) -> {
+                var resolvedOutput = resolver.resolveExpression(expression, httpContext);
+
+                if (Objects.isNull(resolvedOutput))
+                    throw new ItarazzoIllegalStateException("Resolved output must not be null at this point");
+
+                var resolvedEntryKey = String.format("$steps.%s.outputs.%s", step.getStepId(), key);
+                resolver.addResolved(resolvedEntryKey, resolvedOutput);
+            });
+        }
+    }
+
+    private SuccessAction findFittingSuccessAction(final Step step, final HttpResolverContext httpContext) {
+        if (Objects.nonNull(step.getOnSuccess())) {
+            // return the first success action object that fulfills its criteria
+            var fittingSuccessAction = step.getOnSuccess().stream()
+                    .filter(f -> shouldExecuteAction(f.getCriteria(), httpContext))
+                    .findFirst()
+                    .orElse(null);
+
+            if (Objects.isNull(fittingSuccessAction)) throw new ItarazzoIllegalStateException(
+                    "Success action criteria not satisfied: stepId='%s'".formatted(step.getStepId()));
+
+            return fittingSuccessAction;
+        }
+        return null;
+    }
+
+    private FailureAction findFittingFailureAction(final Step step, final HttpResolverContext httpContext) {
+        if (Objects.nonNull(step.getOnFailure())) {
+            // return the first failure action object that fulfills its criteria
+            var fittingFailureAction = step.getOnFailure().stream()
+                    .filter(f -> shouldExecuteAction(f.getCriteria(), httpContext))
+                    .findFirst()
+                    .orElse(null);
+
+            if (Objects.isNull(fittingFailureAction)) throw new ItarazzoIllegalStateException(
+                    "Failure action criteria not satisfied: stepId='%s'".formatted(step.getStepId()));
+            return fittingFailureAction;
+        }
+        return null;
+    }
+
+    private String applyPayloadFromXPath(final String payload, final PayloadReplacementObject replacement) {
+        try {
+            // plain location paths are rewritten while streaming, anything else is applied on a DOM
+            var streamingXPath = StreamingXPath.compile(replacement.getTarget());
+            if (Objects.nonNull(streamingXPath)) {
+                return streamingXPath.replace(new StringReader(payload), replacement.getValue().toString());
+            }
+
+            Document document = XmlUtils.parseDocument(new InputSource(new StringReader(payload)));
+            Node node = (Node) XmlUtils.getXPath().evaluate(
+                    replacement.getTarget(),
+                    document,
+                    XPathConstants.NODE);
+            if (node != null) {
+                node.setTextContent(replacement.getValue().toString());
+            }
+            return XmlUtils.toString(document);
+        } catch (SAXException | IOException | XMLStreamException | XPathExpressionException | TransformerException e) {
+            throw new ItarazzoIllegalStateException(e);
+        }
+    }
+
+    private String applyPayloadFromJsonPath(final String payload, final PayloadReplacementObject replacement) {
+        var resolvedValue = resolver.resolveString(replacement.getValue().toString());
+        return JsonPath.parse(payload).set(replacement.getTarget(), resolvedValue).jsonString();
+    }
+
+    private boolean evaluateSuccessCriteria(final Step step, final HttpResolverContext httpContext) {
+        return step.getSuccessCriteria().stream()
+                .allMatch(c -> {
+                    var isSatisfied = criterionEvaluator.evalCriterion(c, httpContext);
+                    if (!isSatisfied) {
+                        log.info("Step '{}' with an unsatisfied success criterion: condition='{}' context=(method='{}' url='{}' statusCode='{}')",
+                                step.getStepId(),
+                                c.getCondition(),
+                                httpContext.getLatestHttpMethod(),
+                                httpContext.getLatestUrl(),
+                                httpContext.getLatestStatusCode());
+                    }
+                    return isSatisfied;
+                });
+    }
+
+    private boolean shouldExecuteAction(final List<Criterion> actionCriteria, final HttpResolverContext httpContext) {
+        return actionCriteria.stream()
+                .allMatch(criterion -> criterionEvaluator.evalCriterion(criterion, httpContext));
+    }
+}
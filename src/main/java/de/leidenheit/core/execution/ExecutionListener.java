@@ -0,0 +1,18 @@
+package de.leidenheit.core.execution;
+
+import de.leidenheit.core.execution.context.ExecutionResultContext;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.core.model.Workflow;
+
+public interface ExecutionListener {
+
+    // the phases of the step and the sizes of its exchange are part of the result, see ExecutionResultContext.getTimings
+    default void onStepFinished(final Workflow workflow,
+                                final Step step,
+                                final ExecutionResultContext executionResult,
+                                final long durationNanos) {
+    }
+
+    default void onWorkflowFinished(final Workflow workflow, final long durationNanos) {
+    }
+}
@@ -0,0 +1,46 @@
+package de.leidenheit.core.execution;
+
+import de.leidenheit.infrastructure.resolving.ResolvedExpressionProvider;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+public class ExecutionOptions {
+
+    private int parallelism; // number of workflows executed at the same time by the scheduler
+    @Builder.Default
+    private ThreadMode threadMode = ThreadMode.PLATFORM;
+    private boolean parallelSteps; // steps of a workflow without data dependencies on each other are executed at the same time
+    @Builder.Default
+    private List<ExecutionListener> listeners = new ArrayList<>();
+    // holds no resources unless a source description opts into connection pooling
+    @Builder.Default
+    private StepExecutorFactory stepExecutorFactory = RestAssuredStepExecutorFactory.ofDefault();
+    @Builder.Default
+    private long spillThreshold = ResolvedExpressionProvider.DEFAULT_SPILL_THRESHOLD; // bytes beyond which bodies and values go to disk
+
+    public static ExecutionOptions ofDefault() {
+        return ExecutionOptions.builder()
+                .parallelism(Runtime.getRuntime().availableProcessors())
+                .threadMode(ThreadMode.PLATFORM)
+                .parallelSteps(false)
+                .listeners(new ArrayList<>())
+                .spillThreshold(ResolvedExpressionProvider.DEFAULT_SPILL_THRESHOLD)
+                .build();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public enum ThreadMode {
+        PLATFORM("platform"), // pool of platform threads sized by parallelism
+        VIRTUAL("virtual"); // one virtual thread per workflow, parallelism caps the concurrently running ones
+
+        private final String value;
+    }
+}
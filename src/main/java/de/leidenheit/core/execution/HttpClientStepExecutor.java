@@ -0,0 +1,334 @@
+package de.leidenheit.core.execution;
+
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import de.leidenheit.core.exception.ItarazzoUnsupportedException;
+import de.leidenheit.core.execution.context.ExecutionResultContext;
+import de.leidenheit.core.execution.context.HttpClientContext;
+import de.leidenheit.core.execution.plan.ExecutionPlan;
+import de.leidenheit.core.execution.plan.StepPlan;
+import de.leidenheit.core.execution.throttling.Throttle;
+import de.leidenheit.core.execution.timing.StepTimer;
+import de.leidenheit.core.execution.timing.TimingPhase;
+import de.leidenheit.core.model.Parameter;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.core.model.Workflow;
+import de.leidenheit.infrastructure.evaluation.CriterionEvaluator;
+import de.leidenheit.infrastructure.io.SpillableContent;
+import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
+import io.restassured.http.ContentType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+// sends the requests of steps asynchronously with the shared client of its factory, see HttpClientStepExecutorFactory
+@Slf4j
+public class HttpClientStepExecutor extends AbstractStepExecutor {
+
+    // set by the client itself and rejected when given as header parameter
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    public HttpClientStepExecutor(final ExecutionPlan plan,
+                                  final CriterionEvaluator criterionEvaluator,
+                                  final SpecExpressionResolver resolver,
+                                  final HttpClient httpClient,
+                                  final Duration requestTimeout) {
+        super(plan, criterionEvaluator, resolver);
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public ExecutionResultContext executeStep(final Workflow workflow, final Step step) {
+        try {
+            return executeStepAsync(workflow, step).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            var cause = WorkflowScheduler.unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof Error error) throw error;
+            throw new ItarazzoIllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public CompletionStage<ExecutionResultContext> executeStepAsync(final Workflow workflow, final Step step) {
+        StepPlan stepPlan;
+        try {
+            stepPlan = findStepPlan(workflow, step);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        // waits for the rate and concurrency limits of the source description without holding a thread
+        var stepTimer = new StepTimer();
+        stepTimer.start(TimingPhase.THROTTLING);
+        return stepPlan.getThrottle().acquire().thenCompose(permit -> {
+            stepTimer.stop(TimingPhase.THROTTLING);
+            return sendAsync(stepPlan, step, permit, stepTimer);
+        });
+    }
+
+    private CompletableFuture<ExecutionResultContext> sendAsync(final StepPlan stepPlan,
+                                                                final Step step,
+                                                                final Throttle.Permit permit,
+                                                                final StepTimer stepTimer) {
+        var httpContext = HttpClientContext.builder().build();
+        var server = stepPlan.getLoadBalancer().select();
+        HttpRequest request;
+        try {
+            request = stepTimer.time(TimingPhase.REQUEST_BUILDING,
+                    () -> buildRequest(stepPlan, step, server.getServerUrl(), httpContext));
+        } catch (RuntimeException e) {
+            server.cancel();
+            permit.cancel();
+            return CompletableFuture.failedFuture(e);
+        }
+        stepTimer.setRequestSize(request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L));
+
+        var spillThreshold = resolver.getSpillThreshold();
+        // the client does not report its connection setup, which is therefore part of the time to first byte
+        stepTimer.start(TimingPhase.TIME_TO_FIRST_BYTE);
+        return httpClient.sendAsync(request, responseInfo -> {
+                    stepTimer.stop(TimingPhase.TIME_TO_FIRST_BYTE);
+                    stepTimer.start(TimingPhase.BODY_DOWNLOAD);
+                    return new SpillingBodySubscriber(SpillableContent.sink(spillThreshold));
+                })
+                .whenComplete((response, throwable) -> {
+                    if (Objects.nonNull(throwable)) {
+                        server.fail();
+                        permit.fail();
+                    }
+                })
+                .thenApply(response -> {
+                    stepTimer.stop(TimingPhase.BODY_DOWNLOAD);
+                    // Handle response
+                    handleResponse(httpContext, response);
+                    reportOutcome(permit, server, httpContext);
+                    return evaluateResponse(step, httpContext, stepTimer);
+                });
+    }
+
+    private HttpRequest buildRequest(final StepPlan stepPlan,
+                                     final Step step,
+                                     final String serverUrl,
+                                     final HttpClientContext httpContext) {
+        var queryParameterMap = resolveParameters(stepPlan, Parameter.ParameterIn.QUERY);
+        var headerParameterMap = resolveParameters(stepPlan, Parameter.ParameterIn.HEADER);
+        var cookieParameterMap = resolveParameters(stepPlan, Parameter.ParameterIn.COOKIE);
+        var pathParameterMap = resolveParameters(stepPlan, Parameter.ParameterIn.PATH);
+        var bodyFormDataParameterMap = resolveParameters(stepPlan, Parameter.ParameterIn.BODY);
+
+        var uri = buildUri(stepPlan, serverUrl, pathParameterMap, queryParameterMap);
+        var requestBuilder = HttpRequest.newBuilder(uri);
+        if (Objects.nonNull(requestTimeout)) {
+            requestBuilder.timeout(requestTimeout);
+        }
+
+        // apply default content type; this will be overridden if any content type header is applied afterward
+        var contentType = ContentType.JSON.toString();
+
+        // header parameters
+        for (var headerEntry : headerParameterMap.entrySet()) {
+            if ("Content-Type".equalsIgnoreCase(headerEntry.getKey())) {
+                contentType = String.valueOf(headerEntry.getValue());
+            } else if (RESTRICTED_HEADERS.contains(headerEntry.getKey().toLowerCase())) {
+                log.warn("Skipping header '{}' of step '{}' since it is controlled by the HTTP client",
+                        headerEntry.getKey(), step.getStepId());
+            } else {
+                requestBuilder.header(headerEntry.getKey(), String.valueOf(headerEntry.getValue()));
+            }
+        }
+
+        // cookie parameters
+        if (!cookieParameterMap.isEmpty()) {
+            var cookies = new StringJoiner("; ");
+            cookieParameterMap.forEach((name, value) -> cookies.add("%s=%s".formatted(name, value)));
+            requestBuilder.header("Cookie", cookies.toString());
+        }
+
+        // apply body
+        var bodyPublisher = HttpRequest.BodyPublishers.noBody();
+        if (Objects.nonNull(step.getRequestBody())) {
+            contentType = stepPlan.getRequestTemplate().getBodyContentType();
+            var resolvedPayload = resolvePayload(stepPlan);
+
+            if (stepPlan.getRequestTemplate().isBinary()) {
+                bodyPublisher = RequestBodyPublishers.ofFile(resolvedPayload);
+            } else {
+                bodyPublisher = RequestBodyPublishers.ofText(resolvedPayload, StandardCharsets.UTF_8);
+                httpContext.setLatestRequestBody(resolvedPayload);
+            }
+        } else if (!bodyFormDataParameterMap.isEmpty()) {
+            // differentiate form data by applied header
+            if (stepPlan.getRequestTemplate().isMultipart(headerParameterMap)) {
+                log.info("Applying multipart form data: data={}", bodyFormDataParameterMap);
+                var boundary = "itarazzo-%s".formatted(UUID.randomUUID());
+                contentType = "%s; boundary=%s".formatted(ContentType.MULTIPART, boundary);
+                bodyPublisher = ofMultipart(bodyFormDataParameterMap, boundary);
+            } else {
+                log.info("Applying form data: {}", bodyFormDataParameterMap);
+                contentType = ContentType.URLENC.toString();
+                var formData = encodeParameters(bodyFormDataParameterMap);
+                bodyPublisher = RequestBodyPublishers.ofText(formData, StandardCharsets.UTF_8);
+                httpContext.setLatestRequestBody(formData);
+            }
+        }
+        requestBuilder.header("Content-Type", contentType);
+
+        var method = stepPlan.getHttpMethod();
+        switch (method) {
+            case GET, POST, PUT, DELETE, OPTIONS, PATCH, HEAD -> requestBuilder.method(method.name(), bodyPublisher);
+            default -> throw new ItarazzoUnsupportedException("Unsupported by HttpClient");
+        }
+
+        var pathParams = new HashMap<String, String>();
+        pathParameterMap.forEach((name, value) -> pathParams.put(name, String.valueOf(value)));
+        httpContext.setLatestUrl(uri.toString());
+        httpContext.setLatestHttpMethod(method.name());
+        httpContext.setLatestRequestPathParams(pathParams);
+
+        var request = requestBuilder.build();
+        httpContext.setLatestRequest(request);
+        return request;
+    }
+
+    private URI buildUri(final StepPlan stepPlan,
+                         final String serverUrl,
+                         final Map<String, Object> pathParameterMap,
+                         final Map<String, Object> queryParameterMap) {
+        var path = stepPlan.getPathTemplate();
+        for (var pathEntry : pathParameterMap.entrySet()) {
+            path = path.replace("{%s}".formatted(pathEntry.getKey()), encode(pathEntry.getValue()));
+        }
+
+        var uri = new StringBuilder(serverUrl).append(path);
+        if (!queryParameterMap.isEmpty()) {
+            uri.append('?').append(encodeParameters(queryParameterMap));
+        }
+        try {
+            return URI.create(uri.toString());
+        } catch (IllegalArgumentException e) {
+            throw new ItarazzoIllegalStateException("Invalid request uri: '%s'".formatted(uri), e);
+        }
+    }
+
+    private void handleResponse(final HttpClientContext httpContext, final HttpResponse<SpillableContent> response) {
+        httpContext.setLatestResponse(response);
+        httpContext.setLatestStatusCode(response.statusCode());
+        httpContext.setLatestContentType(response.headers().firstValue("Content-Type").orElse(null));
+    }
+
+    private HttpRequest.BodyPublisher ofMultipart(final Map<String, Object> formData, final String boundary) {
+        var parts = new ArrayList<HttpRequest.BodyPublisher>();
+        formData.forEach((name, data) -> {
+            var partHeader = new StringBuilder("--%s\r\nContent-Disposition: form-data; name=\"%s\"".formatted(boundary, name));
+            if (data instanceof String dataAsString && dataAsString.contains(";type=")) {
+                String[] dataParts = dataAsString.split(";type=");
+                String file = dataParts[0];
+                String mimeType = dataParts.length > 1 ? dataParts[1] : ContentType.BINARY.toString();
+                partHeader.append("; filename=\"%s\"\r\nContent-Type: %s\r\n\r\n"
+                        .formatted(Path.of(file).getFileName(), mimeType));
+                parts.add(HttpRequest.BodyPublishers.ofString(partHeader.toString(), StandardCharsets.UTF_8));
+                parts.add(RequestBodyPublishers.ofFile(file));
+            } else {
+                partHeader.append("\r\n\r\n").append(data);
+                parts.add(HttpRequest.BodyPublishers.ofString(partHeader.toString(), StandardCharsets.UTF_8));
+            }
+            parts.add(HttpRequest.BodyPublishers.ofString("\r\n"));
+        });
+        parts.add(HttpRequest.BodyPublishers.ofString("--%s--\r\n".formatted(boundary)));
+        return HttpRequest.BodyPublishers.concat(parts.toArray(HttpRequest.BodyPublisher[]::new));
+    }
+
+    private String encodeParameters(final Map<String, Object> parameters) {
+        var encoded = new StringJoiner("&");
+        parameters.forEach((name, value) -> {
+            // collections are sent as repeated parameters
+            List<?> values = value instanceof Collection<?> collection ? List.copyOf(collection) : List.of(value);
+            values.forEach(v -> encoded.add("%s=%s".formatted(encode(name), encode(v))));
+        });
+        return encoded.toString();
+    }
+
+    private static String encode(final Object value) {
+        return URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    // collects the body as it arrives, on the heap up to the spill threshold and in a temporary file beyond it
+    private static class SpillingBodySubscriber implements HttpResponse.BodySubscriber<SpillableContent> {
+
+        private final SpillableContent.Sink sink;
+        private final CompletableFuture<SpillableContent> body = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        private SpillingBodySubscriber(final SpillableContent.Sink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public CompletionStage<SpillableContent> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(final List<ByteBuffer> buffers) {
+            try {
+                for (var buffer : buffers) {
+                    sink.write(buffer);
+                }
+                subscription.request(1);
+            } catch (IOException e) {
+                subscription.cancel();
+                onError(e);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                throwable.addSuppressed(e);
+            }
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                body.complete(sink.finish());
+            } catch (IOException | RuntimeException e) {
+                onError(e);
+            }
+        }
+    }
+}
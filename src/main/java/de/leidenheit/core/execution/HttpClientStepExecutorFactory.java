@@ -0,0 +1,40 @@
+package de.leidenheit.core.execution;
+
+import de.leidenheit.core.execution.plan.ExecutionPlan;
+import de.leidenheit.infrastructure.evaluation.CriterionEvaluator;
+import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
+import lombok.Getter;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+// the client keeps one pool of connections per server, which all step executors of this factory share; servers that
+// support HTTP/2 multiplex concurrent steps over a single connection
+@Getter
+public class HttpClientStepExecutorFactory implements StepExecutorFactory {
+
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout; // no timeout if null
+
+    public HttpClientStepExecutorFactory(final HttpClient httpClient, final Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+    }
+
+    public static HttpClientStepExecutorFactory ofDefault() {
+        return new HttpClientStepExecutorFactory(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(DEFAULT_CONNECT_TIMEOUT)
+                .build(), null);
+    }
+
+    @Override
+    public StepExecutor create(final ExecutionPlan plan,
+                               final CriterionEvaluator criterionEvaluator,
+                               final SpecExpressionResolver resolver) {
+        return new HttpClientStepExecutor(plan, criterionEvaluator, resolver, httpClient, requestTimeout);
+    }
+}
@@ -0,0 +1,122 @@
+package de.leidenheit.core.execution;
+
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+// request bodies that are streamed to the client chunk by chunk instead of being copied into a single array first
+public class RequestBodyPublishers {
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private RequestBodyPublishers() {}
+
+    // encodes the text once, while it is sent; its length is counted upfront without encoding it, so that the request
+    // keeps its Content-Length, unless the charset is neither UTF-8 nor single-byte and the body is streamed instead
+    public static HttpRequest.BodyPublisher ofText(final CharSequence text, final Charset charset) {
+        if (text.isEmpty()) return HttpRequest.BodyPublishers.noBody();
+        var publisher = HttpRequest.BodyPublishers.ofInputStream(() -> encodingStream(text, charset));
+        var length = encodedLength(text, charset);
+        return length < 0 ? publisher : HttpRequest.BodyPublishers.fromPublisher(publisher, length);
+    }
+
+    // read from the file channel while it is sent, so the size of the file does not matter
+    public static HttpRequest.BodyPublisher ofFile(final String file) {
+        try {
+            return HttpRequest.BodyPublishers.ofFile(Path.of(file));
+        } catch (FileNotFoundException e) {
+            throw new ItarazzoIllegalStateException("File not found: '%s'".formatted(file), e);
+        }
+    }
+
+    // the text encoded chunk by chunk while it is read, for engines that send an input stream
+    static InputStream encodingStream(final CharSequence text, final Charset charset) {
+        return new EncodingInputStream(text, charset);
+    }
+
+    // length in bytes as encoded with replacement of malformed and unmappable input, or -1 if it requires encoding
+    static long encodedLength(final CharSequence text, final Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) return utf8Length(text);
+        // a code point that is not mappable, including a lone surrogate, is replaced by a single byte as well
+        if (charset.newEncoder().maxBytesPerChar() == 1.0f) return Character.codePointCount(text, 0, text.length());
+        return -1;
+    }
+
+    private static long utf8Length(final CharSequence text) {
+        var length = 0L;
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1; // replaced by '?'
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static class EncodingInputStream extends InputStream {
+
+        private final CharBuffer chars;
+        private final CharsetEncoder encoder;
+        private final ByteBuffer bytes = ByteBuffer.allocate(CHUNK_SIZE).flip();
+        private final byte[] single = new byte[1];
+        private boolean flushed;
+
+        private EncodingInputStream(final CharSequence text, final Charset charset) {
+            this.chars = CharBuffer.wrap(text);
+            // malformed and unmappable input is replaced, just as String.getBytes does
+            this.encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] target, final int offset, final int length) throws IOException {
+            if (length == 0) return 0;
+            while (!bytes.hasRemaining()) {
+                if (!fill()) return -1;
+            }
+            var count = Math.min(length, bytes.remaining());
+            bytes.get(target, offset, count);
+            return count;
+        }
+
+        private boolean fill() throws CharacterCodingException {
+            if (flushed) return false;
+            bytes.clear();
+            if (chars.hasRemaining()) {
+                var result = encoder.encode(chars, bytes, true);
+                if (result.isError()) result.throwException();
+            } else {
+                encoder.flush(bytes);
+                flushed = true;
+            }
+            bytes.flip();
+            return true;
+        }
+    }
+}
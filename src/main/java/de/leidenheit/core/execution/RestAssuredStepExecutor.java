@@ -1,107 +1,98 @@
 package de.leidenheit.core.execution;
 
-import com.fasterxml.jackson.databind.node.TextNode;
-import com.google.common.base.Strings;
-import com.jayway.jsonpath.JsonPath;
-import de.leidenheit.core.exception.ItarazzoIllegalStateException;
 import de.leidenheit.core.exception.ItarazzoUnsupportedException;
 import de.leidenheit.core.execution.context.ExecutionResultContext;
 import de.leidenheit.core.execution.context.RestAssuredContext;
-import de.leidenheit.core.model.ArazzoSpecification;
-import de.leidenheit.core.model.Criterion;
-import de.leidenheit.core.model.FailureAction;
+import de.leidenheit.core.execution.plan.ExecutionPlan;
+import de.leidenheit.core.execution.plan.StepPlan;
+import de.leidenheit.core.execution.timing.StepTimer;
+import de.leidenheit.core.execution.timing.TimingPhase;
 import de.leidenheit.core.model.Parameter;
-import de.leidenheit.core.model.PayloadReplacementObject;
-import de.leidenheit.core.model.SourceDescription;
 import de.leidenheit.core.model.Step;
-import de.leidenheit.core.model.SuccessAction;
 import de.leidenheit.core.model.Workflow;
 import de.leidenheit.infrastructure.evaluation.CriterionEvaluator;
 import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
-import de.leidenheit.infrastructure.utils.JsonPointerUtils;
 import io.restassured.RestAssured;
 import io.restassured.config.EncoderConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
-import io.restassured.http.Method;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import lombok.extern.slf4j.Slf4j;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
+
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.StringReader;
-import java.io.StringWriter;
-import java.math.BigDecimal;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Slf4j
-public class RestAssuredStepExecutor implements StepExecutor {
+public class RestAssuredStepExecutor extends AbstractStepExecutor {
 
-    // TODO designated servers support
-    //  public static final String SERVER_MARKER = "x-itarazzo-designated-server"; // move to global constants
+    // disabled automatic appending of charsets to binary content types
+    private static final RestAssuredConfig UNPOOLED_CONFIG = RestAssuredConfig.config().encoderConfig(
+            EncoderConfig.encoderConfig().appendDefaultContentCharsetToContentTypeIfUndefined(false));
 
-    private final ArazzoSpecification arazzo;
-    private final CriterionEvaluator criterionEvaluator;
-    private final SpecExpressionResolver resolver;
+    private final RestAssuredStepExecutorFactory connectionPools; // null opens a new connection per step
 
-    public RestAssuredStepExecutor(final ArazzoSpecification arazzo,
+    public RestAssuredStepExecutor(final ExecutionPlan plan,
                                    final CriterionEvaluator criterionEvaluator,
                                    final SpecExpressionResolver resolver) {
-        this.arazzo = arazzo;
-        this.resolver = resolver;
-        this.criterionEvaluator = criterionEvaluator;
+        this(plan, criterionEvaluator, resolver, null);
+    }
+
+    public RestAssuredStepExecutor(final ExecutionPlan plan,
+                                   final CriterionEvaluator criterionEvaluator,
+                                   final SpecExpressionResolver resolver,
+                                   final RestAssuredStepExecutorFactory connectionPools) {
+        super(plan, criterionEvaluator, resolver);
+        this.connectionPools = connectionPools;
     }
 
     @Override
     public ExecutionResultContext executeStep(final Workflow workflow, final Step step) {
-        RestAssuredContext restAssuredContext = RestAssuredContext.builder().build();
-
-        SourceDescription sourceDescription = null;
-        Map.Entry<String, Method> pathMethodEntry = null;
-        if (Objects.nonNull(step.getOperationId())) {
-            sourceDescription = findRelevantSourceDescriptionByIdentifier(arazzo, step.getOperationId());
-            pathMethodEntry = findPathAndMethodByOperationId(sourceDescription, step.getOperationId());
-        } else if (Objects.nonNull(step.getOperationPath())) {
-            sourceDescription = findRelevantSourceDescriptionByIdentifier(arazzo, step.getOperationPath());
-            pathMethodEntry = extractPathAndMethodByOperationPath(step.getOperationPath());
-        }
+        RestAssuredContext restAssuredContext = RestAssuredContext.builder().spillThreshold(resolver.getSpillThreshold()).build();
+        var stepTimer = new StepTimer();
 
-        var requestSpecification = buildRequest(sourceDescription, step, restAssuredContext, resolver);
-        var response = makeRequest(requestSpecification, pathMethodEntry);
+        var stepPlan = findStepPlan(workflow, step);
+        // waits for the rate and concurrency limits of the source description; RestAssured sends synchronously, so the
+        // wait blocks the calling thread
+        var permit = stepTimer.time(TimingPhase.THROTTLING, () -> stepPlan.getThrottle().acquire().join());
+        var server = stepPlan.getLoadBalancer().select();
 
-        var executionResult = handleResponse(step, response, restAssuredContext);
-        if (executionResult.isSuccessful()) {
-            // Resolve outputs
-            handleOutputs(step, restAssuredContext);
+        RequestSpecification requestSpecification;
+        try {
+            requestSpecification = stepTimer.time(TimingPhase.REQUEST_BUILDING,
+                    () -> buildRequest(stepPlan, step, server.getServerUrl(), restAssuredContext));
+        } catch (RuntimeException e) {
+            server.cancel();
+            permit.cancel();
+            throw e;
+        }
+        Response response;
+        try {
+            // the hooks of pooled connections record the phases of the exchange with the bound timer
+            response = stepTimer.bind(() -> makeRequest(requestSpecification, stepPlan));
+        } catch (RuntimeException e) {
+            server.fail();
+            permit.fail();
+            throw e;
         }
-        return executionResult;
+        stepTimer.stop(TimingPhase.BODY_DOWNLOAD);
+
+        // Handle response
+        handleResponse(restAssuredContext, response);
+        reportOutcome(permit, server, restAssuredContext);
+        return evaluateResponse(step, restAssuredContext, stepTimer);
     }
 
-    private RequestSpecification buildRequest(final SourceDescription sourceDescription,
+    private RequestSpecification buildRequest(final StepPlan stepPlan,
                                               final Step step,
-                                              final RestAssuredContext restAssuredContext,
-                                              final SpecExpressionResolver resolver) {
+                                              final String serverUrl,
+                                              final RestAssuredContext restAssuredContext) {
         var requestSpecification = RestAssured
                 .given()
                 .filter((requestSpec, responseSpec, ctx) -> {
@@ -115,137 +106,100 @@ public class RestAssuredStepExecutor implements StepExecutor {
         // TODO enable for verbose rest assured logs
         //  requestSpecification.log().all();
 
-        // disabled automatic appending of charsets to binary content types
-        requestSpecification.config(RestAssuredConfig.config().encoderConfig(
-                EncoderConfig.encoderConfig().appendDefaultContentCharsetToContentTypeIfUndefined(false)));
+        var config = findConfig(stepPlan);
+        requestSpecification.config(config);
 
         // apply uri
-        String serverUrl = findServerUrl(sourceDescription);
         requestSpecification.baseUri(serverUrl);
 
         // apply default content type; this will be overridden if any content type header is applied afterward
         requestSpecification.contentType(ContentType.JSON);
 
-        // TODO refactor this mess
-        // apply parameters
-        if (Objects.nonNull(step.getParameters())) {
-            // query parameters
-            var queryParameterMap = step.getParameters().stream()
-                    .filter(parameter -> Parameter.ParameterIn.QUERY.equals(parameter.getIn()))
-                    .collect(Collectors.toMap(
-                            Parameter::getName,
-                            parameter -> resolver.resolveExpression(parameter.getValue().toString(), null)
-                    ));
-            if (!queryParameterMap.isEmpty()) {
-                requestSpecification.queryParams(queryParameterMap);
-            }
-
-            // header parameters
-            var headerParameterMap = step.getParameters().stream()
-                    .filter(parameter -> Parameter.ParameterIn.HEADER.equals(parameter.getIn()))
-                    .collect(Collectors.toMap(
-                            Parameter::getName,
-                            parameter -> resolver.resolveExpression(parameter.getValue().toString(), null)
-                    ));
-            if (!headerParameterMap.isEmpty()) {
-                requestSpecification.headers(headerParameterMap);
-            }
+        // apply parameters, bucketed by their location when the plan was compiled
+        var requestTemplate = stepPlan.getRequestTemplate();
 
-            // cookie parameters
-            var cookieParameterMap = step.getParameters().stream()
-                    .filter(parameter -> Parameter.ParameterIn.COOKIE.equals(parameter.getIn()))
-                    .collect(Collectors.toMap(
-                            Parameter::getName,
-                            parameter -> resolver.resolveExpression(parameter.getValue().toString(), null)
-                    ));
-            if (!cookieParameterMap.isEmpty()) {
-                requestSpecification.cookies(cookieParameterMap);
-            }
+        // query parameters
+        var queryParameterMap = resolveParameters(stepPlan, Parameter.ParameterIn.QUERY);
+        if (!queryParameterMap.isEmpty()) {
+            requestSpecification.queryParams(queryParameterMap);
+        }
 
-            // path parameters
-            var pathParameterMap = step.getParameters().stream()
-                    .filter(parameter -> Parameter.ParameterIn.PATH.equals(parameter.getIn()))
-                    .collect(Collectors.toMap(
-                            Parameter::getName,
-                            parameter -> resolver.resolveExpression(parameter.getValue().toString(), null)
-                    ));
-            if (!pathParameterMap.isEmpty()) {
-                requestSpecification.pathParams(pathParameterMap);
-            }
+        // header parameters
+        var headerParameterMap = resolveParameters(stepPlan, Parameter.ParameterIn.HEADER);
+        if (!headerParameterMap.isEmpty()) {
+            requestSpecification.headers(headerParameterMap);
+        }
 
-            // body (form data)
-            var bodyFormDataParameterMap = step.getParameters().stream()
-                    .filter(parameter -> Parameter.ParameterIn.BODY.equals(parameter.getIn()))
-                    .collect(Collectors.toMap(
-                            Parameter::getName,
-                            parameter -> resolver.resolveExpression(parameter.getValue().toString(), null)
-                    ));
-            if (!bodyFormDataParameterMap.isEmpty()) {
-                // differentiate form data by applied header
-                var isMultipart = headerParameterMap.entrySet().stream()
-                        .filter(headerEntry -> "Content-Type".equals(headerEntry.getKey())
-                                && ContentType.MULTIPART.matches(headerEntry.getValue().toString()))
-                        .findFirst()
-                        .orElse(null);
-                if (Objects.nonNull(isMultipart)) {
-                    log.info("Applying multipart form data: data={}", bodyFormDataParameterMap);
-                    bodyFormDataParameterMap.forEach((name, data) -> {
-                        if (data instanceof String dataAsString && dataAsString.contains(";type=")) {
-                            String[] parts = dataAsString.split(";type=");
-                            String file = parts[0];
-                            String mimeType = parts.length > 1 ? parts[1] : ContentType.BINARY.toString();
-                            requestSpecification.multiPart(name, new File(file), mimeType);
-                        } else {
-                            requestSpecification.multiPart(name, data);
-                        }
-                    });
-                } else {
-                    log.info("Applying form data: {}", bodyFormDataParameterMap);
-                    requestSpecification.formParams(bodyFormDataParameterMap);
-                }
-            }
+        // cookie parameters
+        var cookieParameterMap = resolveParameters(stepPlan, Parameter.ParameterIn.COOKIE);
+        if (!cookieParameterMap.isEmpty()) {
+            requestSpecification.cookies(cookieParameterMap);
         }
 
-        // apply body
-        if (Objects.nonNull(step.getRequestBody())) {
-            requestSpecification.contentType(step.getRequestBody().getContentType());
-            String resolvedPayload = resolver.resolveString(step.getRequestBody().getPayload().toString());
-            if (resolvedPayload.contains("$") && (
-                    ContentType.JSON.matches(step.getRequestBody().getContentType())
-                            || ContentType.XML.matches(step.getRequestBody().getContentType()))
-            ) {
-                resolvedPayload = resolver.resolveObject(step.getRequestBody().getPayload());
-            }
+        // path parameters
+        var pathParameterMap = resolveParameters(stepPlan, Parameter.ParameterIn.PATH);
+        if (!pathParameterMap.isEmpty()) {
+            requestSpecification.pathParams(pathParameterMap);
+        }
 
-            if (Objects.nonNull(step.getRequestBody().getReplacements())) {
-                var replacements = step.getRequestBody().getReplacements();
-                for (PayloadReplacementObject replacementObject : replacements) {
-                    if (replacementObject.getTarget().startsWith("$")) {
-                        // JSONPointer
-                        resolvedPayload = (applyPayloadFromJsonPath(resolvedPayload, replacementObject, resolver));
+        // body (form data)
+        var bodyFormDataParameterMap = resolveParameters(stepPlan, Parameter.ParameterIn.BODY);
+        if (!bodyFormDataParameterMap.isEmpty()) {
+            // differentiate form data by applied header
+            if (requestTemplate.isMultipart(headerParameterMap)) {
+                log.info("Applying multipart form data: data={}", bodyFormDataParameterMap);
+                bodyFormDataParameterMap.forEach((name, data) -> {
+                    if (data instanceof String dataAsString && dataAsString.contains(";type=")) {
+                        String[] parts = dataAsString.split(";type=");
+                        String file = parts[0];
+                        String mimeType = parts.length > 1 ? parts[1] : ContentType.BINARY.toString();
+                        requestSpecification.multiPart(name, new File(file), mimeType);
                     } else {
-                        // XPATH
-                        resolvedPayload = (applyPayloadFromXPath(resolvedPayload, replacementObject));
+                        requestSpecification.multiPart(name, data);
                     }
-                }
+                });
+            } else {
+                log.info("Applying form data: {}", bodyFormDataParameterMap);
+                requestSpecification.formParams(bodyFormDataParameterMap);
             }
+        }
+
+        // apply body
+        if (Objects.nonNull(step.getRequestBody())) {
+            requestSpecification.contentType(requestTemplate.getBodyContentType());
+            var resolvedPayload = resolvePayload(stepPlan);
 
-            var handleAsBinary = ContentType.BINARY.matches(step.getRequestBody().getContentType());
-            if (handleAsBinary) {
+            if (requestTemplate.isBinary()) {
                 var file = new File(resolvedPayload);
                 requestSpecification.body(file);
             } else {
-                requestSpecification.body(resolvedPayload.getBytes(StandardCharsets.UTF_8));
+                // RestAssured copies json, xml and text bodies into a byte array, unless their content type is encoded
+                // as binary; the text is then encoded while it is sent, with its length counted upfront
+                var mediaType = Objects.requireNonNullElse(requestTemplate.getBodyContentType(), ContentType.JSON.toString());
+                requestSpecification.config(config.encoderConfig(config.getEncoderConfig()
+                        .encodeContentTypeAs(mediaType.split(";")[0].trim(), ContentType.BINARY)));
+                requestSpecification.body(new SizedInputStream(
+                        RequestBodyPublishers.encodingStream(resolvedPayload, StandardCharsets.UTF_8),
+                        RequestBodyPublishers.encodedLength(resolvedPayload, StandardCharsets.UTF_8)));
             }
 
         }
         return requestSpecification;
     }
 
+    private RestAssuredConfig findConfig(final StepPlan stepPlan) {
+        if (Objects.isNull(connectionPools)) return UNPOOLED_CONFIG;
+
+        var connectionPool = connectionPools.getConnectionPool(stepPlan.getSourceDescription());
+        if (Objects.isNull(connectionPool)) return UNPOOLED_CONFIG;
+        connectionPool.evictIdleConnections();
+        return connectionPool.getRestAssuredConfig();
+    }
+
     private Response makeRequest(final RequestSpecification requestSpecification,
-                                 final Map.Entry<String, Method> pathMethodEntry) {
-        var pathAsString = pathMethodEntry.getKey();
-        var method = pathMethodEntry.getValue();
+                                 final StepPlan stepPlan) {
+        var pathAsString = stepPlan.getPathTemplate();
+        var method = stepPlan.getHttpMethod();
 
         return switch (method) {
             case GET -> requestSpecification.get(pathAsString);
@@ -259,201 +213,100 @@ public class RestAssuredStepExecutor implements StepExecutor {
         };
     }
 
-    private SourceDescription findRelevantSourceDescriptionByIdentifier(final ArazzoSpecification arazzo,
-                                                                        final String identifier) {
-        var sourceDescription = arazzo.getSourceDescriptions().get(0);
-        if (arazzo.getSourceDescriptions().size() > 1) {
-            sourceDescription = arazzo.getSourceDescriptions().stream()
-                    .filter(s -> identifier.contains(s.getName()))
-                    .findFirst()
-                    .orElseThrow(() -> new ItarazzoIllegalStateException(
-                            "Source Description not found: identifier='%s'".formatted(identifier)));
-        }
-        return sourceDescription;
-    }
-
-    private Map.Entry<String, Method> findPathAndMethodByOperationId(final SourceDescription sourceDescription,
-                                                                     final String operationId) {
-        return sourceDescription.getReferencedOpenAPI().getPaths().entrySet().stream()
-                .flatMap(pathsEntry -> pathsEntry.getValue().readOperationsMap().entrySet().stream()
-                        .filter(operationEntry -> operationId.endsWith(operationEntry.getValue().getOperationId()))
-                        .map(matchingOperationEntry -> Map.entry(
-                                pathsEntry.getKey(),
-                                Method.valueOf(matchingOperationEntry.getKey().name().toUpperCase()))
-                        )
-                ).findFirst()
-                .orElseThrow(() -> new ItarazzoIllegalStateException(
-                        "No operation found: operationId='%s'".formatted(operationId)));
-    }
-
-    private Map.Entry<String, Method> extractPathAndMethodByOperationPath(final String operationPath) {
-        var unescapedOperationPath = JsonPointerUtils.unescapeJsonPointer(operationPath);
-        var pattern = Pattern.compile("paths/(?<oasPath>.+)/(?<httpMethod>[a-zA-Z]+)$");
-        var matcher = pattern.matcher(unescapedOperationPath);
-
-        if (!matcher.find()) throw new ItarazzoIllegalStateException(
-                "Pattern matching failed: input='%s' pattern='%s'".formatted(unescapedOperationPath, pattern));
-
-        var oasOperationPath = matcher.group("oasPath");
-        var httpMethod = matcher.group("httpMethod");
-        if (Strings.isNullOrEmpty(oasOperationPath) || Strings.isNullOrEmpty(httpMethod))
-            throw new ItarazzoIllegalStateException("Method and operation path must not be null at this point");
-        return Map.entry(oasOperationPath, Method.valueOf(httpMethod.toUpperCase()));
+    private void handleResponse(final RestAssuredContext restAssuredContext, final Response response) {
+        restAssuredContext.setLastestResponse(response);
+        restAssuredContext.setLatestStatusCode(response.statusCode());
+        restAssuredContext.setLatestContentType(response.getContentType());
     }
 
-    private SuccessAction findFittingSuccessAction(final Step step,
-                                                   final CriterionEvaluator criterionEvaluator,
-                                                   final RestAssuredContext restAssuredContext) {
-        if (Objects.nonNull(step.getOnSuccess())) {
-            // return the first success action object that fulfills its criteria
-            var fittingSuccessAction = step.getOnSuccess().stream()
-                    .filter(f -> shouldExecuteAction(f.getCriteria(), criterionEvaluator, restAssuredContext))
-                    .findFirst()
-                    .orElse(null);
+    // RestAssured sends a ByteArrayInputStream with the bytes it reports as available as Content-Length, and any other
+    // stream chunked; it wraps a stream of known length, so the request keeps its Content-Length
+    private static class SizedInputStream extends ByteArrayInputStream {
 
-            if (Objects.isNull(fittingSuccessAction)) throw new ItarazzoIllegalStateException(
-                    "Success action criteria not satisfied: stepId='%s'".formatted(step.getStepId()));
+        private final InputStream delegate;
+        private long remaining;
 
-            return fittingSuccessAction;
+        private SizedInputStream(final InputStream delegate, final long length) {
+            super(new byte[0]);
+            this.delegate = delegate;
+            this.remaining = length;
         }
-        return null;
-    }
 
-    private FailureAction findFittingFailureAction(final Step step,
-                                                   final CriterionEvaluator criterionEvaluator,
-                                                   final RestAssuredContext restAssuredContext) {
-        if (Objects.nonNull(step.getOnFailure())) {
-            // return the first failure action object that fulfills its criteria
-            var fittingFailureAction = step.getOnFailure().stream()
-                    .filter(f -> shouldExecuteAction(f.getCriteria(), criterionEvaluator, restAssuredContext))
-                    .findFirst()
-                    .orElse(null);
-
-            if (Objects.isNull(fittingFailureAction)) throw new ItarazzoIllegalStateException(
-                    "Failure action criteria not satisfied: stepId='%s'".formatted(step.getStepId()));
-
-            if (FailureAction.FailureActionType.RETRY.equals(fittingFailureAction.getType())) {
-                // apply provided retry-after header value to the action
-                var retryAfter = restAssuredContext.getLastestResponse().getHeader("Retry-After");
-                if (Objects.nonNull(retryAfter)) {
-                    log.info("FailureAction ['{}' as '{}']: applying header 'Retry-After' with a value of '{}'",
-                            fittingFailureAction.getName(), fittingFailureAction.getType(), retryAfter);
-                    fittingFailureAction.setRetryAfter(new BigDecimal(retryAfter));
-                }
+        @Override
+        public synchronized int read() {
+            try {
+                var read = delegate.read();
+                if (read != -1) remaining--;
+                return read;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-            return fittingFailureAction;
         }
-        return null;
-    }
 
-    private String findServerUrl(final SourceDescription sourceDescription) {
-        // TODO support multiple servers
-        var serverUrl = sourceDescription.getReferencedOpenAPI().getServers().get(0).getUrl();
-
-        if (serverUrl.contains("localhost") && !serverUrl.matches(".*:\\d{1,5}")) {
-            // TODO make fallback port configurable
-            serverUrl = "%s:8080".formatted(sourceDescription.getReferencedOpenAPI().getServers().get(0).getUrl());
+        @Override
+        public synchronized int read(final byte[] target, final int offset, final int length) {
+            try {
+                var count = delegate.read(target, offset, length);
+                if (count > 0) remaining -= count;
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
-        return serverUrl;
-    }
-
-    private void handleResponse(final RestAssuredContext restAssuredContext, final Response response) {
-        restAssuredContext.setLastestResponse(response);
-        restAssuredContext.setLatestStatusCode(response.statusCode());
-        restAssuredContext.setLatestContentType(response.getContentType());
-    }
 
-    private ExecutionResultContext handleResponse(final Step step,
-                                                  final Response response,
-                                                  final RestAssuredContext restAssuredContext) {
-        var stepExecutionResultBuilder = ExecutionResultContext.builder();
-
-        // Handle response
-        handleResponse(restAssuredContext, response);
+        @Override
+        public synchronized int readNBytes(final byte[] target, final int offset, final int length) {
+            var total = 0;
+            while (total < length) {
+                var count = read(target, offset + total, length - total);
+                if (count == -1) break;
+                total += count;
+            }
+            return total;
+        }
 
-        // Evaluate success criteria
-        var success = evaluateSuccessCriteria(step, restAssuredContext);
-        if (!success) {
-            stepExecutionResultBuilder.failureAction(
-                    findFittingFailureAction(step, criterionEvaluator, restAssuredContext));
-        } else {
-            stepExecutionResultBuilder.successAction(
-                    findFittingSuccessAction(step, criterionEvaluator, restAssuredContext));
+        @Override
+        public synchronized byte[] readAllBytes() {
+            try {
+                var bytes = delegate.readAllBytes();
+                remaining = 0;
+                return bytes;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
-        return stepExecutionResultBuilder.successful(success).build();
-    }
 
-    private void handleOutputs(final Step step, final RestAssuredContext restAssuredContext) {
-        if (Objects.nonNull(step.getOutputs())) {
-            step.getOutputs().forEach((key, value) -> {
-                Object resolvedOutput;
-                if (value instanceof TextNode textNode) {
-                    resolvedOutput = resolver.resolveExpression(textNode.asText(), restAssuredContext);
-                } else {
-                    resolvedOutput = resolver.resolveExpression(value.toString(), restAssuredContext);
-                }
-
-                if (Objects.isNull(resolvedOutput))
-                    throw new ItarazzoIllegalStateException("Resolved output must not be null at this point");
-
-                var resolvedEntryKey = String.format("$steps.%s.outputs.%s", step.getStepId(), key);
-                resolver.addResolved(resolvedEntryKey, resolvedOutput);
-            });
+        @Override
+        public synchronized long transferTo(final OutputStream out) throws IOException {
+            var transferred = delegate.transferTo(out);
+            remaining = 0;
+            return transferred;
         }
-    }
 
-    private String applyPayloadFromXPath(final String payload, final PayloadReplacementObject replacement) {
-        try {
-            Document document = DocumentBuilderFactory.newInstance()
-                    .newDocumentBuilder()
-                    .parse(new InputSource(new StringReader(payload)));
-
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            Node node = (Node) xpath.evaluate(
-                    replacement.getTarget(),
-                    document,
-                    XPathConstants.NODE);
-            if (node != null) {
-                node.setTextContent(replacement.getValue().toString());
+        @Override
+        public synchronized long skip(final long count) {
+            try {
+                var skipped = delegate.skip(count);
+                remaining -= skipped;
+                return skipped;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-            TransformerFactory tf = TransformerFactory.newInstance();
-            Transformer transformer = tf.newTransformer();
-            StringWriter writer = new StringWriter();
-            transformer.transform(new DOMSource(document), new StreamResult(writer));
-            return writer.getBuffer().toString();
-        } catch (SAXException | IOException | ParserConfigurationException | XPathExpressionException |
-                 TransformerException e) {
-            throw new ItarazzoIllegalStateException(e);
         }
-    }
 
-    private String applyPayloadFromJsonPath(final String payload,
-                                            final PayloadReplacementObject replacement,
-                                            final SpecExpressionResolver resolver) {
-        var resolvedValue = resolver.resolveString(replacement.getValue().toString());
-        return JsonPath.parse(payload).set(replacement.getTarget(), resolvedValue).jsonString();
-    }
+        @Override
+        public synchronized int available() {
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(0, remaining));
+        }
 
-    private boolean evaluateSuccessCriteria(final Step step, final RestAssuredContext restAssuredContext) {
-        return step.getSuccessCriteria().stream()
-                .allMatch(c -> {
-                    var isSatisfied = criterionEvaluator.evalCriterion(c, restAssuredContext);
-                    if (!isSatisfied) {
-                        log.info("Step '{}' with an unsatisfied success criterion: condition='{}' context=(method='{}' url='{}' statusCode='{}')",
-                                step.getStepId(),
-                                c.getCondition(),
-                                restAssuredContext.getLatestHttpMethod(),
-                                restAssuredContext.getLatestUrl(),
-                                restAssuredContext.getLatestStatusCode());
-                    }
-                    return isSatisfied;
-                });
-    }
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
 
-    private boolean shouldExecuteAction(final List<Criterion> actionCriteria,
-                                        final CriterionEvaluator criterionEvaluator,
-                                        final RestAssuredContext restAssuredContext) {
-        return actionCriteria.stream()
-                .allMatch(criterion -> criterionEvaluator.evalCriterion(criterion, restAssuredContext));
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
     }
 }
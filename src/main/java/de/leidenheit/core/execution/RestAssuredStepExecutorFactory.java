@@ -0,0 +1,70 @@
+package de.leidenheit.core.execution;
+
+import de.leidenheit.core.execution.plan.ExecutionPlan;
+import de.leidenheit.core.execution.pool.ConnectionPoolOptions;
+import de.leidenheit.core.execution.pool.ConnectionPoolStats;
+import de.leidenheit.core.execution.pool.RestAssuredConnectionPool;
+import de.leidenheit.core.model.SourceDescription;
+import de.leidenheit.infrastructure.evaluation.CriterionEvaluator;
+import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
+import de.leidenheit.infrastructure.utils.ExtensionUtils;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// one connection pool per source description, shared by the step executors of all workflow executions; the options
+// of a pool are taken from the 'x-itarazzo-connection-pool' extension of its source description, if present. Pools are
+// opened on first use and closed with the factory, i.e., at the end of a run of the scheduler or the load runner
+public class RestAssuredStepExecutorFactory implements StepExecutorFactory {
+
+    @Getter
+    private final ConnectionPoolOptions defaultPoolOptions; // null pools only source descriptions with the extension
+    private final Map<String, RestAssuredConnectionPool> connectionPools = new ConcurrentHashMap<>();
+
+    public RestAssuredStepExecutorFactory(final ConnectionPoolOptions defaultPoolOptions) {
+        this.defaultPoolOptions = defaultPoolOptions;
+    }
+
+    // pooling is opted into per source description by its extension, anything else opens a new connection per step
+    public static RestAssuredStepExecutorFactory ofDefault() {
+        return new RestAssuredStepExecutorFactory(null);
+    }
+
+    // every source description is pooled, with the given options unless overridden by its extension
+    public static RestAssuredStepExecutorFactory ofPooled(final ConnectionPoolOptions defaultPoolOptions) {
+        return new RestAssuredStepExecutorFactory(Objects.requireNonNull(defaultPoolOptions));
+    }
+
+    @Override
+    public StepExecutor create(final ExecutionPlan plan,
+                               final CriterionEvaluator criterionEvaluator,
+                               final SpecExpressionResolver resolver) {
+        return new RestAssuredStepExecutor(plan, criterionEvaluator, resolver, this);
+    }
+
+    // null if the source description is not pooled
+    public RestAssuredConnectionPool getConnectionPool(final SourceDescription sourceDescription) {
+        if (Objects.isNull(defaultPoolOptions) && Objects.isNull(ExtensionUtils.findObjectExtension(
+                sourceDescription.getExtensions(), ConnectionPoolOptions.CONNECTION_POOL_EXTENSION))) return null;
+        return connectionPools.computeIfAbsent(sourceDescription.getName(), name -> new RestAssuredConnectionPool(
+                ConnectionPoolOptions.ofExtensions(sourceDescription.getExtensions(),
+                        Objects.requireNonNullElseGet(defaultPoolOptions, ConnectionPoolOptions::ofDefault))));
+    }
+
+    // statistics of every pool created so far by the name of its source description
+    public Map<String, ConnectionPoolStats> getConnectionPoolStats() {
+        var stats = new TreeMap<String, ConnectionPoolStats>();
+        connectionPools.forEach((name, connectionPool) -> stats.put(name, connectionPool.getStats()));
+        return stats;
+    }
+
+    // pools used afterward are opened again
+    @Override
+    public void close() {
+        connectionPools.values().forEach(RestAssuredConnectionPool::close);
+        connectionPools.clear();
+    }
+}
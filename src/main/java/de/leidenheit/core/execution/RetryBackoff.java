@@ -0,0 +1,62 @@
+package de.leidenheit.core.execution;
+
+import de.leidenheit.core.exception.ItarazzoIllegalArgumentException;
+import de.leidenheit.infrastructure.utils.ExtensionUtils;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Data
+@Builder(toBuilder = true)
+public class RetryBackoff {
+
+    public static final String BACKOFF_EXTENSION = "x-itarazzo-backoff";
+
+    @Builder.Default
+    private double multiplier = 1.0; // growth of the delay per attempt; 1 keeps the 'retryAfter' of the action constant
+    @Builder.Default
+    private Duration maxDelay = Duration.ZERO; // upper bound of the delay before jitter; zero means unbounded
+    private double jitter; // fraction of the delay that is randomly subtracted, between 0 and 1
+
+    public static RetryBackoff ofConstant() {
+        return RetryBackoff.builder()
+                .multiplier(1.0)
+                .maxDelay(Duration.ZERO)
+                .jitter(0)
+                .build();
+    }
+
+    // e.g. x-itarazzo-backoff: { multiplier: 2, maxDelay: PT30S, jitter: 0.5 }
+    public static RetryBackoff ofExtensions(final Map<String, Object> extensions) {
+        var backoffExtension = ExtensionUtils.findObjectExtension(extensions, BACKOFF_EXTENSION);
+        if (Objects.isNull(backoffExtension)) return ofConstant();
+
+        var builder = ofConstant().toBuilder();
+        backoffExtension.forEach((key, value) -> {
+            switch (String.valueOf(key)) {
+                case "multiplier" -> builder.multiplier(ExtensionUtils.toNumber(key, value).doubleValue());
+                case "maxDelay" -> builder.maxDelay(ExtensionUtils.toDuration(key, value));
+                case "jitter" -> builder.jitter(ExtensionUtils.toNumber(key, value).doubleValue());
+                default -> throw new ItarazzoIllegalArgumentException(
+                        "Unknown property '%s' of extension '%s'".formatted(key, BACKOFF_EXTENSION));
+            }
+        });
+        var backoff = builder.build();
+        if (backoff.getMultiplier() < 1.0 || backoff.getJitter() < 0 || backoff.getJitter() > 1.0 || backoff.getMaxDelay().isNegative())
+            throw new ItarazzoIllegalArgumentException("Expected a multiplier of at least 1, a jitter between 0 and 1 "
+                    + "and a non negative max delay but got %s".formatted(backoff));
+        return backoff;
+    }
+
+    // attempt starts with 1 for the first retry
+    public Duration delayOf(final Duration baseDelay, final int attempt) {
+        var delayNanos = baseDelay.toNanos() * Math.pow(multiplier, Math.max(0, attempt - 1));
+        if (!maxDelay.isZero()) delayNanos = Math.min(delayNanos, maxDelay.toNanos());
+        if (jitter > 0) delayNanos -= delayNanos * jitter * ThreadLocalRandom.current().nextDouble();
+        return Duration.ofNanos((long) Math.min(delayNanos, Long.MAX_VALUE));
+    }
+}
@@ -4,7 +4,20 @@ import de.leidenheit.core.execution.context.ExecutionResultContext;
 import de.leidenheit.core.model.Step;
 import de.leidenheit.core.model.Workflow;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 public interface StepExecutor {
 
     ExecutionResultContext executeStep(final Workflow workflow, final Step step);
+
+    // non-blocking engines override this to complete the stage once the response arrived, e.g. by delegating
+    // 'executeStep' to 'executeStepAsync(...).toCompletableFuture().join()'
+    default CompletionStage<ExecutionResultContext> executeStepAsync(final Workflow workflow, final Step step) {
+        try {
+            return CompletableFuture.completedFuture(executeStep(workflow, step));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -0,0 +1,20 @@
+package de.leidenheit.core.execution;
+
+import de.leidenheit.core.execution.plan.ExecutionPlan;
+import de.leidenheit.infrastructure.evaluation.CriterionEvaluator;
+import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
+
+// creates the step executor of every workflow execution; resources shared across executions, e.g. connection pools,
+// belong to the factory and are released by closing it once a run finished
+@FunctionalInterface
+public interface StepExecutorFactory extends AutoCloseable {
+
+    StepExecutor create(final ExecutionPlan plan,
+                        final CriterionEvaluator criterionEvaluator,
+                        final SpecExpressionResolver resolver);
+
+    @Override
+    default void close() {
+        // nothing to release by default
+    }
+}
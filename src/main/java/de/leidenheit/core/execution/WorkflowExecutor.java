@@ -6,86 +6,327 @@ import de.leidenheit.core.exception.ItarazzoIllegalStateException;
 import de.leidenheit.core.exception.ItarazzoInterruptException;
 import de.leidenheit.core.exception.ItarazzoUnsupportedException;
 import de.leidenheit.core.execution.context.ExecutionResultContext;
+import de.leidenheit.core.execution.plan.ExecutionPlan;
+import de.leidenheit.core.execution.plan.StepPlan;
+import de.leidenheit.core.execution.plan.WorkflowPlan;
 import de.leidenheit.core.model.ArazzoSpecification;
 import de.leidenheit.core.model.FailureAction;
-import de.leidenheit.core.model.SourceDescription;
 import de.leidenheit.core.model.Step;
 import de.leidenheit.core.model.SuccessAction;
 import de.leidenheit.core.model.Workflow;
 import de.leidenheit.infrastructure.evaluation.CriterionEvaluator;
+import de.leidenheit.infrastructure.resolving.ResolvedExpressionProvider;
 import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
+import de.leidenheit.infrastructure.utils.ExecutorServiceUtils;
 import lombok.Builder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class WorkflowExecutor {
 
-    private final ArazzoSpecification arazzo;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ExecutionPlan plan;
     private final Map<String, Object> inputs;
+    private final ResolvedExpressionProvider scope;
+    private final ExecutionOptions options;
     private final SpecExpressionResolver resolver;
     private final StepExecutor stepExecutor;
+    // executors of referenced arazzo source descriptions are created once and reused by every referencing step
+    private final Map<String, WorkflowExecutor> referencedWorkflowExecutors = new ConcurrentHashMap<>();
 
     public WorkflowExecutor(final ArazzoSpecification arazzo, final Map<String, Object> inputs) {
-        this.arazzo = arazzo;
+        this(arazzo, inputs, ResolvedExpressionProvider.createRoot());
+    }
+
+    public WorkflowExecutor(final ArazzoSpecification arazzo,
+                            final Map<String, Object> inputs,
+                            final ResolvedExpressionProvider parentScope) {
+        this(arazzo, inputs, parentScope, ExecutionOptions.ofDefault());
+    }
+
+    public WorkflowExecutor(final ArazzoSpecification arazzo,
+                            final Map<String, Object> inputs,
+                            final ResolvedExpressionProvider parentScope,
+                            final ExecutionOptions options) {
+        this(ExecutionPlan.compile(arazzo), inputs, parentScope, options);
+    }
+
+    public WorkflowExecutor(final ExecutionPlan plan,
+                            final Map<String, Object> inputs,
+                            final ResolvedExpressionProvider parentScope,
+                            final ExecutionOptions options) {
+        this.plan = plan;
         this.inputs = inputs;
-        this.resolver = new SpecExpressionResolver(arazzo, inputs);
+        this.options = options;
+        // resolved step outputs stay within this execution, workflow outputs are published to the parent scope
+        this.scope = parentScope.createChild(options.getSpillThreshold());
+        this.resolver = new SpecExpressionResolver(plan.getSpecNodes(), inputs, scope);
 
-        var criterionEvaluator = new CriterionEvaluator(resolver, new ObjectMapper());
-        this.stepExecutor = new RestAssuredStepExecutor(arazzo, criterionEvaluator, resolver); // TODO as dynamic factory
+        var criterionEvaluator = new CriterionEvaluator(resolver, MAPPER);
+        this.stepExecutor = options.getStepExecutorFactory().create(plan, criterionEvaluator, resolver);
     }
 
     public void executeWorkflow(final Workflow workflow) {
+        var execution = startExecution(workflow);
+        Duration retryDelay;
+        while (Objects.nonNull(retryDelay = executeUntilRetry(execution))) {
+            doWait(retryDelay);
+        }
+        finishExecution(execution);
+    }
+
+    // holds no thread while waiting for asynchronous steps or retries: the execution continues on the given executor
+    public CompletableFuture<Void> executeWorkflowAsync(final Workflow workflow, final Executor executor) {
+        try {
+            return continueExecutionAsync(startExecution(workflow), executor);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Void> continueExecutionAsync(final WorkflowExecution execution, final Executor executor) {
+        try {
+            while (execution.getCurrentStepIndex() < execution.getWorkflowPlan().getSteps().size()) {
+                var pendingRetryDelay = executeNextAsync(execution, executor);
+                if (!pendingRetryDelay.isDone() || pendingRetryDelay.isCompletedExceptionally()) {
+                    return pendingRetryDelay.thenComposeAsync(retryDelay ->
+                            continueExecutionAfterAsync(retryDelay, execution, executor), executor);
+                }
+                // steps finished synchronously are continued in place instead of growing the chain of stages
+                var retryDelay = pendingRetryDelay.join();
+                if (Objects.nonNull(retryDelay)) return continueExecutionAfterAsync(retryDelay, execution, executor);
+            }
+            finishExecution(execution);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Void> continueExecutionAfterAsync(final Duration retryDelay,
+                                                                final WorkflowExecution execution,
+                                                                final Executor executor) {
+        if (Objects.isNull(retryDelay)) return continueExecutionAsync(execution, executor);
+
+        var delayedExecutor = CompletableFuture.delayedExecutor(retryDelay.toNanos(), TimeUnit.NANOSECONDS, executor);
+        return CompletableFuture.supplyAsync(() -> execution, delayedExecutor)
+                .thenCompose(delayedExecution -> continueExecutionAsync(delayedExecution, executor));
+    }
+
+    private WorkflowExecution startExecution(final Workflow workflow) {
         log.info("Executing workflow '{}' with inputs: {}", workflow.getWorkflowId(), inputs.toString());
+        return new WorkflowExecution(plan.getWorkflowPlan(workflow.getWorkflowId()), System.nanoTime());
+    }
 
-        Map<String, Integer> retryCounters = new HashMap<>();
-        int currentStepIndex = 0;
-        while (currentStepIndex < workflow.getSteps().size()) {
-            Step currentStep = workflow.getSteps().get(currentStepIndex);
+    // returns the delay before the next attempt of a retried step or null once the workflow has no steps left
+    private Duration executeUntilRetry(final WorkflowExecution execution) {
+        while (execution.getCurrentStepIndex() < execution.getWorkflowPlan().getSteps().size()) {
+            var retryDelay = executeNext(execution);
+            if (Objects.nonNull(retryDelay)) return retryDelay;
+        }
+        return null;
+    }
 
+    // executes the current step, or the run of concurrent steps starting with it, and returns the delay of a retry
+    private Duration executeNext(final WorkflowExecution execution) {
+        var workflowPlan = execution.getWorkflowPlan();
+        var currentStepIndex = execution.getCurrentStepIndex();
+        var currentStepPlan = workflowPlan.getSteps().get(currentStepIndex);
+
+        var concurrentStepsEndIndex = findConcurrentStepsEndIndex(workflowPlan, currentStepIndex);
+        if (concurrentStepsEndIndex - currentStepIndex > 1) {
+            // run of steps without actions, which can only continue sequentially after all of them succeeded
+            executeConcurrently(execution, currentStepIndex, concurrentStepsEndIndex);
+            execution.setCurrentStepIndex(concurrentStepsEndIndex);
+            return null;
+        }
+        if (currentStepPlan.isWorkflowReference()) {
             // execute referenced workflow as content of this step
-            if (Objects.nonNull(currentStep.getWorkflowId())) {
-                executeToReferencedWorkflow(arazzo, currentStep, inputs);
-                currentStepIndex++;
-            } else {
-                // execute step content
-                log.info("Running step '{}'", currentStep.getStepId());
-                var executionResult = stepExecutor.executeStep(workflow, currentStep);
-                ExecutionDecision executionDecision = handleExecutionResultActions(arazzo, workflow, currentStep, executionResult, inputs, retryCounters, resolver);
-                log.info("Finished step '{}' successfully: {}", currentStep.getStepId(), executionResult.isSuccessful());
-
-                if (executionDecision.isMustEnd()) break;
-
-                if (Objects.isNull(executionDecision.nextStepIndex)) {
-                    // no specific reference, so choose sequentially the next step
-                    currentStepIndex++;
-                } else {
-                    // we got a reference, so apply it
-                    currentStepIndex = executionDecision.getNextStepIndex();
-                }
+            executeToReferencedWorkflow(currentStepPlan);
+            execution.setCurrentStepIndex(currentStepIndex + 1);
+            return null;
+        }
+        // execute step content
+        log.info("Running step '{}'", currentStepPlan.getStep().getStepId());
+        var executionResult = executeStep(workflowPlan.getWorkflow(), currentStepPlan.getStep());
+        var executionDecision = decideExecution(execution, currentStepPlan.getStep(), executionResult);
+        executeReferences(execution, executionDecision);
+        return applyExecutionDecision(execution, executionDecision);
+    }
 
-            }
+    private CompletableFuture<Duration> executeNextAsync(final WorkflowExecution execution, final Executor executor) {
+        var workflowPlan = execution.getWorkflowPlan();
+        var currentStepIndex = execution.getCurrentStepIndex();
+        var currentStepPlan = workflowPlan.getSteps().get(currentStepIndex);
+
+        var concurrentStepsEndIndex = findConcurrentStepsEndIndex(workflowPlan, currentStepIndex);
+        if (concurrentStepsEndIndex - currentStepIndex > 1) {
+            return executeConcurrentlyAsync(execution, currentStepIndex, concurrentStepsEndIndex, executor)
+                    .thenApply(result -> {
+                        execution.setCurrentStepIndex(concurrentStepsEndIndex);
+                        return null;
+                    });
         }
+        if (currentStepPlan.isWorkflowReference()) {
+            return executeToReferencedWorkflowAsync(currentStepPlan, executor)
+                    .thenApply(result -> {
+                        execution.setCurrentStepIndex(currentStepIndex + 1);
+                        return null;
+                    });
+        }
+        log.info("Running step '{}'", currentStepPlan.getStep().getStepId());
+        return executeStepAsync(workflowPlan.getWorkflow(), currentStepPlan.getStep())
+                .thenCompose(executionResult -> {
+                    var executionDecision = decideExecution(execution, currentStepPlan.getStep(), executionResult);
+                    return executeReferencesAsync(execution, executionDecision, executor)
+                            .thenApply(result -> applyExecutionDecision(execution, executionDecision));
+                });
+    }
+
+    private ExecutionDecision decideExecution(final WorkflowExecution execution,
+                                              final Step currentStep,
+                                              final ExecutionResultContext executionResult) {
+        ExecutionDecision executionDecision = handleExecutionResultActions(execution.getWorkflowPlan(), currentStep, executionResult, inputs, execution.getRetryCounters(), resolver);
+        log.info("Finished step '{}' successfully: {}", currentStep.getStepId(), executionResult.isSuccessful());
+        return executionDecision;
+    }
+
+    private Duration applyExecutionDecision(final WorkflowExecution execution, final ExecutionDecision executionDecision) {
+        var workflowPlan = execution.getWorkflowPlan();
+        if (executionDecision.isMustEnd()) {
+            execution.setCurrentStepIndex(workflowPlan.getSteps().size());
+        } else if (Objects.isNull(executionDecision.nextStepIndex)) {
+            // no specific reference, so choose sequentially the next step
+            execution.setCurrentStepIndex(execution.getCurrentStepIndex() + 1);
+        } else {
+            // we got a reference, so apply it
+            execution.setCurrentStepIndex(executionDecision.getNextStepIndex());
+        }
+        return executionDecision.getRetryDelay();
+    }
+
+    private void finishExecution(final WorkflowExecution execution) {
+        var workflow = execution.getWorkflowPlan().getWorkflow();
         var workflowOutputs = handleOutputs(workflow, resolver);
         log.info("Finished workflow '{}': outputs={}", workflow.getWorkflowId(), workflowOutputs);
+
+        var workflowDurationNanos = System.nanoTime() - execution.getStartNanos();
+        options.getListeners().forEach(listener -> listener.onWorkflowFinished(workflow, workflowDurationNanos));
     }
 
-    private ExecutionDecision handleExecutionResultActions(final ArazzoSpecification arazzo,
-                                                           final Workflow workflow,
+    private int findConcurrentStepsEndIndex(final WorkflowPlan workflowPlan, final int fromIndex) {
+        if (!options.isParallelSteps() || !workflowPlan.isParallelizable()) return fromIndex + 1;
+
+        var endIndex = fromIndex;
+        while (endIndex < workflowPlan.getSteps().size() && !workflowPlan.getSteps().get(endIndex).isSequential()) {
+            endIndex++;
+        }
+        return endIndex;
+    }
+
+    // runs on the threads shared by all executions, so a run of concurrent steps does not create a pool of its own
+    private void executeConcurrently(final WorkflowExecution execution, final int fromIndex, final int toIndex) {
+        var sharedExecutor = ExecutorServiceUtils.sharedExecutor(options.getThreadMode(),
+                Math.min(options.getParallelism(), toIndex - fromIndex));
+        try {
+            executeConcurrentlyAsync(execution, fromIndex, toIndex, sharedExecutor).join();
+        } catch (CompletionException e) {
+            var cause = WorkflowScheduler.unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof Error error) throw error;
+            throw new ItarazzoIllegalStateException(cause);
+        }
+    }
+
+    // every step starts as soon as the steps whose outputs it references have finished; a failed step skips its
+    // dependents while independent steps still run to completion before the failure is propagated
+    private CompletableFuture<Void> executeConcurrentlyAsync(final WorkflowExecution execution,
+                                                             final int fromIndex,
+                                                             final int toIndex,
+                                                             final Executor executor) {
+        var workflowPlan = execution.getWorkflowPlan();
+        var executedSteps = new ArrayList<CompletableFuture<Void>>(toIndex - fromIndex);
+        for (int index = fromIndex; index < toIndex; index++) {
+            var stepPlan = workflowPlan.getSteps().get(index);
+            var dependencies = stepPlan.getDependencies().stream()
+                    .filter(dependencyIndex -> dependencyIndex >= fromIndex)
+                    .map(dependencyIndex -> executedSteps.get(dependencyIndex - fromIndex))
+                    .toArray(CompletableFuture[]::new);
+            executedSteps.add(CompletableFuture.allOf(dependencies).thenComposeAsync(result -> {
+                var step = stepPlan.getStep();
+                log.info("Running step '{}' concurrently", step.getStepId());
+                return executeStepAsync(workflowPlan.getWorkflow(), step).thenAccept(executionResult -> {
+                    // steps without actions either continue sequentially or end up in an interruption
+                    handleExecutionResultActions(workflowPlan, step, executionResult, inputs, execution.getRetryCounters(), resolver);
+                    log.info("Finished step '{}' successfully: {}", step.getStepId(), executionResult.isSuccessful());
+                });
+            }, executor));
+        }
+
+        return CompletableFuture.allOf(executedSteps.toArray(CompletableFuture[]::new))
+                .handle((result, throwable) -> {
+                    if (Objects.isNull(throwable)) return null;
+                    var failure = executedSteps.stream()
+                            .filter(CompletableFuture::isCompletedExceptionally)
+                            .map(executedStep -> executedStep.handle((stepResult, stepThrowable) -> stepThrowable).join())
+                            .findFirst()
+                            .orElse(throwable);
+                    throw new CompletionException(WorkflowScheduler.unwrap(failure));
+                });
+    }
+
+    private ExecutionResultContext executeStep(final Workflow workflow, final Step step) {
+        var stepStartNanos = System.nanoTime();
+        var executionResult = stepExecutor.executeStep(workflow, step);
+        notifyStepFinished(workflow, step, executionResult, stepStartNanos);
+        return executionResult;
+    }
+
+    private CompletableFuture<ExecutionResultContext> executeStepAsync(final Workflow workflow, final Step step) {
+        var stepStartNanos = System.nanoTime();
+        return stepExecutor.executeStepAsync(workflow, step).toCompletableFuture()
+                .thenApply(executionResult -> {
+                    notifyStepFinished(workflow, step, executionResult, stepStartNanos);
+                    return executionResult;
+                });
+    }
+
+    private void notifyStepFinished(final Workflow workflow,
+                                    final Step step,
+                                    final ExecutionResultContext executionResult,
+                                    final long stepStartNanos) {
+        var stepDurationNanos = System.nanoTime() - stepStartNanos;
+        if (Objects.nonNull(executionResult.getTimings())) {
+            log.debug("Timings of step '{}': {}", step.getStepId(), executionResult.getTimings());
+        }
+        options.getListeners().forEach(listener ->
+                listener.onStepFinished(workflow, step, executionResult, stepDurationNanos));
+    }
+
+    private ExecutionDecision handleExecutionResultActions(final WorkflowPlan workflowPlan,
                                                            final Step currentStep,
                                                            final ExecutionResultContext executionResultContext,
                                                            final Map<String, Object> inputs,
                                                            final Map<String, Integer> retryCounters,
                                                            final SpecExpressionResolver resolver) {
+        var workflow = workflowPlan.getWorkflow();
         if (executionResultContext.isSuccessful()) {
             var successActions = collectSuccessActions(workflow, executionResultContext);
-            return handleSuccessActions(arazzo, successActions, workflow);
+            return handleSuccessActions(successActions, workflowPlan);
         } else {
             var failureActions = collectFailureActions(workflow, executionResultContext);
 
@@ -95,37 +336,41 @@ public class WorkflowExecutor {
                 throw new ItarazzoInterruptException("No handling for unsuccessful operation");
             }
 
-            return handleFailureActions(arazzo, failureActions, currentStep, workflow, retryCounters, inputs, resolver);
+            return handleFailureActions(failureActions, currentStep, executionResultContext, workflowPlan, retryCounters, inputs, resolver);
         }
     }
 
-    private ExecutionDecision handleGotoStepAction(final String stepId, final Workflow workflow) {
-        var index = findStepIndexById(workflow, stepId);
+    private ExecutionDecision handleGotoStepAction(final String stepId, final WorkflowPlan workflowPlan) {
+        var index = workflowPlan.findStepIndex(stepId);
         return ExecutionDecision.builder().nextStepIndex(index).mustEnd(false).build();
     }
 
-    private ExecutionDecision handleGotoWorkflowAction(final ArazzoSpecification arazzo,
-                                                       final String workflowId) {
-        handleWorkflowIdExecutionReference(arazzo, workflowId);
-        // one-way to another workflow will end the current workflow execution
-        return ExecutionDecision.builder().mustEnd(true).build();
+    private ExecutionDecision handleGotoWorkflowAction(final String workflowId) {
+        // one-way to another workflow will end the current workflow execution once the referenced one has finished
+        return ExecutionDecision.builder().referencedWorkflowId(workflowId).mustEnd(true).build();
     }
 
     private ExecutionDecision handleEndAction() {
         return ExecutionDecision.builder().mustEnd(true).build();
     }
 
-    private ExecutionDecision handleRetryAction(final Workflow workflow, final String retryStepId, final Long retryAfter) {
-        doWait(retryAfter);
+    private ExecutionDecision handleRetryAction(final WorkflowPlan workflowPlan,
+                                                final String retryStepId,
+                                                final Duration retryDelay,
+                                                final FailureAction failureAction) {
+        // the wait and the actions to run before the retry attempt are left to the caller, so that asynchronous
+        // executions do not block a thread
         return ExecutionDecision.builder()
-                .nextStepIndex(findStepIndexById(workflow, retryStepId))
+                .nextStepIndex(workflowPlan.findStepIndex(retryStepId))
+                .retryDelay(retryDelay)
+                .referencedStepId(failureAction.getStepId())
+                .referencedWorkflowId(Objects.isNull(failureAction.getStepId()) ? failureAction.getWorkflowId() : null)
                 .mustEnd(false)
                 .build();
     }
 
-    private ExecutionDecision handleSuccessActions(final ArazzoSpecification arazzo,
-                                                   final List<SuccessAction> actionList,
-                                                   final Workflow workflow) {
+    private ExecutionDecision handleSuccessActions(final List<SuccessAction> actionList,
+                                                   final WorkflowPlan workflowPlan) {
         for (SuccessAction successAction : actionList) {
             switch (successAction.getType()) {
                 case GOTO -> {
@@ -133,12 +378,12 @@ public class WorkflowExecutor {
                     if (Objects.nonNull(successAction.getStepId())) {
                         log.info("Triggered success action '{}' as {}: interrupts sequential execution and moves to step '{}'",
                                 successAction.getName(), successAction.getType(), successAction.getStepId());
-                        return handleGotoStepAction(successAction.getStepId(), workflow);
+                        return handleGotoStepAction(successAction.getStepId(), workflowPlan);
                     } else if (Objects.nonNull(successAction.getWorkflowId())) {
                         log.info("Triggered success action '{}' as {}: interrupts sequential execution and moves to workflow '{}'",
                                 successAction.getName(), successAction.getType(), successAction.getWorkflowId());
 
-                        return handleGotoWorkflowAction(arazzo, successAction.getWorkflowId());
+                        return handleGotoWorkflowAction(successAction.getWorkflowId());
                     }
                 }
                 case END -> {
@@ -156,10 +401,10 @@ public class WorkflowExecutor {
         return ExecutionDecision.builder().mustEnd(false).build();
     }
 
-    private ExecutionDecision handleFailureActions(final ArazzoSpecification arazzo,
-                                                   final List<FailureAction> actionList,
+    private ExecutionDecision handleFailureActions(final List<FailureAction> actionList,
                                                    final Step currentStep,
-                                                   final Workflow workflow,
+                                                   final ExecutionResultContext executionResultContext,
+                                                   final WorkflowPlan workflowPlan,
                                                    final Map<String, Integer> retryCounters,
                                                    final Map<String, Object> inputs,
                                                    final SpecExpressionResolver resolver) {
@@ -170,11 +415,11 @@ public class WorkflowExecutor {
                     if (Objects.nonNull(failureAction.getStepId())) {
                         log.info("Triggered failure action '{}' as {}: interrupts sequential execution and moves to step '{}'",
                                 failureAction.getName(), failureAction.getType(), failureAction.getStepId());
-                        return handleGotoStepAction(failureAction.getStepId(), workflow);
+                        return handleGotoStepAction(failureAction.getStepId(), workflowPlan);
                     } else if (Objects.nonNull(failureAction.getWorkflowId())) {
                         log.info("Triggered failure action '{}' as {}: interrupts sequential execution and moves to workflow '{}'",
                                 failureAction.getName(), failureAction.getType(), failureAction.getWorkflowId());
-                        return handleGotoWorkflowAction(arazzo, failureAction.getWorkflowId());
+                        return handleGotoWorkflowAction(failureAction.getWorkflowId());
                     }
                 }
                 case END -> {
@@ -190,33 +435,16 @@ public class WorkflowExecutor {
                     }
                     retryCount++;
                     retryCounters.put(currentStep.getStepId(), retryCount);
-                    log.info("Triggered failure action '{}' as {}: retrying {}/{} after waiting {} seconds",
+                    var retryDelay = computeRetryDelay(failureAction, executionResultContext, retryCount);
+                    log.info("Triggered failure action '{}' as {}: retrying {}/{} after waiting {} ms",
                             failureAction.getName(),
                             failureAction.getType(),
                             retryCount,
                             failureAction.getRetryLimit(),
-                            failureAction.getRetryAfter().longValue());
-
-                    // execute actions defined to run before any retry attempt
-                    if (Objects.nonNull(failureAction.getStepId())) {
-                        var refResult = handleStepIdExecutionReference(arazzo, workflow, failureAction.getStepId(), inputs, resolver);
-                        if (Objects.nonNull(refResult)) {
-                            if (refResult.mustEnd) {
-                                log.warn("Referenced step from retry action was executed but unexpectedly wants to end the workflow before any retry attempt: stepId={} executionDecisionResult={}",
-                                        failureAction.getStepId(), refResult);
-                            } else if (Objects.nonNull(refResult.nextStepIndex)) {
-                                log.warn("Referenced step from retry action was executed but unexpectedly wants to interrupt the current execution order: stepId={} executionDecisionResult={}",
-                                        failureAction.getStepId(), refResult);
-                            }
-                            log.warn("Failure action reference execution result will be ignored for type RETRY");
-                        }
-                    } else if (Objects.nonNull(failureAction.getWorkflowId())) {
-                        handleWorkflowIdExecutionReference(arazzo, failureAction.getWorkflowId());
-                    }
+                            retryDelay.toMillis());
 
-                    // retry the current step
-                    var retryAfter = failureAction.getRetryAfter().longValue();
-                    return handleRetryAction(workflow, currentStep.getStepId(), retryAfter);
+                    // retry the current step after the step or workflow referenced by the action
+                    return handleRetryAction(workflowPlan, currentStep.getStepId(), retryDelay, failureAction);
                 }
                 default -> {
                     log.error("Failure action '{}' of type '{}' is not handled due to missing implementation",
@@ -229,6 +457,18 @@ public class WorkflowExecutor {
         return ExecutionDecision.builder().mustEnd(false).build();
     }
 
+    // a 'Retry-After' header of the response is taken as is, otherwise the backoff applies to the delay of the action
+    private Duration computeRetryDelay(final FailureAction failureAction,
+                                       final ExecutionResultContext executionResultContext,
+                                       final int attempt) {
+        if (Objects.nonNull(executionResultContext.getRetryAfter())) return executionResultContext.getRetryAfter();
+
+        var baseDelay = Objects.isNull(failureAction.getRetryAfter())
+                ? Duration.ZERO
+                : Duration.ofMillis(failureAction.getRetryAfter().movePointRight(3).longValue());
+        return RetryBackoff.ofExtensions(failureAction.getExtensions()).delayOf(baseDelay, attempt);
+    }
+
     private Map<String, Object> handleOutputs(final Workflow workflow, final SpecExpressionResolver resolver) {
         var resolvedOutputs = new HashMap<String, Object>();
         if (Objects.isNull(workflow.getOutputs())) return resolvedOutputs;
@@ -253,65 +493,46 @@ public class WorkflowExecutor {
         return resolvedOutputs;
     }
 
-    private ExecutionDecision handleStepIdExecutionReference(final ArazzoSpecification arazzo,
-                                                             final Workflow workflow,
-                                                             final String referencedStepId,
-                                                             final Map<String, Object> inputs,
-                                                             final SpecExpressionResolver resolver) {
-        var refStep = workflow.getSteps().stream()
-                .filter(step -> referencedStepId.contains(step.getStepId()))
-                .findFirst()
-                .orElseThrow(() -> {
-                    var msg = "Step not found: stepId='%s'".formatted(referencedStepId);
-                    log.error(msg);
-                    return new ItarazzoIllegalStateException(msg);
-                });
-        var executionResult = stepExecutor.executeStep(workflow, refStep);
-        return handleExecutionResultActions(arazzo, workflow, refStep, executionResult, inputs, null, resolver);
-    }
-
-    private void handleWorkflowIdExecutionReference(final ArazzoSpecification arazzo,
-                                                    final String referencedWorkflowId) {
-        var workflowToTransferTo = findWorkflowByWorkflowId(arazzo, referencedWorkflowId);
-        executeWorkflow(workflowToTransferTo);
-    }
-
-    private SourceDescription findRelevantSourceDescriptionByReferencedWorkflowId(final ArazzoSpecification arazzo,
-                                                                                  final String referencedWorkflowId) {
-        var sourceDescription = arazzo.getSourceDescriptions().get(0);
-        if (arazzo.getSourceDescriptions().size() > 1) {
-            sourceDescription = arazzo.getSourceDescriptions().stream()
-                    .filter(s -> referencedWorkflowId.contains(s.getName()))
-                    .findFirst()
-                    .orElseThrow(() -> {
-                        var msg = "Workflow not found: workflowId='%s'".formatted(referencedWorkflowId);
-                        log.error(msg);
-                        return new ItarazzoIllegalStateException(msg);
-                    });
+    // executes the step or workflow referenced by a goto or retry action before the decision applies
+    private void executeReferences(final WorkflowExecution execution, final ExecutionDecision executionDecision) {
+        var workflowPlan = execution.getWorkflowPlan();
+        if (Objects.nonNull(executionDecision.getReferencedStepId())) {
+            var refStep = workflowPlan.findStep(executionDecision.getReferencedStepId()).getStep();
+            var executionResult = executeStep(workflowPlan.getWorkflow(), refStep);
+            executeReferences(execution, decideReferencedStepExecution(execution, refStep, executionResult));
+        } else if (Objects.nonNull(executionDecision.getReferencedWorkflowId())) {
+            executeWorkflow(plan.findWorkflow(executionDecision.getReferencedWorkflowId()));
         }
-        return sourceDescription;
     }
 
-    private Workflow findWorkflowByWorkflowId(final ArazzoSpecification arazzo, final String workflowId) {
-        return arazzo.getWorkflows().stream()
-                .filter(wf -> workflowId.contains(wf.getWorkflowId()))
-                .findFirst()
-                .orElseThrow(() -> {
-                    var msg = "Workflow not found: workflowId='%s'".formatted(workflowId);
-                    log.error(msg);
-                    return new ItarazzoIllegalStateException(msg);
-                });
+    private CompletableFuture<Void> executeReferencesAsync(final WorkflowExecution execution,
+                                                           final ExecutionDecision executionDecision,
+                                                           final Executor executor) {
+        var workflowPlan = execution.getWorkflowPlan();
+        if (Objects.nonNull(executionDecision.getReferencedStepId())) {
+            var refStep = workflowPlan.findStep(executionDecision.getReferencedStepId()).getStep();
+            return executeStepAsync(workflowPlan.getWorkflow(), refStep).thenCompose(executionResult ->
+                    executeReferencesAsync(execution, decideReferencedStepExecution(execution, refStep, executionResult), executor));
+        } else if (Objects.nonNull(executionDecision.getReferencedWorkflowId())) {
+            return executeWorkflowAsync(plan.findWorkflow(executionDecision.getReferencedWorkflowId()), executor);
+        }
+        return CompletableFuture.completedFuture(null);
     }
 
-    private int findStepIndexById(final Workflow workflow, final String stepId) {
-        for (int i = 0; i < workflow.getSteps().size(); i++) {
-            if (workflow.getSteps().get(i).getStepId().equals(stepId)) {
-                return i;
-            }
+    // only the references of a step executed by a retry action are followed, its position and delay are ignored
+    private ExecutionDecision decideReferencedStepExecution(final WorkflowExecution execution,
+                                                            final Step refStep,
+                                                            final ExecutionResultContext executionResult) {
+        var refResult = handleExecutionResultActions(execution.getWorkflowPlan(), refStep, executionResult, inputs, execution.getRetryCounters(), resolver);
+        if (refResult.mustEnd) {
+            log.warn("Referenced step from retry action was executed but unexpectedly wants to end the workflow before any retry attempt: stepId={} executionDecisionResult={}",
+                    refStep.getStepId(), refResult);
+        } else if (Objects.nonNull(refResult.nextStepIndex)) {
+            log.warn("Referenced step from retry action was executed but unexpectedly wants to interrupt the current execution order: stepId={} executionDecisionResult={}",
+                    refStep.getStepId(), refResult);
         }
-        var msg = "Step not found: stepId='%s'".formatted(stepId);
-        log.error(msg);
-        throw new ItarazzoIllegalStateException(msg);
+        log.warn("Failure action reference execution result will be ignored for type RETRY");
+        return refResult;
     }
 
     private List<SuccessAction> collectSuccessActions(final Workflow workflow, final ExecutionResultContext executionResultContext) {
@@ -336,20 +557,32 @@ public class WorkflowExecutor {
         return actions;
     }
 
-    private void executeToReferencedWorkflow(final ArazzoSpecification arazzo,
-                                             final Step currentStep,
-                                             final Map<String, Object> inputs) {
-        var sourceDescription = findRelevantSourceDescriptionByReferencedWorkflowId(arazzo, currentStep.getWorkflowId());
-        var refWorkflow = findWorkflowByWorkflowId(sourceDescription.getReferencedArazzo(), currentStep.getWorkflowId());
+    private void executeToReferencedWorkflow(final StepPlan stepPlan) {
+        var refWorkflow = findReferencedWorkflow(stepPlan);
+        log.info("Step '{}' delegates by reference: workflowId='{}'", stepPlan.getStep().getStepId(), refWorkflow.getWorkflowId());
+        createReferencedWorkflowExecutor(stepPlan).executeWorkflow(refWorkflow);
+    }
+
+    private CompletableFuture<Void> executeToReferencedWorkflowAsync(final StepPlan stepPlan, final Executor executor) {
+        var refWorkflow = findReferencedWorkflow(stepPlan);
+        log.info("Step '{}' delegates by reference: workflowId='{}'", stepPlan.getStep().getStepId(), refWorkflow.getWorkflowId());
+        return createReferencedWorkflowExecutor(stepPlan).executeWorkflowAsync(refWorkflow, executor);
+    }
 
-        log.info("Step '{}' delegates by reference: workflowId='{}'", currentStep.getStepId(), refWorkflow.getWorkflowId());
-        var workflowExecutor = new WorkflowExecutor(sourceDescription.getReferencedArazzo(), inputs);
-        workflowExecutor.executeWorkflow(refWorkflow);
+    private Workflow findReferencedWorkflow(final StepPlan stepPlan) {
+        return Objects.nonNull(stepPlan.getReferencedWorkflow())
+                ? stepPlan.getReferencedWorkflow()
+                : plan.getReferencedPlan(stepPlan.getSourceDescription()).findWorkflow(stepPlan.getStep().getWorkflowId());
     }
 
-    private void doWait(final Long seconds) {
+    private WorkflowExecutor createReferencedWorkflowExecutor(final StepPlan stepPlan) {
+        return referencedWorkflowExecutors.computeIfAbsent(stepPlan.getSourceDescription().getName(), name ->
+                new WorkflowExecutor(plan.getReferencedPlan(stepPlan.getSourceDescription()), inputs, scope, options));
+    }
+
+    private void doWait(final Duration delay) {
         try {
-            Thread.sleep(seconds * 1000L);
+            TimeUnit.NANOSECONDS.sleep(delay.toNanos());
         } catch (InterruptedException e) {
             log.error("Wait-Timer was interrupted: {}", e.getMessage());
             throw new ItarazzoInterruptException(e);
@@ -358,7 +591,7 @@ public class WorkflowExecutor {
 
     private void addResolvedOutputs(final String workflowId, final Map<String, Object> outputs) {
         outputs.forEach((key, value) ->
-                resolver.addResolved("$workflows.%s.outputs.%s".formatted(workflowId, key), value));
+                resolver.publishResolved("$workflows.%s.outputs.%s".formatted(workflowId, key), value));
     }
 
     @Data
@@ -366,5 +599,19 @@ public class WorkflowExecutor {
     private static class ExecutionDecision {
         private Integer nextStepIndex;
         private boolean mustEnd;
+        private Duration retryDelay;
+        // executed before the decision applies
+        private String referencedStepId;
+        private String referencedWorkflowId;
+    }
+
+    // progress of a single workflow execution, which may be continued by another thread after a retry delay
+    @Data
+    private static class WorkflowExecution {
+        private final WorkflowPlan workflowPlan;
+        private final long startNanos;
+        // updated by concurrently executed steps as well
+        private final Map<String, Integer> retryCounters = new ConcurrentHashMap<>();
+        private int currentStepIndex;
     }
 }
@@ -0,0 +1,99 @@
+package de.leidenheit.core.execution;
+
+import de.leidenheit.core.exception.ItarazzoDependencyFailedException;
+import de.leidenheit.core.model.ArazzoSpecification;
+import de.leidenheit.core.model.Workflow;
+import de.leidenheit.infrastructure.utils.ExecutorServiceUtils;
+import de.leidenheit.infrastructure.utils.WorkflowSorterUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+@Slf4j
+public class WorkflowScheduler {
+
+    private final ExecutionOptions options;
+
+    public WorkflowScheduler(final ExecutionOptions options) {
+        this.options = options;
+    }
+
+    // starts every workflow as soon as its dependencies finished; returns the scheduled workflows in topological order
+    public Map<String, CompletableFuture<Void>> schedule(final ArazzoSpecification arazzo,
+                                                         final Consumer<Workflow> workflowRunner) {
+        return scheduleAsync(arazzo, (workflow, executor) -> {
+            workflowRunner.accept(workflow);
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    // the runner gets the worker executor to continue on, e.g. after waiting for a retry without holding a worker
+    public Map<String, CompletableFuture<Void>> scheduleAsync(final ArazzoSpecification arazzo,
+                                                              final BiFunction<Workflow, Executor, CompletionStage<Void>> workflowRunner) {
+        // validates the graph before anything is submitted
+        var sortedWorkflows = WorkflowSorterUtils.sortTopological(arazzo.getWorkflows());
+
+        var executorService = ExecutorServiceUtils.newExecutorService(options, "itarazzo-worker");
+        log.info("Scheduling {} workflows on {} threads with a parallelism of {}",
+                sortedWorkflows.size(), options.getThreadMode().getValue(), options.getParallelism());
+
+        var scheduledWorkflows = new LinkedHashMap<String, CompletableFuture<Void>>();
+        for (Workflow workflow : sortedWorkflows) {
+            scheduledWorkflows.put(workflow.getWorkflowId(),
+                    scheduleWorkflow(workflow, scheduledWorkflows, workflowRunner, executorService));
+        }
+
+        // resources of the step executors, e.g. connection pools, are released once all workflows finished
+        CompletableFuture.allOf(scheduledWorkflows.values().toArray(CompletableFuture[]::new))
+                .whenComplete((result, throwable) -> {
+                    executorService.shutdown();
+                    options.getStepExecutorFactory().close();
+                });
+        return Collections.unmodifiableMap(scheduledWorkflows);
+    }
+
+    private CompletableFuture<Void> scheduleWorkflow(final Workflow workflow,
+                                                     final Map<String, CompletableFuture<Void>> scheduledWorkflows,
+                                                     final BiFunction<Workflow, Executor, CompletionStage<Void>> workflowRunner,
+                                                     final Executor executor) {
+        List<String> dependencies = Objects.nonNull(workflow.getDependsOn())
+                ? workflow.getDependsOn()
+                : Collections.emptyList();
+        var dependencyFutures = new LinkedHashMap<String, CompletableFuture<Void>>();
+        dependencies.forEach(dependency -> dependencyFutures.put(dependency, scheduledWorkflows.get(dependency)));
+
+        return CompletableFuture.allOf(dependencyFutures.values().toArray(CompletableFuture[]::new))
+                // workflows downstream of a failure are skipped instead of executed
+                .handle((result, throwable) -> {
+                    if (Objects.nonNull(throwable)) {
+                        var failedDependencies = dependencyFutures.entrySet().stream()
+                                .filter(entry -> entry.getValue().isCompletedExceptionally())
+                                .map(Map.Entry::getKey)
+                                .toList();
+                        log.warn("Skipping workflow '{}' due to failed dependencies: {}",
+                                workflow.getWorkflowId(), failedDependencies);
+                        throw new ItarazzoDependencyFailedException("Aborted due to failed dependencies: %s"
+                                .formatted(failedDependencies), unwrap(throwable));
+                    }
+                    return result;
+                })
+                .thenComposeAsync(result -> workflowRunner.apply(workflow, executor), executor);
+    }
+
+    public static Throwable unwrap(final Throwable throwable) {
+        if (throwable instanceof CompletionException && Objects.nonNull(throwable.getCause())) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+}
@@ -0,0 +1,207 @@
+package de.leidenheit.core.execution.balancing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// spreads the requests of a source description across its servers; one instance is shared by every step executor of
+// an execution plan and therefore by all concurrent workflow executions. Servers that fail consecutively are ejected
+// for a while; if all servers are ejected, the strategy is applied to all of them rather than failing every request
+public class LoadBalancer {
+
+    // weight of the latest request in the average latency of a server
+    private static final double LATENCY_SMOOTHING = 0.3;
+
+    private final List<Server> servers;
+    private final LoadBalancingOptions options;
+    private final LongSupplier nanoClock;
+    private final AtomicLong turn = new AtomicLong();
+
+    private LoadBalancer(final List<String> serverUrls, final LoadBalancingOptions options, final LongSupplier nanoClock) {
+        this.servers = serverUrls.stream().map(Server::new).toList();
+        this.options = options;
+        this.nanoClock = nanoClock;
+    }
+
+    public static LoadBalancer of(final List<String> serverUrls, final LoadBalancingOptions options) {
+        return new LoadBalancer(serverUrls, options, System::nanoTime);
+    }
+
+    static LoadBalancer of(final List<String> serverUrls, final LoadBalancingOptions options, final LongSupplier nanoClock) {
+        return new LoadBalancer(serverUrls, options, nanoClock);
+    }
+
+    public List<String> getServerUrls() {
+        return servers.stream().map(Server::getUrl).toList();
+    }
+
+    // the selection has to be completed once the request finished, otherwise the server is considered busy forever
+    public Selection select() {
+        if (servers.isEmpty()) return new Selection(null);
+
+        var now = nanoClock.getAsLong();
+        var candidates = new ArrayList<Server>(servers.size());
+        servers.forEach(server -> {
+            if (!server.isEjected(now)) candidates.add(server);
+        });
+        if (candidates.isEmpty()) candidates.addAll(servers);
+
+        var server = switch (options.getStrategy()) {
+            case ROUND_ROBIN -> candidates.get(nextTurn(candidates.size()));
+            case LEAST_OUTSTANDING -> selectLeastOutstanding(candidates);
+            case LATENCY_WEIGHTED -> selectLatencyWeighted(candidates);
+        };
+        server.outstanding.incrementAndGet();
+        return new Selection(server);
+    }
+
+    public List<ServerStats> getStats() {
+        var now = nanoClock.getAsLong();
+        return servers.stream().map(server -> server.toStats(now)).toList();
+    }
+
+    private int nextTurn(final int size) {
+        return (int) Math.floorMod(turn.getAndIncrement(), (long) size);
+    }
+
+    private Server selectLeastOutstanding(final List<Server> candidates) {
+        // starting at the next turn spreads requests evenly while all servers are equally busy
+        var offset = nextTurn(candidates.size());
+        Server selected = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            var candidate = candidates.get((offset + i) % candidates.size());
+            if (selected == null || candidate.outstanding.get() < selected.outstanding.get()) selected = candidate;
+        }
+        return selected;
+    }
+
+    private Server selectLatencyWeighted(final List<Server> candidates) {
+        var weights = new double[candidates.size()];
+        var totalWeight = 0.0;
+        Server unmeasured = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            var candidate = candidates.get(i);
+            var averageLatencyNanos = candidate.averageLatencyNanos();
+            if (averageLatencyNanos == 0) {
+                if (unmeasured == null || candidate.outstanding.get() < unmeasured.outstanding.get()) unmeasured = candidate;
+                continue;
+            }
+            weights[i] = 1.0 / (averageLatencyNanos * (candidate.outstanding.get() + 1));
+            totalWeight += weights[i];
+        }
+        // servers without a measurement are tried first
+        if (unmeasured != null) return unmeasured;
+        var random = ThreadLocalRandom.current().nextDouble(totalWeight);
+        for (int i = 0; i < weights.length; i++) {
+            random -= weights[i];
+            if (random < 0) return candidates.get(i);
+        }
+        return candidates.get(candidates.size() - 1);
+    }
+
+    public class Selection {
+
+        private final Server server; // null if the source description does not declare any server
+        private final long startNanos;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Selection(final Server server) {
+            this.server = server;
+            this.startNanos = nanoClock.getAsLong();
+        }
+
+        public String getServerUrl() {
+            return server == null ? null : server.getUrl();
+        }
+
+        // responses with a 5xx status code count as failure of the server
+        public void complete(final int statusCode) {
+            complete(statusCode >= 500);
+        }
+
+        // the request did not receive a response
+        public void fail() {
+            complete(true);
+        }
+
+        // the request was not sent, e.g. since it could not be built
+        public void cancel() {
+            if (server == null || !completed.compareAndSet(false, true)) return;
+            server.outstanding.decrementAndGet();
+        }
+
+        private void complete(final boolean failed) {
+            if (server == null || !completed.compareAndSet(false, true)) return;
+            var now = nanoClock.getAsLong();
+            server.outstanding.decrementAndGet();
+            server.record(now - startNanos, failed, now);
+        }
+    }
+
+    private class Server {
+
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        // guarded by this
+        private long requests;
+        private long failures;
+        private long ejections;
+        private int consecutiveFailures;
+        private long ejectedUntilNanos;
+        private boolean hasEjectionDeadline;
+        private double averageLatencyNanos;
+
+        private Server(final String url) {
+            this.url = url;
+        }
+
+        private String getUrl() {
+            return url;
+        }
+
+        private synchronized boolean isEjected(final long now) {
+            return hasEjectionDeadline && now - ejectedUntilNanos < 0;
+        }
+
+        private synchronized double averageLatencyNanos() {
+            return averageLatencyNanos;
+        }
+
+        private synchronized void record(final long latencyNanos, final boolean failed, final long now) {
+            requests++;
+            averageLatencyNanos = averageLatencyNanos == 0
+                    ? Math.max(latencyNanos, 1)
+                    : LATENCY_SMOOTHING * latencyNanos + (1 - LATENCY_SMOOTHING) * averageLatencyNanos;
+            if (!failed) {
+                consecutiveFailures = 0;
+                return;
+            }
+            failures++;
+            consecutiveFailures++;
+            // the counter is only reset by a success, so a server that returns from its ejection is ejected again
+            // by its next failure
+            if (options.getFailureThreshold() > 0 && consecutiveFailures >= options.getFailureThreshold() && !isEjected(now)) {
+                ejections++;
+                ejectedUntilNanos = now + options.getEjectionTime().toNanos();
+                hasEjectionDeadline = true;
+            }
+        }
+
+        private synchronized ServerStats toStats(final long now) {
+            return ServerStats.builder()
+                    .url(url)
+                    .requests(requests)
+                    .failures(failures)
+                    .outstanding(outstanding.get())
+                    .ejections(ejections)
+                    .ejected(isEjected(now))
+                    .averageLatency(Duration.ofNanos((long) averageLatencyNanos))
+                    .build();
+        }
+    }
+}
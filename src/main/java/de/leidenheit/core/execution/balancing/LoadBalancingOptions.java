@@ -0,0 +1,68 @@
+package de.leidenheit.core.execution.balancing;
+
+import de.leidenheit.core.exception.ItarazzoIllegalArgumentException;
+import de.leidenheit.infrastructure.utils.ExtensionUtils;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+@Data
+@Builder(toBuilder = true)
+public class LoadBalancingOptions {
+
+    public static final String LOAD_BALANCING_EXTENSION = "x-itarazzo-load-balancing";
+
+    @Builder.Default
+    private LoadBalancingStrategy strategy = LoadBalancingStrategy.ROUND_ROBIN;
+    @Builder.Default
+    private int failureThreshold = 5; // consecutive failures until a server is ejected; zero disables ejection
+    @Builder.Default
+    private Duration ejectionTime = Duration.ofSeconds(30); // an ejected server is not selected for this long
+    @Builder.Default
+    private int localhostPort = 8080; // appended to localhost servers without a port; zero keeps them as they are
+
+    public static LoadBalancingOptions ofDefault() {
+        return LoadBalancingOptions.builder()
+                .strategy(LoadBalancingStrategy.ROUND_ROBIN)
+                .failureThreshold(5)
+                .ejectionTime(Duration.ofSeconds(30))
+                .localhostPort(8080)
+                .build();
+    }
+
+    // e.g. x-itarazzo-load-balancing: { strategy: least-outstanding, failureThreshold: 3, ejectionTime: PT10S }
+    public static LoadBalancingOptions ofExtensions(final Map<String, Object> extensions, final LoadBalancingOptions defaults) {
+        var balancingExtension = ExtensionUtils.findObjectExtension(extensions, LOAD_BALANCING_EXTENSION);
+        if (Objects.isNull(balancingExtension)) return defaults;
+
+        var builder = defaults.toBuilder();
+        balancingExtension.forEach((key, value) -> {
+            switch (String.valueOf(key)) {
+                case "strategy" -> builder.strategy(toStrategy(value));
+                case "failureThreshold" -> builder.failureThreshold(ExtensionUtils.toNumber(key, value).intValue());
+                case "ejectionTime" -> builder.ejectionTime(ExtensionUtils.toDuration(key, value));
+                case "localhostPort" -> builder.localhostPort(ExtensionUtils.toNumber(key, value).intValue());
+                default -> throw new ItarazzoIllegalArgumentException(
+                        "Unknown property '%s' of extension '%s'".formatted(key, LOAD_BALANCING_EXTENSION));
+            }
+        });
+        var balancingOptions = builder.build();
+        if (balancingOptions.getFailureThreshold() < 0 || balancingOptions.getEjectionTime().isNegative()
+                || balancingOptions.getLocalhostPort() < 0 || balancingOptions.getLocalhostPort() > 65535)
+            throw new ItarazzoIllegalArgumentException("Expected a non-negative failure threshold and ejection time and "
+                    + "a valid port but got %s".formatted(balancingOptions));
+        return balancingOptions;
+    }
+
+    private static LoadBalancingStrategy toStrategy(final Object value) {
+        try {
+            return LoadBalancingStrategy.valueOf(String.valueOf(value).toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new ItarazzoIllegalArgumentException("Unknown load balancing strategy '%s'".formatted(value), e);
+        }
+    }
+}
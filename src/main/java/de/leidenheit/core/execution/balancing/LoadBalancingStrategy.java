@@ -0,0 +1,7 @@
+package de.leidenheit.core.execution.balancing;
+
+public enum LoadBalancingStrategy {
+    ROUND_ROBIN, // servers take turns
+    LEAST_OUTSTANDING, // the server with the fewest requests in flight, taking turns on a tie
+    LATENCY_WEIGHTED // random, weighted by the inverse of the average latency times the requests in flight
+}
@@ -0,0 +1,18 @@
+package de.leidenheit.core.execution.balancing;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+@Builder
+public class ServerStats {
+    private final String url;
+    private final long requests; // completed requests
+    private final long failures; // requests without a response or with a 5xx status code
+    private final int outstanding; // requests currently in flight
+    private final long ejections;
+    private final boolean ejected;
+    private final Duration averageLatency; // exponentially weighted; zero until the first request completed
+}
@@ -1,14 +1,19 @@
 package de.leidenheit.core.execution.context;
 
+import de.leidenheit.core.execution.timing.StepTimings;
 import de.leidenheit.core.model.FailureAction;
 import de.leidenheit.core.model.SuccessAction;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.Duration;
+
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class ExecutionResultContext {
     final boolean successful;
     final SuccessAction successAction;
     final FailureAction failureAction;
+    final Duration retryAfter; // taken from the 'Retry-After' header of the response; overrides the one of the failure action
+    final StepTimings timings; // phases of the step execution and sizes of its exchange
 }
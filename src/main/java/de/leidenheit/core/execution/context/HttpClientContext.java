@@ -0,0 +1,54 @@
+package de.leidenheit.core.execution.context;
+
+import de.leidenheit.infrastructure.io.SpillableContent;
+import de.leidenheit.infrastructure.resolving.HttpResolverContext;
+import de.leidenheit.infrastructure.resolving.ResponseDocument;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Objects;
+
+@Data
+@Builder
+public class HttpClientContext implements HttpResolverContext {
+
+    private String latestUrl;
+    private String latestHttpMethod;
+    private int latestStatusCode;
+    private HttpRequest latestRequest;
+    private String latestRequestBody; // textual payload as sent; binary and multipart bodies are not kept
+    private Map<String, String> latestRequestPathParams;
+    private HttpResponse<SpillableContent> latestResponse;
+    private Objects latestMessage;
+    private String latestContentType;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ResponseDocument responseDocument;
+
+    @Override
+    public String getLatestRequestHeader(final String headerName) {
+        return latestRequest.headers().firstValue(headerName).orElse(null);
+    }
+
+    @Override
+    public String getLatestResponseHeader(final String headerName) {
+        return latestResponse.headers().firstValue(headerName).orElse(null);
+    }
+
+    @Override
+    public String getLatestResponseBody() {
+        return getLatestResponseDocument().getBody();
+    }
+
+    @Override
+    public ResponseDocument getLatestResponseDocument() {
+        if (Objects.isNull(responseDocument)) responseDocument = ResponseDocument.of(latestResponse::body, latestContentType);
+        return responseDocument;
+    }
+}
@@ -1,11 +1,19 @@
 package de.leidenheit.core.execution.context;
 
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import de.leidenheit.infrastructure.io.SpillableContent;
 import de.leidenheit.infrastructure.resolving.HttpResolverContext;
+import de.leidenheit.infrastructure.resolving.ResponseDocument;
 import io.restassured.response.Response;
 import io.restassured.specification.FilterableRequestSpecification;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
+import java.io.IOException;
+import java.util.Map;
 import java.util.Objects;
 
 @Data
@@ -18,4 +26,48 @@ public class RestAssuredContext implements HttpResolverContext {
     private Response lastestResponse;
     private Objects latestMessage;
     private String latestContentType;
+    private long spillThreshold; // bodies beyond are spilled to disk once read
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ResponseDocument responseDocument;
+
+    @Override
+    public String getLatestRequestHeader(final String headerName) {
+        return latestRequest.getHeaders().getValue(headerName);
+    }
+
+    @Override
+    public String getLatestRequestBody() {
+        return latestRequest.getBody();
+    }
+
+    @Override
+    public Map<String, String> getLatestRequestPathParams() {
+        return latestRequest.getPathParams();
+    }
+
+    @Override
+    public String getLatestResponseHeader(final String headerName) {
+        return lastestResponse.getHeaders().getValue(headerName);
+    }
+
+    @Override
+    public String getLatestResponseBody() {
+        return getLatestResponseDocument().getBody();
+    }
+
+    @Override
+    public ResponseDocument getLatestResponseDocument() {
+        if (Objects.isNull(responseDocument)) responseDocument = ResponseDocument.of(this::readResponseContent, latestContentType);
+        return responseDocument;
+    }
+
+    private SpillableContent readResponseContent() {
+        if (Objects.isNull(lastestResponse.body())) return null;
+        try (var inputStream = lastestResponse.asInputStream()) {
+            return SpillableContent.read(inputStream, spillThreshold);
+        } catch (IOException e) {
+            throw new ItarazzoIllegalStateException(e);
+        }
+    }
 }
\ No newline at end of file
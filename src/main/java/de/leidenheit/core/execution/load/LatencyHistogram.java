@@ -0,0 +1,84 @@
+package de.leidenheit.core.execution.load;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// lock-free log-linear histogram of nanosecond latencies with a relative error of at most ~1.6%
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0L);
+
+    public void record(final long latencyNanos) {
+        var value = Math.max(0L, latencyNanos);
+        buckets.incrementAndGet(indexOf(value));
+        sum.add(value);
+        max.accumulate(value);
+        count.incrementAndGet();
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(max.get());
+    }
+
+    public Duration getMean() {
+        var currentCount = count.get();
+        return currentCount == 0 ? Duration.ZERO : Duration.ofNanos(sum.sum() / currentCount);
+    }
+
+    // e.g. 99.0 for the 99th percentile
+    public Duration getPercentile(final double percentile) {
+        var currentCount = count.get();
+        if (currentCount == 0) return Duration.ZERO;
+
+        var rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * currentCount));
+        long seen = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            seen += buckets.get(index);
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min(upperBoundOf(index), max.get()));
+            }
+        }
+        return getMax();
+    }
+
+    public LatencySummary summarize() {
+        return LatencySummary.builder()
+                .count(getCount())
+                .mean(getMean())
+                .p50(getPercentile(50.0))
+                .p90(getPercentile(90.0))
+                .p99(getPercentile(99.0))
+                .max(getMax())
+                .build();
+    }
+
+    private static int indexOf(final long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long upperBoundOf(final int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,27 @@
+package de.leidenheit.core.execution.load;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+@Builder
+public class LatencySummary {
+    private final long count;
+    private final Duration mean;
+    private final Duration p50;
+    private final Duration p90;
+    private final Duration p99;
+    private final Duration max;
+
+    @Override
+    public String toString() {
+        return "count=%d mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms".formatted(
+                count, toMillis(mean), toMillis(p50), toMillis(p90), toMillis(p99), toMillis(max));
+    }
+
+    private static double toMillis(final Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
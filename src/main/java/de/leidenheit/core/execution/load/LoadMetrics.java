@@ -0,0 +1,64 @@
+package de.leidenheit.core.execution.load;
+
+import de.leidenheit.core.execution.ExecutionListener;
+import de.leidenheit.core.execution.context.ExecutionResultContext;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.core.model.Workflow;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// collects the latencies of all iterations; steps are keyed by '<workflowId>.<stepId>' to tell nested workflows apart
+public class LoadMetrics implements ExecutionListener {
+
+    private final LatencyHistogram workflowLatency = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> stepLatencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> stepFailures = new ConcurrentHashMap<>();
+    private final AtomicLong iterations = new AtomicLong();
+    private final AtomicLong failedIterations = new AtomicLong();
+
+    @Override
+    public void onStepFinished(final Workflow workflow,
+                               final Step step,
+                               final ExecutionResultContext executionResult,
+                               final long durationNanos) {
+        var stepKey = "%s.%s".formatted(workflow.getWorkflowId(), step.getStepId());
+        stepLatencies.computeIfAbsent(stepKey, key -> new LatencyHistogram()).record(durationNanos);
+        if (!executionResult.isSuccessful()) {
+            stepFailures.computeIfAbsent(stepKey, key -> new LongAdder()).increment();
+        }
+    }
+
+    // latency is measured from the intended start, service time from the actual start of the iteration
+    public void recordIteration(final long latencyNanos, final long serviceTimeNanos, final boolean failed) {
+        workflowLatency.record(latencyNanos);
+        serviceTime.record(serviceTimeNanos);
+        iterations.incrementAndGet();
+        if (failed) failedIterations.incrementAndGet();
+    }
+
+    public LoadReport toReport(final String workflowId, final Duration elapsed) {
+        var stepSummaries = new TreeMap<String, LatencySummary>();
+        stepLatencies.forEach((key, histogram) -> stepSummaries.put(key, histogram.summarize()));
+        var stepFailureCounts = new TreeMap<String, Long>();
+        stepFailures.forEach((key, failures) -> stepFailureCounts.put(key, failures.sum()));
+
+        var elapsedSeconds = elapsed.toNanos() / 1_000_000_000.0;
+        return LoadReport.builder()
+                .workflowId(workflowId)
+                .elapsed(elapsed)
+                .iterations(iterations.get())
+                .failedIterations(failedIterations.get())
+                .throughput(elapsedSeconds > 0 ? iterations.get() / elapsedSeconds : 0.0)
+                .workflowLatency(workflowLatency.summarize())
+                .serviceTime(serviceTime.summarize())
+                .stepLatencies(stepSummaries)
+                .stepFailures(stepFailureCounts)
+                .build();
+    }
+}
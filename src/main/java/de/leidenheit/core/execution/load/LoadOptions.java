@@ -0,0 +1,59 @@
+package de.leidenheit.core.execution.load;
+
+import de.leidenheit.core.exception.ItarazzoIllegalArgumentException;
+import de.leidenheit.infrastructure.utils.ExtensionUtils;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+
+@Data
+@Builder(toBuilder = true)
+public class LoadOptions {
+
+    public static final String LOAD_EXTENSION = "x-itarazzo-load";
+
+    private int virtualUsers; // closed model: concurrently iterating users; open model: cap of iterations in flight
+    private long iterations; // total number of iterations across all users; 0 means bounded by duration only
+    @Builder.Default
+    private Duration rampUp = Duration.ZERO; // closed model: users are started evenly; open model: rate grows linearly
+    @Builder.Default
+    private Duration duration = Duration.ZERO; // zero means bounded by iterations only
+    private double arrivalRate; // iterations started per second regardless of earlier ones; 0 means closed model
+
+    public static LoadOptions ofDefault() {
+        return LoadOptions.builder()
+                .virtualUsers(1)
+                .iterations(1)
+                .rampUp(Duration.ZERO)
+                .duration(Duration.ZERO)
+                .arrivalRate(0)
+                .build();
+    }
+
+    // e.g. x-itarazzo-load: { arrivalRate: 50, duration: PT1M, virtualUsers: 200 }
+    public static LoadOptions ofExtensions(final Map<String, Object> extensions, final LoadOptions defaults) {
+        var loadExtension = ExtensionUtils.findObjectExtension(extensions, LOAD_EXTENSION);
+        if (Objects.isNull(loadExtension)) return defaults;
+
+        var builder = defaults.toBuilder();
+        loadExtension.forEach((key, value) -> {
+            switch (String.valueOf(key)) {
+                case "virtualUsers" -> builder.virtualUsers(ExtensionUtils.toNumber(key, value).intValue());
+                case "iterations" -> builder.iterations(ExtensionUtils.toNumber(key, value).longValue());
+                case "rampUp" -> builder.rampUp(ExtensionUtils.toDuration(key, value));
+                case "duration" -> builder.duration(ExtensionUtils.toDuration(key, value));
+                case "arrivalRate" -> builder.arrivalRate(ExtensionUtils.toNumber(key, value).doubleValue());
+                default -> throw new ItarazzoIllegalArgumentException(
+                        "Unknown property '%s' of extension '%s'".formatted(key, LOAD_EXTENSION));
+            }
+        });
+        return builder.build();
+    }
+
+    public boolean isOpenModel() {
+        return arrivalRate > 0;
+    }
+}
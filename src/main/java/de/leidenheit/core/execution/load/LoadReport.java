@@ -0,0 +1,42 @@
+package de.leidenheit.core.execution.load;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Data
+@Builder
+public class LoadReport {
+    private final String workflowId;
+    private final Duration elapsed;
+    private final long iterations;
+    private final long failedIterations;
+    private final double throughput; // iterations per second
+    private final LatencySummary workflowLatency;
+    private final LatencySummary serviceTime;
+    private final Map<String, LatencySummary> stepLatencies;
+    private final Map<String, Long> stepFailures;
+
+    public double getErrorRate() {
+        return iterations == 0 ? 0.0 : (double) failedIterations / iterations;
+    }
+
+    public double getStepErrorRate(final String stepKey) {
+        var stepLatency = stepLatencies.get(stepKey);
+        if (stepLatency == null || stepLatency.getCount() == 0) return 0.0;
+        return (double) stepFailures.getOrDefault(stepKey, 0L) / stepLatency.getCount();
+    }
+
+    public String describe() {
+        var steps = stepLatencies.entrySet().stream()
+                .map(entry -> "  step '%s': %s errorRate=%.4f".formatted(
+                        entry.getKey(), entry.getValue(), getStepErrorRate(entry.getKey())))
+                .collect(Collectors.joining("\n"));
+        return "workflow '%s': iterations=%d failed=%d errorRate=%.4f throughput=%.2f/s elapsed=%s%n  latency: %s%n  service time: %s%n%s"
+                .formatted(workflowId, iterations, failedIterations, getErrorRate(), throughput, elapsed,
+                        workflowLatency, serviceTime, steps);
+    }
+}
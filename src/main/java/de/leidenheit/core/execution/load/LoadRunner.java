@@ -0,0 +1,218 @@
+package de.leidenheit.core.execution.load;
+
+import de.leidenheit.core.exception.ItarazzoIllegalArgumentException;
+import de.leidenheit.core.exception.ItarazzoInterruptException;
+import de.leidenheit.core.execution.ExecutionListener;
+import de.leidenheit.core.execution.ExecutionOptions;
+import de.leidenheit.core.execution.WorkflowExecutor;
+import de.leidenheit.core.execution.WorkflowScheduler;
+import de.leidenheit.core.execution.plan.ExecutionPlan;
+import de.leidenheit.core.model.ArazzoSpecification;
+import de.leidenheit.core.model.Workflow;
+import de.leidenheit.infrastructure.resolving.ResolvedExpressionProvider;
+import de.leidenheit.infrastructure.utils.ExecutorServiceUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+@Slf4j
+public class LoadRunner {
+
+    private final ExecutionPlan plan;
+    private final Map<String, Object> inputs;
+    private final ExecutionOptions executionOptions;
+
+    public LoadRunner(final ArazzoSpecification arazzo,
+                      final Map<String, Object> inputs,
+                      final ExecutionOptions executionOptions) {
+        this.plan = ExecutionPlan.compile(arazzo);
+        this.inputs = inputs;
+        this.executionOptions = executionOptions;
+    }
+
+    // applies the options of the workflow extension 'x-itarazzo-load' on top of the given defaults
+    public LoadReport run(final Workflow workflow, final LoadOptions defaultLoadOptions) {
+        var loadOptions = LoadOptions.ofExtensions(workflow.getExtensions(), defaultLoadOptions);
+        validate(loadOptions);
+        log.info("Running workflow '{}' under load: {}", workflow.getWorkflowId(), loadOptions);
+
+        var metrics = new LoadMetrics();
+        var iterationOptions = withListener(executionOptions, metrics);
+        var startNanos = System.nanoTime();
+        var executorService = ExecutorServiceUtils.newExecutorService(executionOptions.toBuilder()
+                .parallelism(loadOptions.getVirtualUsers())
+                .build(), "itarazzo-load");
+        try {
+            if (loadOptions.isOpenModel()) {
+                runOpenModel(workflow, loadOptions, iterationOptions, metrics, executorService, startNanos);
+            } else {
+                runClosedModel(workflow, loadOptions, iterationOptions, metrics, executorService, startNanos);
+            }
+        } finally {
+            executorService.shutdownNow();
+            executionOptions.getStepExecutorFactory().close();
+        }
+
+        var report = metrics.toReport(workflow.getWorkflowId(), Duration.ofNanos(System.nanoTime() - startNanos));
+        log.info("Finished load run of workflow '{}':\n{}", workflow.getWorkflowId(), report.describe());
+        return report;
+    }
+
+    // every virtual user starts its next iteration as soon as the previous one finished; iterations hold no thread while
+    // waiting for asynchronous steps or retries
+    private void runClosedModel(final Workflow workflow,
+                                final LoadOptions loadOptions,
+                                final ExecutionOptions iterationOptions,
+                                final LoadMetrics metrics,
+                                final ExecutorService executorService,
+                                final long startNanos) {
+        var remainingIterations = new AtomicLong(loadOptions.getIterations() > 0
+                ? loadOptions.getIterations()
+                : Long.MAX_VALUE);
+        var deadlineNanos = deadlineOf(loadOptions, startNanos);
+
+        var virtualUsers = IntStream.range(0, loadOptions.getVirtualUsers())
+                .mapToObj(user -> {
+                    // users are started evenly distributed over the ramp-up period
+                    var startOffsetNanos = startNanos + loadOptions.getRampUp().toNanos() * user / loadOptions.getVirtualUsers() - System.nanoTime();
+                    var delayedExecutor = CompletableFuture.delayedExecutor(Math.max(0, startOffsetNanos), TimeUnit.NANOSECONDS, executorService);
+                    return CompletableFuture.runAsync(() -> {}, delayedExecutor).thenCompose(started ->
+                            runVirtualUser(workflow, iterationOptions, metrics, executorService, remainingIterations, deadlineNanos));
+                })
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(virtualUsers).join();
+    }
+
+    private CompletableFuture<Void> runVirtualUser(final Workflow workflow,
+                                                   final ExecutionOptions iterationOptions,
+                                                   final LoadMetrics metrics,
+                                                   final ExecutorService executorService,
+                                                   final AtomicLong remainingIterations,
+                                                   final long deadlineNanos) {
+        if (System.nanoTime() >= deadlineNanos || remainingIterations.getAndDecrement() <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // the next iteration is started on the executor, so iterations finished synchronously do not grow the stack
+        return runIteration(workflow, iterationOptions, metrics, System.nanoTime(), executorService)
+                .thenComposeAsync(finished -> runVirtualUser(
+                        workflow, iterationOptions, metrics, executorService, remainingIterations, deadlineNanos), executorService);
+    }
+
+    // iterations are started at a fixed rate no matter how long earlier ones take; latencies are measured from the
+    // intended start so that queueing delay caused by a slow server is not hidden (coordinated omission)
+    private void runOpenModel(final Workflow workflow,
+                              final LoadOptions loadOptions,
+                              final ExecutionOptions iterationOptions,
+                              final LoadMetrics metrics,
+                              final ExecutorService executorService,
+                              final long startNanos) {
+        var maxIterations = loadOptions.getIterations() > 0 ? loadOptions.getIterations() : Long.MAX_VALUE;
+        var deadlineNanos = deadlineOf(loadOptions, startNanos);
+        // iterations in flight hold a permit rather than a thread, as they hold no thread while waiting for retries
+        var inFlight = new Semaphore(loadOptions.getVirtualUsers());
+
+        for (long iteration = 0; iteration < maxIterations; iteration++) {
+            var intendedStartNanos = startNanos + intendedOffsetNanos(iteration, loadOptions);
+            if (intendedStartNanos >= deadlineNanos) break;
+            waitUntil(intendedStartNanos);
+            // exceeding the in-flight cap queues the iteration, which is accounted for by its intended start
+            acquire(inFlight, 1);
+            // started on the executor, so that this thread keeps the rate
+            CompletableFuture.runAsync(() -> {}, executorService)
+                    .thenCompose(started -> runIteration(workflow, iterationOptions, metrics, intendedStartNanos, executorService))
+                    .whenComplete((result, throwable) -> inFlight.release());
+        }
+
+        // all permits are available again once the last iteration finished
+        acquire(inFlight, loadOptions.getVirtualUsers());
+    }
+
+    // completes once the iteration is recorded, whether it succeeded or not
+    private CompletableFuture<Void> runIteration(final Workflow workflow,
+                                                 final ExecutionOptions iterationOptions,
+                                                 final LoadMetrics metrics,
+                                                 final long intendedStartNanos,
+                                                 final ExecutorService executorService) {
+        var iterationStartNanos = System.nanoTime();
+        CompletableFuture<Void> execution;
+        try {
+            // every iteration resolves against its own isolated run scope
+            var executor = new WorkflowExecutor(plan, inputs, ResolvedExpressionProvider.createRoot(), iterationOptions);
+            execution = executor.executeWorkflowAsync(workflow, executorService);
+        } catch (RuntimeException e) {
+            execution = CompletableFuture.failedFuture(e);
+        }
+        return execution.handle((result, throwable) -> {
+            var failed = Objects.nonNull(throwable);
+            if (failed) {
+                log.debug("Iteration of workflow '{}' failed: {}", workflow.getWorkflowId(), WorkflowScheduler.unwrap(throwable).getMessage());
+            }
+            var endNanos = System.nanoTime();
+            metrics.recordIteration(endNanos - intendedStartNanos, endNanos - iterationStartNanos, failed);
+            return null;
+        });
+    }
+
+    // the rate grows linearly during ramp-up and stays constant afterward
+    private static long intendedOffsetNanos(final long iteration, final LoadOptions loadOptions) {
+        var ratePerNano = loadOptions.getArrivalRate() / 1_000_000_000.0;
+        var rampUpNanos = (double) loadOptions.getRampUp().toNanos();
+        var rampUpIterations = ratePerNano * rampUpNanos / 2.0;
+        if (iteration < rampUpIterations) {
+            return (long) Math.sqrt(2.0 * iteration * rampUpNanos / ratePerNano);
+        }
+        return (long) (rampUpNanos + (iteration - rampUpIterations) / ratePerNano);
+    }
+
+    private static long deadlineOf(final LoadOptions loadOptions, final long startNanos) {
+        return loadOptions.getDuration().isZero()
+                ? Long.MAX_VALUE
+                : startNanos + loadOptions.getDuration().toNanos();
+    }
+
+    private static ExecutionOptions withListener(final ExecutionOptions options, final ExecutionListener listener) {
+        var listeners = new ArrayList<>(options.getListeners());
+        listeners.add(listener);
+        return options.toBuilder().listeners(listeners).build();
+    }
+
+    private static void waitUntil(final long targetNanos) {
+        var remainingNanos = targetNanos - System.nanoTime();
+        if (remainingNanos <= 0) return;
+        try {
+            TimeUnit.NANOSECONDS.sleep(remainingNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ItarazzoInterruptException(e);
+        }
+    }
+
+    private static void acquire(final Semaphore semaphore, final int permits) {
+        try {
+            semaphore.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ItarazzoInterruptException(e);
+        }
+    }
+
+    private void validate(final LoadOptions loadOptions) {
+        if (loadOptions.getVirtualUsers() < 1) throw new ItarazzoIllegalArgumentException(
+                "Expected at least one virtual user but got %d".formatted(loadOptions.getVirtualUsers()));
+        if (loadOptions.getIterations() <= 0 && loadOptions.getDuration().isZero()) throw new ItarazzoIllegalArgumentException(
+                "Expected either iterations or a duration to bound the load run");
+        if (loadOptions.getRampUp().isNegative() || loadOptions.getDuration().isNegative()) throw new ItarazzoIllegalArgumentException(
+                "Expected non negative ramp-up and duration");
+        if (loadOptions.getArrivalRate() < 0) throw new ItarazzoIllegalArgumentException(
+                "Expected non negative arrival rate but got %s".formatted(loadOptions.getArrivalRate()));
+    }
+}
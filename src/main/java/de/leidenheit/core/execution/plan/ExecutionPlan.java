@@ -0,0 +1,369 @@
+package de.leidenheit.core.execution.plan;
+
+import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import de.leidenheit.core.execution.balancing.LoadBalancer;
+import de.leidenheit.core.execution.balancing.LoadBalancingOptions;
+import de.leidenheit.core.execution.balancing.ServerStats;
+import de.leidenheit.core.execution.throttling.Throttle;
+import de.leidenheit.core.execution.throttling.ThrottleStats;
+import de.leidenheit.core.execution.throttling.ThrottlingOptions;
+import de.leidenheit.core.model.ArazzoSpecification;
+import de.leidenheit.core.model.FailureAction;
+import de.leidenheit.core.model.SourceDescription;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.core.model.SuccessAction;
+import de.leidenheit.core.model.Workflow;
+import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
+import de.leidenheit.infrastructure.resolving.SpecNodes;
+import de.leidenheit.infrastructure.utils.JsonPointerUtils;
+import io.restassured.http.Method;
+import io.swagger.v3.oas.models.servers.Server;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// navigation of a specification resolved once, so that executing a step does not require any scan of the specification
+@Slf4j
+public class ExecutionPlan {
+
+    private static final Pattern OPERATION_PATH_PATTERN = Pattern.compile("paths/(?<oasPath>.+)/(?<httpMethod>[a-zA-Z]+)$");
+    private static final Pattern STEP_OUTPUTS_PATTERN = Pattern.compile("\\$steps\\.(?<stepId>[A-Za-z0-9_\\-]+)\\.outputs");
+    private static final String DESIGNATED_SERVER_EXTENSION = "x-itarazzo-designated-server";
+
+    @Getter
+    private final ArazzoSpecification arazzo;
+    private final Map<String, WorkflowPlan> workflowPlans;
+    // workflow ids and workflow references of steps and actions mapped to the targeted workflow
+    private final Map<String, Workflow> workflowTargets;
+    // one load balancer per source description, shared by every step executor of the plan
+    private final Map<String, LoadBalancer> loadBalancers;
+    // one throttle per source description, shared by every step executor of the plan
+    private final Map<String, Throttle> throttles;
+    // plans of referenced arazzo source descriptions are compiled on first use
+    private final Map<String, ExecutionPlan> referencedPlans = new ConcurrentHashMap<>();
+    // converted on first use and shared by every resolver of the run
+    private final Supplier<SpecNodes> specNodes;
+
+    private ExecutionPlan(final ArazzoSpecification arazzo) {
+        this.arazzo = arazzo;
+        this.specNodes = Suppliers.memoize(() -> SpecExpressionResolver.ofSpecification(arazzo));
+        var workflows = Objects.requireNonNullElse(arazzo.getWorkflows(), List.<Workflow>of());
+
+        var targets = new HashMap<String, Workflow>();
+        workflows.forEach(workflow -> targets.putIfAbsent(workflow.getWorkflowId(), workflow));
+        workflows.stream()
+                .flatMap(ExecutionPlan::workflowReferencesOf)
+                .forEach(reference -> targets.computeIfAbsent(reference, this::scanForWorkflow));
+        targets.values().removeIf(Objects::isNull);
+        this.workflowTargets = Collections.unmodifiableMap(targets);
+
+        var balancers = new HashMap<String, LoadBalancer>();
+        var sourceThrottles = new HashMap<String, Throttle>();
+        var plans = new LinkedHashMap<String, WorkflowPlan>();
+        workflows.forEach(workflow -> plans.put(workflow.getWorkflowId(), compileWorkflow(workflow, balancers, sourceThrottles)));
+        this.workflowPlans = Collections.unmodifiableMap(plans);
+        this.loadBalancers = Collections.unmodifiableMap(balancers);
+        this.throttles = Collections.unmodifiableMap(sourceThrottles);
+    }
+
+    public static ExecutionPlan compile(final ArazzoSpecification arazzo) {
+        return new ExecutionPlan(arazzo);
+    }
+
+    public SpecNodes getSpecNodes() {
+        return specNodes.get();
+    }
+
+    // statistics of the servers of every source description referenced by a step, by the name of the source description
+    public Map<String, List<ServerStats>> getServerStats() {
+        var stats = new TreeMap<String, List<ServerStats>>();
+        loadBalancers.forEach((name, loadBalancer) -> stats.put(name, loadBalancer.getStats()));
+        return stats;
+    }
+
+    // statistics of the throttle of every source description referenced by a step, by the name of the source description
+    public Map<String, ThrottleStats> getThrottleStats() {
+        var stats = new TreeMap<String, ThrottleStats>();
+        throttles.forEach((name, throttle) -> stats.put(name, throttle.getStats()));
+        return stats;
+    }
+
+    public WorkflowPlan getWorkflowPlan(final String workflowId) {
+        var workflowPlan = workflowPlans.get(workflowId);
+        if (Objects.isNull(workflowPlan)) {
+            var msg = "Workflow not found: workflowId='%s'".formatted(workflowId);
+            log.error(msg);
+            throw new ItarazzoIllegalStateException(msg);
+        }
+        return workflowPlan;
+    }
+
+    public Workflow findWorkflow(final String workflowReference) {
+        var workflow = workflowTargets.get(workflowReference);
+        // references from outside this specification are not known upfront
+        if (Objects.isNull(workflow)) workflow = scanForWorkflow(workflowReference);
+        if (Objects.isNull(workflow)) {
+            var msg = "Workflow not found: workflowId='%s'".formatted(workflowReference);
+            log.error(msg);
+            throw new ItarazzoIllegalStateException(msg);
+        }
+        return workflow;
+    }
+
+    public ExecutionPlan getReferencedPlan(final SourceDescription sourceDescription) {
+        if (Objects.isNull(sourceDescription.getReferencedArazzo())) throw new ItarazzoIllegalStateException(
+                "Source description does not reference an arazzo specification: name='%s'".formatted(sourceDescription.getName()));
+        return referencedPlans.computeIfAbsent(sourceDescription.getName(),
+                name -> compile(sourceDescription.getReferencedArazzo()));
+    }
+
+    private WorkflowPlan compileWorkflow(final Workflow workflow,
+                                         final Map<String, LoadBalancer> loadBalancers,
+                                         final Map<String, Throttle> throttles) {
+        var steps = Objects.requireNonNullElse(workflow.getSteps(), List.<Step>of());
+
+        var stepTargets = new HashMap<String, Integer>();
+        for (int index = 0; index < steps.size(); index++) {
+            stepTargets.putIfAbsent(steps.get(index).getStepId(), index);
+        }
+        var stepPlans = new ArrayList<StepPlan>(steps.size());
+        for (int index = 0; index < steps.size(); index++) {
+            stepPlans.add(compileStep(steps.get(index), index, stepTargets, loadBalancers, throttles));
+        }
+        // references of retry actions may contain more than the plain step id
+        stepReferencesOf(workflow).forEach(reference -> {
+            if (stepTargets.containsKey(reference)) return;
+            for (int index = 0; index < steps.size(); index++) {
+                if (reference.contains(steps.get(index).getStepId())) {
+                    stepTargets.put(reference, index);
+                    return;
+                }
+            }
+        });
+
+        return WorkflowPlan.builder()
+                .workflow(workflow)
+                .steps(Collections.unmodifiableList(stepPlans))
+                .stepTargets(Collections.unmodifiableMap(stepTargets))
+                .parallelizable(isNullOrEmpty(workflow.getSuccessActions()) && isNullOrEmpty(workflow.getFailureActions()))
+                .build();
+    }
+
+    private StepPlan compileStep(final Step step,
+                                 final int index,
+                                 final Map<String, Integer> stepIndexes,
+                                 final Map<String, LoadBalancer> loadBalancers,
+                                 final Map<String, Throttle> throttles) {
+        var stepPlanBuilder = StepPlan.builder().step(step).index(index);
+
+        var dependencies = new HashSet<Integer>();
+        var dependsOnLaterStep = false;
+        var matcher = STEP_OUTPUTS_PATTERN.matcher(dataReferencesOf(step));
+        while (matcher.find()) {
+            var dependencyIndex = stepIndexes.get(matcher.group("stepId"));
+            if (Objects.isNull(dependencyIndex)) continue;
+            if (dependencyIndex < index) {
+                dependencies.add(dependencyIndex);
+            } else {
+                // outputs of itself or later steps are only available after a goto, which requires the original order
+                dependsOnLaterStep = true;
+            }
+        }
+        stepPlanBuilder
+                .dependencies(Collections.unmodifiableSet(dependencies))
+                .sequential(dependsOnLaterStep
+                        || Objects.nonNull(step.getWorkflowId())
+                        || !isNullOrEmpty(step.getOnSuccess())
+                        || !isNullOrEmpty(step.getOnFailure()));
+
+        if (Objects.nonNull(step.getWorkflowId())) {
+            var sourceDescription = findSourceDescription(step.getWorkflowId());
+            stepPlanBuilder.sourceDescription(sourceDescription);
+            // referenced arazzo specifications are only available for initialized source descriptions
+            if (Objects.nonNull(sourceDescription.getReferencedArazzo())) {
+                stepPlanBuilder.referencedWorkflow(getReferencedPlan(sourceDescription).findWorkflow(step.getWorkflowId()));
+            }
+            return stepPlanBuilder.build();
+        }
+
+        Map.Entry<String, Method> pathMethodEntry = null;
+        SourceDescription sourceDescription = null;
+        if (Objects.nonNull(step.getOperationId())) {
+            sourceDescription = findSourceDescription(step.getOperationId());
+            pathMethodEntry = findPathAndMethodByOperationId(sourceDescription, step.getOperationId());
+        } else if (Objects.nonNull(step.getOperationPath())) {
+            sourceDescription = findSourceDescription(step.getOperationPath());
+            pathMethodEntry = extractPathAndMethodByOperationPath(step.getOperationPath());
+        }
+
+        if (Objects.nonNull(pathMethodEntry)) {
+            var serverSourceDescription = sourceDescription;
+            stepPlanBuilder
+                    .sourceDescription(sourceDescription)
+                    .pathTemplate(pathMethodEntry.getKey())
+                    .httpMethod(pathMethodEntry.getValue())
+                    .requestTemplate(RequestTemplate.of(step))
+                    .loadBalancer(loadBalancers.computeIfAbsent(sourceDescription.getName(),
+                            name -> createLoadBalancer(serverSourceDescription)))
+                    .throttle(throttles.computeIfAbsent(sourceDescription.getName(), name -> Throttle.of(
+                            ThrottlingOptions.ofExtensions(serverSourceDescription.getExtensions(), ThrottlingOptions.ofDefault()))));
+        }
+        return stepPlanBuilder.build();
+    }
+
+    private SourceDescription findSourceDescription(final String identifier) {
+        var sourceDescriptions = arazzo.getSourceDescriptions();
+        if (Objects.isNull(sourceDescriptions) || sourceDescriptions.isEmpty()) throw new ItarazzoIllegalStateException(
+                "Source Description not found: identifier='%s'".formatted(identifier));
+        if (sourceDescriptions.size() == 1) return sourceDescriptions.get(0);
+
+        return sourceDescriptions.stream()
+                .filter(s -> identifier.contains(s.getName()))
+                .findFirst()
+                .orElseThrow(() -> new ItarazzoIllegalStateException(
+                        "Source Description not found: identifier='%s'".formatted(identifier)));
+    }
+
+    private Map.Entry<String, Method> findPathAndMethodByOperationId(final SourceDescription sourceDescription,
+                                                                     final String operationId) {
+        if (Objects.isNull(sourceDescription.getReferencedOpenAPI())) return null;
+        return sourceDescription.getReferencedOpenAPI().getPaths().entrySet().stream()
+                .flatMap(pathsEntry -> pathsEntry.getValue().readOperationsMap().entrySet().stream()
+                        .filter(operationEntry -> operationId.endsWith(operationEntry.getValue().getOperationId()))
+                        .map(matchingOperationEntry -> Map.entry(
+                                pathsEntry.getKey(),
+                                Method.valueOf(matchingOperationEntry.getKey().name().toUpperCase()))
+                        )
+                ).findFirst()
+                .orElseThrow(() -> new ItarazzoIllegalStateException(
+                        "No operation found: operationId='%s'".formatted(operationId)));
+    }
+
+    private Map.Entry<String, Method> extractPathAndMethodByOperationPath(final String operationPath) {
+        var unescapedOperationPath = JsonPointerUtils.unescapeJsonPointer(operationPath);
+        var matcher = OPERATION_PATH_PATTERN.matcher(unescapedOperationPath);
+
+        if (!matcher.find()) throw new ItarazzoIllegalStateException(
+                "Pattern matching failed: input='%s' pattern='%s'".formatted(unescapedOperationPath, OPERATION_PATH_PATTERN));
+
+        var oasOperationPath = matcher.group("oasPath");
+        var httpMethod = matcher.group("httpMethod");
+        if (Strings.isNullOrEmpty(oasOperationPath) || Strings.isNullOrEmpty(httpMethod))
+            throw new ItarazzoIllegalStateException("Method and operation path must not be null at this point");
+        return Map.entry(oasOperationPath, Method.valueOf(httpMethod.toUpperCase()));
+    }
+
+    private LoadBalancer createLoadBalancer(final SourceDescription sourceDescription) {
+        var options = LoadBalancingOptions.ofExtensions(sourceDescription.getExtensions(), LoadBalancingOptions.ofDefault());
+        return LoadBalancer.of(findServerUrls(sourceDescription, options.getLocalhostPort()), options);
+    }
+
+    // designated servers if any, all servers of the referenced OpenAPI otherwise
+    private List<String> findServerUrls(final SourceDescription sourceDescription, final int localhostPort) {
+        if (Objects.isNull(sourceDescription.getReferencedOpenAPI())) return List.of();
+        var servers = Objects.requireNonNullElse(sourceDescription.getReferencedOpenAPI().getServers(), List.<Server>of());
+
+        var designatedServers = servers.stream()
+                .filter(server -> Objects.nonNull(server.getExtensions())
+                        && Boolean.parseBoolean(String.valueOf(server.getExtensions().get(DESIGNATED_SERVER_EXTENSION))))
+                .toList();
+        return (designatedServers.isEmpty() ? servers : designatedServers).stream()
+                .map(server -> withLocalhostPort(server.getUrl(), localhostPort))
+                .toList();
+    }
+
+    private static String withLocalhostPort(final String serverUrl, final int localhostPort) {
+        if (localhostPort == 0) return serverUrl;
+        try {
+            var uri = new URI(serverUrl);
+            if (!"localhost".equalsIgnoreCase(uri.getHost()) || uri.getPort() != -1) return serverUrl;
+            return new URI(uri.getScheme(), uri.getUserInfo(), uri.getHost(), localhostPort,
+                    uri.getPath(), uri.getQuery(), uri.getFragment()).toString();
+        } catch (URISyntaxException e) {
+            // e.g. templated server urls are used as they are
+            return serverUrl;
+        }
+    }
+
+    private Workflow scanForWorkflow(final String workflowReference) {
+        var workflows = Objects.requireNonNullElse(arazzo.getWorkflows(), List.<Workflow>of());
+        // prefer the trailing workflow id of '$sourceDescriptions.<name>.<workflowId>' over a partial match
+        var trailingWorkflowId = workflowReference.substring(workflowReference.lastIndexOf('.') + 1);
+        return workflows.stream()
+                .filter(wf -> trailingWorkflowId.equals(wf.getWorkflowId()))
+                .findFirst()
+                .or(() -> workflows.stream()
+                        .filter(wf -> workflowReference.contains(wf.getWorkflowId()))
+                        .findFirst())
+                .orElse(null);
+    }
+
+    // every part of a step that may reference outputs of other steps
+    private static String dataReferencesOf(final Step step) {
+        var references = new StringBuilder();
+        Stream.ofNullable(step.getParameters()).flatMap(List::stream)
+                .forEach(parameter -> references.append(parameter.getValue()).append('\n'));
+        if (Objects.nonNull(step.getRequestBody())) {
+            references.append(step.getRequestBody().getPayload()).append('\n');
+            Stream.ofNullable(step.getRequestBody().getReplacements()).flatMap(List::stream)
+                    .forEach(replacement -> references.append(replacement.getValue()).append('\n'));
+        }
+        Stream.ofNullable(step.getSuccessCriteria()).flatMap(List::stream)
+                .forEach(criterion -> references.append(criterion.getContext()).append(' ')
+                        .append(criterion.getCondition()).append('\n'));
+        Stream.ofNullable(step.getOutputs())
+                .forEach(outputs -> references.append(outputs.values()).append('\n'));
+        return references.toString();
+    }
+
+    private static boolean isNullOrEmpty(final List<?> list) {
+        return Objects.isNull(list) || list.isEmpty();
+    }
+
+    private static Stream<String> workflowReferencesOf(final Workflow workflow) {
+        return Stream.concat(
+                        successActionsOf(workflow).map(SuccessAction::getWorkflowId),
+                        failureActionsOf(workflow).map(FailureAction::getWorkflowId))
+                .filter(Objects::nonNull);
+    }
+
+    private static Stream<String> stepReferencesOf(final Workflow workflow) {
+        return Stream.concat(
+                        successActionsOf(workflow).map(SuccessAction::getStepId),
+                        failureActionsOf(workflow).map(FailureAction::getStepId))
+                .filter(Objects::nonNull);
+    }
+
+    private static Stream<SuccessAction> successActionsOf(final Workflow workflow) {
+        var stepActions = Objects.requireNonNullElse(workflow.getSteps(), List.<Step>of()).stream()
+                .map(Step::getOnSuccess)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream);
+        return Stream.concat(Stream.ofNullable(workflow.getSuccessActions()).flatMap(List::stream), stepActions);
+    }
+
+    private static Stream<FailureAction> failureActionsOf(final Workflow workflow) {
+        var stepActions = Objects.requireNonNullElse(workflow.getSteps(), List.<Step>of()).stream()
+                .map(Step::getOnFailure)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream);
+        return Stream.concat(Stream.ofNullable(workflow.getFailureActions()).flatMap(List::stream), stepActions);
+    }
+}
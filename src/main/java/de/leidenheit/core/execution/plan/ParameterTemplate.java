@@ -0,0 +1,30 @@
+package de.leidenheit.core.execution.plan;
+
+import de.leidenheit.core.model.Parameter;
+import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
+import lombok.Getter;
+
+// value of a parameter that is either taken as is or resolved as runtime expression on every execution
+@Getter
+public class ParameterTemplate {
+    private final String name;
+    private final String value;
+    private final boolean expression;
+
+    private ParameterTemplate(final String name, final String value, final boolean expression) {
+        this.name = name;
+        this.value = value;
+        this.expression = expression;
+    }
+
+    public static ParameterTemplate of(final Parameter parameter) {
+        var value = String.valueOf(parameter.getValue());
+        // anything else is returned unchanged by the resolver
+        var expression = value.startsWith("$") || value.startsWith("#/components");
+        return new ParameterTemplate(parameter.getName(), value, expression);
+    }
+
+    public Object resolve(final SpecExpressionResolver resolver) {
+        return expression ? resolver.resolveExpression(value, null) : value;
+    }
+}
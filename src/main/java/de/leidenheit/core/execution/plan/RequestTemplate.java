@@ -0,0 +1,95 @@
+package de.leidenheit.core.execution.plan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.leidenheit.core.model.Parameter;
+import de.leidenheit.core.model.RequestBody;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.infrastructure.resolving.JsonTemplate;
+import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
+import de.leidenheit.infrastructure.resolving.StringTemplate;
+import de.leidenheit.infrastructure.resolving.Template;
+import io.restassured.http.ContentType;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// parts of the request of a step that do not change between executions, so that only expressions are resolved per step
+@Getter
+public class RequestTemplate {
+    private final Map<Parameter.ParameterIn, List<ParameterTemplate>> parameters;
+    // null if the content type header is resolved per execution
+    private final Boolean multipart;
+    // set for steps with a request body
+    private final String bodyContentType;
+    private final String payload;
+    private final boolean binary;
+    private final boolean structuredPayload; // JSON or XML payloads may contain expressions within their values
+    // null unless the step has a payload
+    private final Template payloadTemplate;
+
+    private RequestTemplate(final Step step) {
+        var bucketedParameters = new EnumMap<Parameter.ParameterIn, List<ParameterTemplate>>(Parameter.ParameterIn.class);
+        for (var parameterIn : Parameter.ParameterIn.values()) {
+            bucketedParameters.put(parameterIn, new ArrayList<>());
+        }
+        Boolean multipartHeader = false;
+        for (var parameter : Objects.requireNonNullElse(step.getParameters(), List.<Parameter>of())) {
+            if (Objects.isNull(parameter.getIn())) continue;
+            var parameterTemplate = ParameterTemplate.of(parameter);
+            bucketedParameters.get(parameter.getIn()).add(parameterTemplate);
+            if (Parameter.ParameterIn.HEADER.equals(parameter.getIn()) && "Content-Type".equals(parameter.getName())) {
+                multipartHeader = parameterTemplate.isExpression() ? null : ContentType.MULTIPART.matches(parameterTemplate.getValue());
+            }
+        }
+        bucketedParameters.replaceAll((parameterIn, parameterTemplates) -> List.copyOf(parameterTemplates));
+        this.parameters = Collections.unmodifiableMap(bucketedParameters);
+        this.multipart = multipartHeader;
+
+        var requestBody = step.getRequestBody();
+        this.bodyContentType = Objects.nonNull(requestBody) ? requestBody.getContentType() : null;
+        this.payload = Objects.nonNull(requestBody) ? Objects.toString(requestBody.getPayload(), null) : null;
+        this.binary = Objects.nonNull(requestBody) && ContentType.BINARY.matches(requestBody.getContentType());
+        this.structuredPayload = Objects.nonNull(requestBody) && isStructured(requestBody);
+        this.payloadTemplate = Objects.nonNull(payload) ? compilePayload(requestBody, structuredPayload) : null;
+    }
+
+    public static RequestTemplate of(final Step step) {
+        return new RequestTemplate(step);
+    }
+
+    public Map<String, Object> resolveParameters(final Parameter.ParameterIn in, final SpecExpressionResolver resolver) {
+        var parameterTemplates = parameters.get(in);
+        if (parameterTemplates.isEmpty()) return Map.of();
+
+        var resolvedParameters = new LinkedHashMap<String, Object>();
+        parameterTemplates.forEach(parameterTemplate ->
+                resolvedParameters.put(parameterTemplate.getName(), parameterTemplate.resolve(resolver)));
+        return resolvedParameters;
+    }
+
+    public String renderPayload(final SpecExpressionResolver resolver) {
+        return Objects.nonNull(payloadTemplate) ? payloadTemplate.render(resolver) : null;
+    }
+
+    public boolean isMultipart(final Map<String, Object> resolvedHeaders) {
+        if (Objects.nonNull(multipart)) return multipart;
+        var contentType = resolvedHeaders.get("Content-Type");
+        return Objects.nonNull(contentType) && ContentType.MULTIPART.matches(contentType.toString());
+    }
+
+    // structured payloads given as tree are rendered value by value, anything else as text with embedded expressions
+    private static Template compilePayload(final RequestBody requestBody, final boolean structured) {
+        if (structured && requestBody.getPayload() instanceof JsonNode node && node.isObject()) return JsonTemplate.compile(node);
+        return StringTemplate.of(requestBody.getPayload().toString());
+    }
+
+    private static boolean isStructured(final RequestBody requestBody) {
+        return ContentType.JSON.matches(requestBody.getContentType()) || ContentType.XML.matches(requestBody.getContentType());
+    }
+}
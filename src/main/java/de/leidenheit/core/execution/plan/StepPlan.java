@@ -0,0 +1,39 @@
+package de.leidenheit.core.execution.plan;
+
+import de.leidenheit.core.execution.balancing.LoadBalancer;
+import de.leidenheit.core.execution.throttling.Throttle;
+import de.leidenheit.core.model.SourceDescription;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.core.model.Workflow;
+import io.restassured.http.Method;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Objects;
+import java.util.Set;
+
+// everything a step needs for its dispatch, resolved once when the plan is compiled
+@Getter
+@Builder
+public class StepPlan {
+    private final Step step;
+    private final int index;
+    private final SourceDescription sourceDescription;
+    // set for steps that reference an operation
+    private final Method httpMethod;
+    private final String pathTemplate;
+    // shared by all steps of the source description
+    private final LoadBalancer loadBalancer;
+    private final Throttle throttle;
+    private final RequestTemplate requestTemplate;
+    // set for steps that reference a workflow of another arazzo source description
+    private final Workflow referencedWorkflow;
+    // indexes of earlier steps whose outputs are referenced by this step
+    private final Set<Integer> dependencies;
+    // steps with actions or workflow references control the execution order and are never run concurrently
+    private final boolean sequential;
+
+    public boolean isWorkflowReference() {
+        return Objects.nonNull(step.getWorkflowId());
+    }
+}
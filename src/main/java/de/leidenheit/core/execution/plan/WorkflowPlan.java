@@ -0,0 +1,37 @@
+package de.leidenheit.core.execution.plan;
+
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import de.leidenheit.core.model.Workflow;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Slf4j
+@Getter
+@Builder
+public class WorkflowPlan {
+    private final Workflow workflow;
+    private final List<StepPlan> steps;
+    // step ids and step references of goto and retry actions mapped to the index of the targeted step
+    private final Map<String, Integer> stepTargets;
+    // workflow level actions apply to every step, which rules out executing steps concurrently
+    private final boolean parallelizable;
+
+    public int findStepIndex(final String stepReference) {
+        var index = stepTargets.get(stepReference);
+        if (Objects.isNull(index)) {
+            var msg = "Step not found: stepId='%s'".formatted(stepReference);
+            log.error(msg);
+            throw new ItarazzoIllegalStateException(msg);
+        }
+        return index;
+    }
+
+    public StepPlan findStep(final String stepReference) {
+        return steps.get(findStepIndex(stepReference));
+    }
+}
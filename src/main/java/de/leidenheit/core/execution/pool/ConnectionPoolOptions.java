@@ -0,0 +1,67 @@
+package de.leidenheit.core.execution.pool;
+
+import de.leidenheit.core.exception.ItarazzoIllegalArgumentException;
+import de.leidenheit.infrastructure.utils.ExtensionUtils;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+
+@Data
+@Builder(toBuilder = true)
+public class ConnectionPoolOptions {
+
+    public static final String CONNECTION_POOL_EXTENSION = "x-itarazzo-connection-pool";
+
+    private int maxConnectionsPerRoute; // connections kept open per server of the source description
+    private int maxConnectionsTotal; // connections kept open across all servers of the source description
+    @Builder.Default
+    private Duration connectionTimeToLive = Duration.ZERO; // zero means a connection is kept as long as it is reusable
+    @Builder.Default
+    private Duration idleTimeout = Duration.ofSeconds(30); // idle connections are evicted afterward; zero disables eviction
+    @Builder.Default
+    private Duration keepAlive = Duration.ofSeconds(30); // applies unless the server sends a 'Keep-Alive' header
+    private int tlsSessionCacheSize; // cached TLS sessions for resumption; zero means unbounded
+    @Builder.Default
+    private Duration tlsSessionTimeout = Duration.ofHours(24);
+
+    public static ConnectionPoolOptions ofDefault() {
+        return ConnectionPoolOptions.builder()
+                .maxConnectionsPerRoute(20)
+                .maxConnectionsTotal(100)
+                .connectionTimeToLive(Duration.ZERO)
+                .idleTimeout(Duration.ofSeconds(30))
+                .keepAlive(Duration.ofSeconds(30))
+                .tlsSessionCacheSize(0)
+                .tlsSessionTimeout(Duration.ofHours(24))
+                .build();
+    }
+
+    // e.g. x-itarazzo-connection-pool: { maxConnectionsPerRoute: 50, idleTimeout: PT10S, keepAlive: 60 }
+    public static ConnectionPoolOptions ofExtensions(final Map<String, Object> extensions, final ConnectionPoolOptions defaults) {
+        var poolExtension = ExtensionUtils.findObjectExtension(extensions, CONNECTION_POOL_EXTENSION);
+        if (Objects.isNull(poolExtension)) return defaults;
+
+        var builder = defaults.toBuilder();
+        poolExtension.forEach((key, value) -> {
+            switch (String.valueOf(key)) {
+                case "maxConnectionsPerRoute" -> builder.maxConnectionsPerRoute(ExtensionUtils.toNumber(key, value).intValue());
+                case "maxConnectionsTotal" -> builder.maxConnectionsTotal(ExtensionUtils.toNumber(key, value).intValue());
+                case "connectionTimeToLive" -> builder.connectionTimeToLive(ExtensionUtils.toDuration(key, value));
+                case "idleTimeout" -> builder.idleTimeout(ExtensionUtils.toDuration(key, value));
+                case "keepAlive" -> builder.keepAlive(ExtensionUtils.toDuration(key, value));
+                case "tlsSessionCacheSize" -> builder.tlsSessionCacheSize(ExtensionUtils.toNumber(key, value).intValue());
+                case "tlsSessionTimeout" -> builder.tlsSessionTimeout(ExtensionUtils.toDuration(key, value));
+                default -> throw new ItarazzoIllegalArgumentException(
+                        "Unknown property '%s' of extension '%s'".formatted(key, CONNECTION_POOL_EXTENSION));
+            }
+        });
+        var poolOptions = builder.build();
+        if (poolOptions.getMaxConnectionsPerRoute() < 1 || poolOptions.getMaxConnectionsTotal() < poolOptions.getMaxConnectionsPerRoute())
+            throw new ItarazzoIllegalArgumentException("Expected at least one connection per route and a total of at "
+                    + "least the connections per route but got %s".formatted(poolOptions));
+        return poolOptions;
+    }
+}
@@ -0,0 +1,13 @@
+package de.leidenheit.core.execution.pool;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ConnectionPoolStats {
+    private final int leased; // connections currently in use by a request
+    private final int pending; // requests waiting for a connection
+    private final int available; // idle connections ready for reuse
+    private final int max;
+}
@@ -0,0 +1,124 @@
+package de.leidenheit.core.execution.pool;
+
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import de.leidenheit.core.execution.timing.StepTimer;
+import de.leidenheit.core.execution.timing.TimingPhase;
+import io.restassured.config.EncoderConfig;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import lombok.Getter;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+
+import javax.net.ssl.SSLContext;
+import java.security.GeneralSecurityException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// pooled connections of a single source description, handed to RestAssured as a reused client instance of its config;
+// DNS lookups, connects, TLS handshakes and the time to first byte are recorded by the timer of the current step
+@SuppressWarnings("deprecation") // RestAssured requires the client API of Apache HttpClient 4.2
+public class RestAssuredConnectionPool implements AutoCloseable {
+
+    @Getter
+    private final ConnectionPoolOptions options;
+    private final PoolingClientConnectionManager connectionManager;
+    @Getter
+    private final RestAssuredConfig restAssuredConfig;
+    private final AtomicLong nextEvictionNanos = new AtomicLong(System.nanoTime());
+
+    public RestAssuredConnectionPool(final ConnectionPoolOptions options) {
+        this.options = options;
+
+        var schemeRegistry = new SchemeRegistry();
+        schemeRegistry.register(new Scheme("http", 80, new TimedSocketFactory(null)));
+        // sessions are cached by the context, which is shared by all connections of this pool
+        schemeRegistry.register(new Scheme("https", 443, new TimedSocketFactory(new SSLSocketFactory(createSslContext(options)))));
+
+        DnsResolver dnsResolver = host -> {
+            var startNanos = System.nanoTime();
+            try {
+                return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            } finally {
+                TimedSocketFactory.record(TimingPhase.DNS_LOOKUP, startNanos);
+            }
+        };
+        this.connectionManager = new PoolingClientConnectionManager(
+                schemeRegistry, options.getConnectionTimeToLive().toMillis(), TimeUnit.MILLISECONDS, dnsResolver);
+        this.connectionManager.setDefaultMaxPerRoute(options.getMaxConnectionsPerRoute());
+        this.connectionManager.setMaxTotal(options.getMaxConnectionsTotal());
+
+        var httpClient = new DefaultHttpClient(connectionManager);
+        var keepAliveMillis = options.getKeepAlive().toMillis();
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            var announcedKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return announcedKeepAlive > 0 ? announcedKeepAlive : keepAliveMillis;
+        });
+        // request interceptors run once the connection is established, response interceptors before the body is read
+        httpClient.addRequestInterceptor((request, context) -> {
+            var stepTimer = StepTimer.current();
+            if (Objects.isNull(stepTimer)) return;
+            stepTimer.setRequestSize(request instanceof HttpEntityEnclosingRequest enclosingRequest
+                    && Objects.nonNull(enclosingRequest.getEntity()) ? enclosingRequest.getEntity().getContentLength() : 0);
+            stepTimer.start(TimingPhase.TIME_TO_FIRST_BYTE);
+        });
+        httpClient.addResponseInterceptor((response, context) -> {
+            var stepTimer = StepTimer.current();
+            if (Objects.isNull(stepTimer)) return;
+            stepTimer.stop(TimingPhase.TIME_TO_FIRST_BYTE);
+            stepTimer.start(TimingPhase.BODY_DOWNLOAD);
+        });
+        this.restAssuredConfig = RestAssuredConfig.config()
+                .httpClient(HttpClientConfig.httpClientConfig()
+                        .httpClientFactory(() -> httpClient)
+                        .reuseHttpClientInstance())
+                // disabled automatic appending of charsets to binary content types
+                .encoderConfig(EncoderConfig.encoderConfig().appendDefaultContentCharsetToContentTypeIfUndefined(false));
+    }
+
+    // idle connections are evicted on the way to a request, at most twice per idle timeout
+    public void evictIdleConnections() {
+        if (options.getIdleTimeout().isZero()) return;
+        var now = System.nanoTime();
+        var nextEviction = nextEvictionNanos.get();
+        if (now - nextEviction < 0 || !nextEvictionNanos.compareAndSet(nextEviction, now + options.getIdleTimeout().toNanos() / 2)) return;
+
+        connectionManager.closeExpiredConnections();
+        connectionManager.closeIdleConnections(options.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public ConnectionPoolStats getStats() {
+        var totalStats = connectionManager.getTotalStats();
+        return ConnectionPoolStats.builder()
+                .leased(totalStats.getLeased())
+                .pending(totalStats.getPending())
+                .available(totalStats.getAvailable())
+                .max(totalStats.getMax())
+                .build();
+    }
+
+    @Override
+    public void close() {
+        connectionManager.shutdown();
+    }
+
+    private static SSLContext createSslContext(final ConnectionPoolOptions options) {
+        try {
+            var sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, null, null);
+            sslContext.getClientSessionContext().setSessionCacheSize(options.getTlsSessionCacheSize());
+            sslContext.getClientSessionContext().setSessionTimeout((int) options.getTlsSessionTimeout().toSeconds());
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new ItarazzoIllegalStateException(e);
+        }
+    }
+}
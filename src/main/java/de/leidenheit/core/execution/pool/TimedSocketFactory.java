@@ -0,0 +1,67 @@
+package de.leidenheit.core.execution.pool;
+
+import de.leidenheit.core.execution.timing.StepTimer;
+import de.leidenheit.core.execution.timing.TimingPhase;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.params.HttpParams;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Objects;
+
+// opens plain connections and layers TLS on top of them afterward, so that connect and handshake are timed separately
+// for the step executed by the current thread
+@SuppressWarnings("deprecation") // RestAssured requires the client API of Apache HttpClient 4.2
+class TimedSocketFactory implements SchemeLayeredSocketFactory {
+
+    private final PlainSocketFactory plainSocketFactory = PlainSocketFactory.getSocketFactory();
+    private final SSLSocketFactory sslSocketFactory; // null for plain connections
+
+    TimedSocketFactory(final SSLSocketFactory sslSocketFactory) {
+        this.sslSocketFactory = sslSocketFactory;
+    }
+
+    @Override
+    public Socket createSocket(final HttpParams params) throws IOException {
+        return plainSocketFactory.createSocket(params);
+    }
+
+    @Override
+    public Socket connectSocket(final Socket socket,
+                                final InetSocketAddress remoteAddress,
+                                final InetSocketAddress localAddress,
+                                final HttpParams params) throws IOException {
+        var startNanos = System.nanoTime();
+        var connectedSocket = plainSocketFactory.connectSocket(socket, remoteAddress, localAddress, params);
+        record(TimingPhase.CONNECT, startNanos);
+        if (Objects.isNull(sslSocketFactory)) return connectedSocket;
+        // the host name of the resolved address is kept for SNI and hostname verification
+        return createLayeredSocket(connectedSocket, remoteAddress.getHostString(), remoteAddress.getPort(), params);
+    }
+
+    @Override
+    public Socket createLayeredSocket(final Socket socket,
+                                      final String target,
+                                      final int port,
+                                      final HttpParams params) throws IOException {
+        if (Objects.isNull(sslSocketFactory)) return socket;
+        var startNanos = System.nanoTime();
+        // the handshake is completed by the factory in order to verify the hostname
+        var layeredSocket = sslSocketFactory.createLayeredSocket(socket, target, port, params);
+        record(TimingPhase.TLS_HANDSHAKE, startNanos);
+        return layeredSocket;
+    }
+
+    @Override
+    public boolean isSecure(final Socket socket) {
+        return Objects.nonNull(sslSocketFactory) && sslSocketFactory.isSecure(socket);
+    }
+
+    static void record(final TimingPhase phase, final long startNanos) {
+        var stepTimer = StepTimer.current();
+        if (Objects.nonNull(stepTimer)) stepTimer.record(phase, System.nanoTime() - startNanos);
+    }
+}
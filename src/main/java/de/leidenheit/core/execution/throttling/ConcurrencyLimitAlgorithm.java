@@ -0,0 +1,7 @@
+package de.leidenheit.core.execution.throttling;
+
+public enum ConcurrencyLimitAlgorithm {
+    NONE, // requests in flight are not limited
+    AIMD, // the limit grows by one per successful request and shrinks by the backoff ratio per dropped request
+    GRADIENT // the limit follows the ratio of the long-term to the latest latency, plus a queue of its square root
+}
@@ -0,0 +1,91 @@
+package de.leidenheit.core.execution.throttling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+// adaptive limit of requests in flight; requests beyond the limit wait in order of arrival without holding a thread
+class ConcurrencyLimiter {
+
+    // weights of the latest sample in the long-term latency and of a new limit in the current one
+    private static final double LONG_TERM_SMOOTHING = 0.05;
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final ThrottlingOptions options;
+    // guarded by this
+    private final Queue<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private double longTermLatencyNanos;
+
+    ConcurrencyLimiter(final ThrottlingOptions options) {
+        this.options = options;
+        this.limit = options.getInitialLimit();
+    }
+
+    synchronized CompletableFuture<Void> acquire() {
+        if (inFlight < (int) limit) {
+            inFlight++;
+            return CompletableFuture.completedFuture(null);
+        }
+        var slot = new CompletableFuture<Void>();
+        waiting.add(slot);
+        return slot;
+    }
+
+    // a latency of zero or less releases the slot without adjusting the limit, e.g. for requests that were not sent
+    void release(final long latencyNanos, final boolean dropped) {
+        var granted = new ArrayList<CompletableFuture<Void>>();
+        synchronized (this) {
+            if (latencyNanos > 0 || dropped) adjust(latencyNanos, dropped);
+            inFlight--;
+            while (!waiting.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                granted.add(waiting.poll());
+            }
+        }
+        // waiting requests continue outside the lock, possibly on this thread
+        granted.forEach(slot -> slot.complete(null));
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    synchronized int getWaiting() {
+        return waiting.size();
+    }
+
+    private void adjust(final long latencyNanos, final boolean dropped) {
+        if (dropped) {
+            limit = Math.max(options.getMinLimit(), limit * options.getBackoffRatio());
+            return;
+        }
+        // a limit that is not used is not confirmed by the latency and therefore not increased
+        var utilized = inFlight * 2 >= limit;
+        switch (options.getLimitAlgorithm()) {
+            case AIMD -> {
+                if (utilized) limit = Math.min(options.getMaxLimit(), limit + 1);
+            }
+            case GRADIENT -> {
+                longTermLatencyNanos = longTermLatencyNanos == 0
+                        ? latencyNanos
+                        : LONG_TERM_SMOOTHING * latencyNanos + (1 - LONG_TERM_SMOOTHING) * longTermLatencyNanos;
+                // rising latency means requests queue up at the server
+                var gradient = Math.max(0.5, Math.min(1.0, longTermLatencyNanos / latencyNanos));
+                var newLimit = limit * gradient + Math.sqrt(limit);
+                if (newLimit > limit && !utilized) return;
+                limit = Math.max(options.getMinLimit(), Math.min(options.getMaxLimit(),
+                        (1 - LIMIT_SMOOTHING) * limit + LIMIT_SMOOTHING * newLimit));
+            }
+            case NONE -> {
+                // not limited
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package de.leidenheit.core.execution.throttling;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// rate limit and adaptive concurrency limit of a source description; one instance is shared by every step executor
+// of an execution plan and therefore by all concurrent workflow executions. Requests answered with 429 or 503, or
+// without a response, are dropped and shrink the concurrency limit; their 'Retry-After' header pauses the rate limit
+public class Throttle {
+
+    private final ThrottlingOptions options;
+    private final TokenBucket tokenBucket; // null if the rate is not limited
+    private final ConcurrencyLimiter concurrencyLimiter; // null if requests in flight are not limited
+    private final LongSupplier nanoClock;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private Throttle(final ThrottlingOptions options, final LongSupplier nanoClock) {
+        this.options = options;
+        this.tokenBucket = options.getRate() > 0
+                ? new TokenBucket(options.getRate(), options.getBurst() > 0 ? options.getBurst() : (int) Math.ceil(options.getRate()))
+                : null;
+        this.concurrencyLimiter = options.getLimitAlgorithm() != ConcurrencyLimitAlgorithm.NONE
+                ? new ConcurrencyLimiter(options)
+                : null;
+        this.nanoClock = nanoClock;
+    }
+
+    public static Throttle of(final ThrottlingOptions options) {
+        return new Throttle(options, System::nanoTime);
+    }
+
+    static Throttle of(final ThrottlingOptions options, final LongSupplier nanoClock) {
+        return new Throttle(options, nanoClock);
+    }
+
+    public ThrottlingOptions getOptions() {
+        return options;
+    }
+
+    // completes once the request may be sent; the permit has to be completed once the request finished
+    public CompletableFuture<Permit> acquire() {
+        var ready = CompletableFuture.<Void>completedFuture(null);
+        if (Objects.nonNull(tokenBucket)) {
+            var delayNanos = tokenBucket.reserve(nanoClock.getAsLong());
+            if (delayNanos > 0) ready = CompletableFuture.runAsync(() -> {
+            }, CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS));
+        }
+        if (Objects.nonNull(concurrencyLimiter)) ready = ready.thenCompose(result -> concurrencyLimiter.acquire());
+        return ready.thenApply(result -> new Permit(nanoClock.getAsLong()));
+    }
+
+    public ThrottleStats getStats() {
+        return ThrottleStats.builder()
+                .limit(Objects.isNull(concurrencyLimiter) ? 0 : concurrencyLimiter.getLimit())
+                .inFlight(Objects.isNull(concurrencyLimiter) ? 0 : concurrencyLimiter.getInFlight())
+                .waiting(Objects.isNull(concurrencyLimiter) ? 0 : concurrencyLimiter.getWaiting())
+                .dropped(dropped.get())
+                .build();
+    }
+
+    public class Permit {
+
+        private final long startNanos;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Permit(final long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        // a delay requested by the server is only respected if the rate is limited; null if none was requested
+        public void complete(final int statusCode, final Duration retryAfter) {
+            var now = nanoClock.getAsLong();
+            var isDropped = statusCode == 429 || statusCode == 503;
+            if (isDropped && Objects.nonNull(retryAfter) && Objects.nonNull(tokenBucket)) {
+                tokenBucket.pause(now, retryAfter.toNanos());
+            }
+            release(Math.max(1, now - startNanos), isDropped);
+        }
+
+        // the request did not receive a response
+        public void fail() {
+            release(Math.max(1, nanoClock.getAsLong() - startNanos), true);
+        }
+
+        // the request was not sent, e.g. since it could not be built
+        public void cancel() {
+            release(0, false);
+        }
+
+        private void release(final long latencyNanos, final boolean isDropped) {
+            if (!completed.compareAndSet(false, true)) return;
+            if (isDropped) dropped.incrementAndGet();
+            if (Objects.nonNull(concurrencyLimiter)) concurrencyLimiter.release(latencyNanos, isDropped);
+        }
+    }
+}
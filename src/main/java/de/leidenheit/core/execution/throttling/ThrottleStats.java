@@ -0,0 +1,13 @@
+package de.leidenheit.core.execution.throttling;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ThrottleStats {
+    private final int limit; // current concurrency limit; zero if requests in flight are not limited
+    private final int inFlight;
+    private final int waiting; // requests waiting for the concurrency limit
+    private final long dropped; // requests answered with 429 or 503, or without a response
+}
@@ -0,0 +1,85 @@
+package de.leidenheit.core.execution.throttling;
+
+import de.leidenheit.core.exception.ItarazzoIllegalArgumentException;
+import de.leidenheit.infrastructure.utils.ExtensionUtils;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+@Data
+@Builder(toBuilder = true)
+public class ThrottlingOptions {
+
+    public static final String THROTTLING_EXTENSION = "x-itarazzo-throttling";
+
+    private double rate; // requests per second; zero means unlimited
+    private int burst; // requests sent at once after idling; zero means the rate rounded up
+    @Builder.Default
+    private ConcurrencyLimitAlgorithm limitAlgorithm = ConcurrencyLimitAlgorithm.NONE;
+    @Builder.Default
+    private int initialLimit = 20;
+    @Builder.Default
+    private int minLimit = 1;
+    @Builder.Default
+    private int maxLimit = 200;
+    @Builder.Default
+    private double backoffRatio = 0.9; // applied to the limit per dropped request
+
+    public static ThrottlingOptions ofDefault() {
+        return ThrottlingOptions.builder()
+                .rate(0)
+                .burst(0)
+                .limitAlgorithm(ConcurrencyLimitAlgorithm.NONE)
+                .initialLimit(20)
+                .minLimit(1)
+                .maxLimit(200)
+                .backoffRatio(0.9)
+                .build();
+    }
+
+    public boolean isUnlimited() {
+        return rate <= 0 && limitAlgorithm == ConcurrencyLimitAlgorithm.NONE;
+    }
+
+    // e.g. x-itarazzo-throttling: { rate: 50, burst: 10, limitAlgorithm: aimd, maxLimit: 64 }
+    public static ThrottlingOptions ofExtensions(final Map<String, Object> extensions, final ThrottlingOptions defaults) {
+        var throttlingExtension = ExtensionUtils.findObjectExtension(extensions, THROTTLING_EXTENSION);
+        if (Objects.isNull(throttlingExtension)) return defaults;
+
+        var builder = defaults.toBuilder();
+        throttlingExtension.forEach((key, value) -> {
+            switch (String.valueOf(key)) {
+                case "rate" -> builder.rate(ExtensionUtils.toNumber(key, value).doubleValue());
+                case "burst" -> builder.burst(ExtensionUtils.toNumber(key, value).intValue());
+                case "limitAlgorithm" -> builder.limitAlgorithm(toLimitAlgorithm(value));
+                case "initialLimit" -> builder.initialLimit(ExtensionUtils.toNumber(key, value).intValue());
+                case "minLimit" -> builder.minLimit(ExtensionUtils.toNumber(key, value).intValue());
+                case "maxLimit" -> builder.maxLimit(ExtensionUtils.toNumber(key, value).intValue());
+                case "backoffRatio" -> builder.backoffRatio(ExtensionUtils.toNumber(key, value).doubleValue());
+                default -> throw new ItarazzoIllegalArgumentException(
+                        "Unknown property '%s' of extension '%s'".formatted(key, THROTTLING_EXTENSION));
+            }
+        });
+        var throttlingOptions = builder.build();
+        if (throttlingOptions.getRate() < 0 || throttlingOptions.getBurst() < 0)
+            throw new ItarazzoIllegalArgumentException("Expected a non-negative rate and burst but got %s".formatted(throttlingOptions));
+        if (throttlingOptions.getMinLimit() < 1 || throttlingOptions.getInitialLimit() < throttlingOptions.getMinLimit()
+                || throttlingOptions.getMaxLimit() < throttlingOptions.getInitialLimit())
+            throw new ItarazzoIllegalArgumentException("Expected limits with 1 <= minLimit <= initialLimit <= maxLimit "
+                    + "but got %s".formatted(throttlingOptions));
+        if (throttlingOptions.getBackoffRatio() <= 0 || throttlingOptions.getBackoffRatio() >= 1)
+            throw new ItarazzoIllegalArgumentException("Expected a backoff ratio between 0 and 1 but got %s".formatted(throttlingOptions));
+        return throttlingOptions;
+    }
+
+    private static ConcurrencyLimitAlgorithm toLimitAlgorithm(final Object value) {
+        try {
+            return ConcurrencyLimitAlgorithm.valueOf(String.valueOf(value).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ItarazzoIllegalArgumentException("Unknown concurrency limit algorithm '%s'".formatted(value), e);
+        }
+    }
+}
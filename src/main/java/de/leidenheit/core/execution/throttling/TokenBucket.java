@@ -0,0 +1,32 @@
+package de.leidenheit.core.execution.throttling;
+
+// generic cell rate algorithm: instead of counting tokens, the bucket keeps the time at which it would be empty again
+// and hands out reservations, so that callers wait for their turn without polling
+class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstToleranceNanos;
+    // guarded by this
+    private long theoreticalArrivalNanos;
+    private boolean started;
+
+    TokenBucket(final double rate, final int burst) {
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / rate));
+        this.burstToleranceNanos = (Math.max(burst, 1) - 1) * nanosPerToken;
+    }
+
+    // reserves the next token and returns how long the caller has to wait for it
+    synchronized long reserve(final long now) {
+        var arrival = started ? Math.max(theoreticalArrivalNanos, now) : now;
+        started = true;
+        theoreticalArrivalNanos = arrival + nanosPerToken;
+        return Math.max(0, arrival - now - burstToleranceNanos);
+    }
+
+    // no token is handed out before the delay elapsed, e.g. as requested by a 'Retry-After' header
+    synchronized void pause(final long now, final long delayNanos) {
+        var resumeArrival = now + delayNanos + burstToleranceNanos;
+        if (!started || theoreticalArrivalNanos - resumeArrival < 0) theoreticalArrivalNanos = resumeArrival;
+        started = true;
+    }
+}
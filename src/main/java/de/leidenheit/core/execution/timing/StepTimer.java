@@ -0,0 +1,93 @@
+package de.leidenheit.core.execution.timing;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// collects the phases of a single step execution, possibly from several threads of an asynchronous HTTP engine;
+// synchronous HTTP engines find the timer of the step executed by the current thread for their hooks
+public class StepTimer {
+
+    private static final ThreadLocal<StepTimer> CURRENT = new ThreadLocal<>();
+
+    // guarded by this
+    private final Map<TimingPhase, Long> phaseNanos = new EnumMap<>(TimingPhase.class);
+    private final Map<TimingPhase, Long> startNanos = new EnumMap<>(TimingPhase.class);
+    private long requestSize = -1;
+    private long responseSize = -1;
+
+    // null if no step is executed by the current thread
+    public static StepTimer current() {
+        return CURRENT.get();
+    }
+
+    // binds this timer to the current thread while the action runs
+    public <T> T bind(final Supplier<T> action) {
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public <T> T time(final TimingPhase phase, final Supplier<T> action) {
+        var phaseStartNanos = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(phase, System.nanoTime() - phaseStartNanos);
+        }
+    }
+
+    // phases recorded more than once, e.g. connects to several addresses of a host, are added up
+    public synchronized void record(final TimingPhase phase, final long nanos) {
+        phaseNanos.merge(phase, Math.max(0, nanos), Long::sum);
+    }
+
+    // for phases that begin and end in different hooks of the HTTP engine
+    public synchronized void start(final TimingPhase phase) {
+        startNanos.put(phase, System.nanoTime());
+    }
+
+    // records the phase if it was started; a phase repeated, e.g. for a redirect, is added up
+    public synchronized void stop(final TimingPhase phase) {
+        var phaseStartNanos = startNanos.remove(phase);
+        if (phaseStartNanos != null) record(phase, System.nanoTime() - phaseStartNanos);
+    }
+
+    public synchronized void setRequestSize(final long requestSize) {
+        this.requestSize = requestSize;
+    }
+
+    public synchronized void setResponseSize(final long responseSize) {
+        this.responseSize = responseSize;
+    }
+
+    public synchronized StepTimings toTimings() {
+        return StepTimings.builder()
+                .throttling(durationOf(TimingPhase.THROTTLING))
+                .requestBuilding(durationOf(TimingPhase.REQUEST_BUILDING))
+                .dnsLookup(durationOf(TimingPhase.DNS_LOOKUP))
+                .connect(durationOf(TimingPhase.CONNECT))
+                .tlsHandshake(durationOf(TimingPhase.TLS_HANDSHAKE))
+                .timeToFirstByte(durationOf(TimingPhase.TIME_TO_FIRST_BYTE))
+                .bodyDownload(durationOf(TimingPhase.BODY_DOWNLOAD))
+                .criteriaEvaluation(durationOf(TimingPhase.CRITERIA_EVALUATION))
+                .outputResolution(durationOf(TimingPhase.OUTPUT_RESOLUTION))
+                .requestSize(requestSize)
+                .responseSize(responseSize)
+                .build();
+    }
+
+    private Duration durationOf(final TimingPhase phase) {
+        var nanos = phaseNanos.get(phase);
+        return nanos == null ? null : Duration.ofNanos(nanos);
+    }
+}
@@ -0,0 +1,42 @@
+package de.leidenheit.core.execution.timing;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+// a phase is null if it did not take place, e.g. no connection was opened for a reused one, or if the HTTP engine does
+// not report it; the JDK HttpClient, for instance, includes the connection setup in the time to first byte
+@Data
+@Builder
+public class StepTimings {
+    private final Duration throttling;
+    private final Duration requestBuilding;
+    private final Duration dnsLookup;
+    private final Duration connect;
+    private final Duration tlsHandshake;
+    private final Duration timeToFirstByte;
+    private final Duration bodyDownload;
+    private final Duration criteriaEvaluation;
+    private final Duration outputResolution;
+    private final long requestSize; // bytes of the request body; -1 if unknown
+    private final long responseSize; // bytes of the response body as received; -1 if unknown
+
+    // time spent by the client itself, as opposed to the network and the server
+    public Duration getClientOverhead() {
+        return sum(requestBuilding, criteriaEvaluation, outputResolution);
+    }
+
+    // time spent on the network and by the server
+    public Duration getServerLatency() {
+        return sum(dnsLookup, connect, tlsHandshake, timeToFirstByte, bodyDownload);
+    }
+
+    private static Duration sum(final Duration... durations) {
+        var total = Duration.ZERO;
+        for (var duration : durations) {
+            if (duration != null) total = total.plus(duration);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,13 @@
+package de.leidenheit.core.execution.timing;
+
+public enum TimingPhase {
+    THROTTLING, // waiting for the rate and concurrency limits of the source description
+    REQUEST_BUILDING, // resolving parameters and payload
+    DNS_LOOKUP,
+    CONNECT,
+    TLS_HANDSHAKE,
+    TIME_TO_FIRST_BYTE, // from sending the request until the response headers arrived
+    BODY_DOWNLOAD, // from the response headers until the body was read
+    CRITERIA_EVALUATION, // success criteria and the criteria of actions
+    OUTPUT_RESOLUTION
+}
@@ -8,15 +8,16 @@ import de.leidenheit.core.exception.ItarazzoIllegalArgumentException;
 import de.leidenheit.core.exception.ItarazzoIllegalStateException;
 import de.leidenheit.core.exception.ItarazzoUnsupportedException;
 import de.leidenheit.core.model.Criterion;
+import de.leidenheit.infrastructure.resolving.HttpResolverContext;
+import de.leidenheit.infrastructure.resolving.ResponseDocument;
+import de.leidenheit.infrastructure.resolving.StreamingXPath;
 import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
 import de.leidenheit.infrastructure.resolving.ResolverContext;
+import de.leidenheit.infrastructure.utils.XmlUtils;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
 import java.io.StringReader;
 import java.util.Objects;
 import java.util.regex.Matcher;
@@ -24,6 +25,8 @@ import java.util.regex.Pattern;
 
 public class CriterionEvaluator {
 
+    private static final String RESPONSE_BODY = "$response.body";
+
     private final SpecExpressionResolver resolver;
     private final ObjectMapper mapper;
 
@@ -66,15 +69,15 @@ public class CriterionEvaluator {
     }
 
     private boolean evaluateJsonPath(final Criterion criterion, final ResolverContext resolverContext) {
+        // the response body is read from the document shared by the step instead of being parsed once more
+        var responseDocument = findResponseDocument(criterion, resolverContext);
         // resolve the context value (e.g., response body)
-        String contextValue = resolveCriterionContext(criterion.getContext(), resolverContext);
+        String contextValue = Objects.isNull(responseDocument)
+                ? resolveCriterionContext(criterion.getContext(), resolverContext)
+                : null;
 
-        // parse the contextValue into a JSON Node
-        JsonNode jsonNode;
         try {
             // TODO refactor: redundant code in CriterionValidator.validateJsonPath()
-            jsonNode = mapper.readTree(contextValue);
-
             // check if the criterion uses a JSON Pointer (starts with #/)
             if (criterion.getCondition().startsWith("#/")) {
                 // extract JSON pointer, operator and expected value
@@ -89,6 +92,9 @@ public class CriterionEvaluator {
                 String expected = matcher.group("expected");
 
                 // use JSON Pointer to resolve the node
+                JsonNode jsonNode = Objects.nonNull(responseDocument)
+                        ? responseDocument.getJsonTree(mapper)
+                        : mapper.readTree(contextValue);
                 JsonNode nodeAtPointer = jsonNode.at(ptr);
                 if (Objects.isNull(nodeAtPointer)) throw new ItarazzoIllegalStateException("Tried to resolve json pointer %s but got null".formatted(ptr));
 
@@ -116,8 +122,12 @@ public class CriterionEvaluator {
                 // resolve expected if it is an expression
                 expected = resolver.resolveString(expected);
 
-                var jsonNodeAsString = mapper.writeValueAsString(jsonNode);
-                var jsonNodeValue = JsonPath.parse(jsonNodeAsString).read(query);
+                Object jsonNodeValue;
+                if (Objects.nonNull(responseDocument)) {
+                    jsonNodeValue = responseDocument.readJsonPath(query);
+                } else {
+                    jsonNodeValue = JsonPath.parse(contextValue).read(query);
+                }
                 if (Objects.isNull(jsonNodeValue)) throw new ItarazzoIllegalStateException("Tried to read node value for query %s but got null".formatted(query));
                 // Evaluate condition based on the extracted node (simple condition)
                 var resolvedCriterion = Criterion.builder()
@@ -133,10 +143,22 @@ public class CriterionEvaluator {
     }
 
     private boolean evaluateXPath(final Criterion criterion, final ResolverContext resolverContext) {
+        var responseDocument = findResponseDocument(criterion, resolverContext);
+        if (Objects.nonNull(responseDocument)) {
+            return (boolean) responseDocument.evaluateXPath(criterion.getCondition(), XPathConstants.BOOLEAN);
+        }
         String contextValue = resolveCriterionContext(criterion.getContext(), resolverContext);
         return evaluateXPathExpression(contextValue, criterion.getCondition());
     }
 
+    // null unless the criterion is evaluated against the non-empty body of the latest response
+    private ResponseDocument findResponseDocument(final Criterion criterion, final ResolverContext resolverContext) {
+        if (!RESPONSE_BODY.equals(criterion.getContext()) || !(resolverContext instanceof HttpResolverContext httpContext))
+            return null;
+        var responseDocument = httpContext.getLatestResponseDocument();
+        return responseDocument.isBlank() ? null : responseDocument;
+    }
+
     private boolean evaluateLogicalExpression(final String condition, final ResolverContext resolverContext) {
         // split into left, right and operator
         String[] parts = condition.split("==|!=|<=|>=|<|>");
@@ -183,11 +205,13 @@ public class CriterionEvaluator {
 
     private boolean evaluateXPathExpression(final String contextValue, final String condition) {
         try {
-            Document document = DocumentBuilderFactory.newInstance()
-                    .newDocumentBuilder()
-                    .parse(new InputSource(new StringReader(contextValue)));
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            return (boolean) xpath.evaluate(condition, document, XPathConstants.BOOLEAN);
+            // a plain location path holds if it selects any node, which is decided while streaming
+            var streamingXPath = StreamingXPath.compile(condition);
+            if (Objects.nonNull(streamingXPath)) {
+                return Objects.nonNull(streamingXPath.evaluate(new StringReader(contextValue)));
+            }
+            Document document = XmlUtils.parseDocument(new InputSource(new StringReader(contextValue)));
+            return (boolean) XmlUtils.getXPath().evaluate(condition, document, XPathConstants.BOOLEAN);
         } catch (Exception e) {
             throw new ItarazzoIllegalStateException("Error while evaluating XPath expression: " + e.getMessage(), e);
         }
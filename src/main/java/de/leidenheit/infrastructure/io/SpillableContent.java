@@ -0,0 +1,165 @@
+package de.leidenheit.infrastructure.io;
+
+import de.leidenheit.core.exception.ItarazzoUnsupportedException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+// content that is kept on the heap up to a threshold and written to a temporary file beyond it, which is then read
+// through a memory-mapped buffer; the file is deleted as soon as it is mapped, or on exit where the platform does not
+// allow to delete mapped files. A threshold of zero or less keeps any content on the heap
+public class SpillableContent {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final byte[] bytes; // null if spilled
+    private final ByteBuffer mappedBuffer; // null unless spilled
+
+    private SpillableContent(final byte[] bytes, final ByteBuffer mappedBuffer) {
+        this.bytes = bytes;
+        this.mappedBuffer = mappedBuffer;
+    }
+
+    public static SpillableContent of(final byte[] bytes) {
+        return new SpillableContent(bytes, null);
+    }
+
+    public static SpillableContent of(final String text, final Charset charset, final long threshold) throws IOException {
+        var bytes = text.getBytes(charset);
+        if (threshold <= 0 || bytes.length <= threshold) return of(bytes);
+        try (var sink = sink(threshold)) {
+            sink.write(ByteBuffer.wrap(bytes));
+            return sink.finish();
+        }
+    }
+
+    public static SpillableContent read(final InputStream inputStream, final long threshold) throws IOException {
+        try (var sink = sink(threshold)) {
+            var chunk = new byte[CHUNK_SIZE];
+            int read;
+            while ((read = inputStream.read(chunk)) != -1) {
+                sink.write(ByteBuffer.wrap(chunk, 0, read));
+            }
+            return sink.finish();
+        }
+    }
+
+    // receives content piece by piece, e.g., from the subscriber of an HTTP response body
+    public static Sink sink(final long threshold) {
+        return new Sink(threshold);
+    }
+
+    public long size() {
+        return Objects.nonNull(bytes) ? bytes.length : mappedBuffer.capacity();
+    }
+
+    public boolean isSpilled() {
+        return Objects.isNull(bytes);
+    }
+
+    // read-only view that does not copy the content
+    public ByteBuffer asByteBuffer() {
+        return Objects.nonNull(bytes) ? ByteBuffer.wrap(bytes).asReadOnlyBuffer() : mappedBuffer.duplicate();
+    }
+
+    public InputStream openStream() {
+        var buffer = asByteBuffer();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(final byte[] target, final int offset, final int length) {
+                if (length == 0) return 0;
+                if (!buffer.hasRemaining()) return -1;
+                var count = Math.min(length, buffer.remaining());
+                buffer.get(target, offset, count);
+                return count;
+            }
+
+            @Override
+            public int available() {
+                return buffer.remaining();
+            }
+        };
+    }
+
+    public String toString(final Charset charset) {
+        return Objects.nonNull(bytes) ? new String(bytes, charset) : charset.decode(asByteBuffer()).toString();
+    }
+
+    // copies spilled content back to the heap
+    public byte[] toByteArray() {
+        if (Objects.nonNull(bytes)) return bytes;
+        var copy = new byte[mappedBuffer.capacity()];
+        asByteBuffer().get(copy);
+        return copy;
+    }
+
+    public static class Sink implements Closeable {
+
+        private final long threshold;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private Path file;
+        private FileChannel channel;
+        private long size;
+
+        private Sink(final long threshold) {
+            this.threshold = threshold;
+        }
+
+        public void write(final ByteBuffer data) throws IOException {
+            size += data.remaining();
+            if (Objects.isNull(channel) && (threshold <= 0 || size <= threshold)) {
+                var chunk = new byte[data.remaining()];
+                data.get(chunk);
+                buffer.writeBytes(chunk);
+                return;
+            }
+            if (Objects.isNull(channel)) spill();
+            while (data.hasRemaining()) channel.write(data);
+        }
+
+        public SpillableContent finish() throws IOException {
+            if (Objects.isNull(channel)) return of(buffer.toByteArray());
+            if (size > Integer.MAX_VALUE) throw new ItarazzoUnsupportedException(
+                    "Content exceeds the size of a mapped buffer: size=%d".formatted(size));
+            try {
+                return new SpillableContent(null, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            } finally {
+                close();
+            }
+        }
+
+        // discards the file, if any; mapped content stays readable
+        @Override
+        public void close() throws IOException {
+            if (Objects.isNull(channel)) return;
+            channel.close();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+
+        private void spill() throws IOException {
+            file = Files.createTempFile("itarazzo-", ".spill");
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            var buffered = ByteBuffer.wrap(buffer.toByteArray());
+            buffer = null;
+            while (buffered.hasRemaining()) channel.write(buffered);
+        }
+    }
+}
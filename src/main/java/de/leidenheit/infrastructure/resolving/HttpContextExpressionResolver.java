@@ -1,114 +1,84 @@
 package de.leidenheit.infrastructure.resolving;
 
-import com.jayway.jsonpath.JsonPath;
 import de.leidenheit.core.exception.ItarazzoIllegalStateException;
 import de.leidenheit.core.exception.ItarazzoUnsupportedException;
-import io.restassured.http.ContentType;
-import io.restassured.http.Headers;
-import io.restassured.response.Response;
-import io.restassured.specification.FilterableRequestSpecification;
-import io.restassured.specification.RequestSpecification;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
-import java.io.ByteArrayInputStream;
-import java.nio.charset.StandardCharsets;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 
 // TODO refactor
 public class HttpContextExpressionResolver implements HttpExpressionResolver {
 
+    // collects the targets of all response body expressions in a single streaming pass over the body, provided that
+    // each of them is a JSON pointer or a simple path; otherwise the body is parsed as a whole on first resolution
+    public void prefetchResponseBody(final Collection<String> expressions, final HttpResolverContext context) {
+        var pointers = new LinkedHashSet<String>();
+        for (var expression : expressions) {
+            var compiled = compile(expression);
+            if (compiled.getSource() != RuntimeExpression.Source.RESPONSE_BODY || expression.equals("$response.body")) continue;
+            var pointer = compiled.getJsonPointer();
+            if (Objects.isNull(pointer)) return;
+            pointers.add(pointer);
+        }
+        if (pointers.isEmpty()) return;
+
+        var responseDocument = context.getLatestResponseDocument();
+        if (responseDocument.isJson() && !responseDocument.isBlank()) {
+            responseDocument.extractJsonPointers(pointers);
+        }
+    }
+
     @Override
     public Object resolveExpression(final String expression, final ResolverContext context) {
-        if (Objects.isNull(context)) return expression;
+        return resolveExpression(compile(expression), context);
+    }
+
+    // compiled anew, unless a descendant holds the expression precompiled
+    protected RuntimeExpression compile(final String expression) {
+        return RuntimeExpression.compile(expression);
+    }
+
+    protected Object resolveExpression(final RuntimeExpression expression, final ResolverContext context) {
+        if (Objects.isNull(context)) return expression.getExpression();
         if (!(HttpResolverContext.class.isAssignableFrom(context.getClass())))
             throw new ItarazzoIllegalStateException("Expected context to be a descendant of HttpResolverContext but was not");
 
         var httpContext = (HttpResolverContext) context;
-        if (expression.equals("$statusCode")) {
-            return String.valueOf(httpContext.getLatestStatusCode());
-        } else if (expression.startsWith("$response.")) {
-            if (expression.startsWith("$response.header")) {
-                var header = expression.substring("$response.header.".length());
-                return resolveHeader(header, httpContext.getLastestResponse().getHeaders());
-            } else if (expression.startsWith("$response.body")) {
-                var responseBody = resolveResponseBodyPayload(httpContext.getLastestResponse());
-                if (responseBody.isBlank()) {
-                    return null;
-                }
-                String subPath = null;
-                if (expression.contains("$response.body#/")) {
-                    subPath = expression.substring("$response.body#/".length());
-                    subPath = convertJsonPointerToJsonPath(subPath);
-                } else if (expression.contains("$response.body.")) {
-                    subPath = expression.substring("$response.body.".length());
-                } else if (expression.contains("$response.body[")) {
-                    subPath = expression.substring("$response.body".length());
-                }
-
-                if (Objects.isNull(subPath)) return responseBody;
-
-                try {
-                    if (ContentType.JSON.matches(httpContext.getLatestContentType())) {
-                        return resolveJsonPath(responseBody, subPath);
-                    } else if (ContentType.XML.matches(httpContext.getLatestContentType())) {
-                        Document document = DocumentBuilderFactory.newInstance()
-                                .newDocumentBuilder()
-                                .parse(new ByteArrayInputStream(responseBody.getBytes(StandardCharsets.UTF_8)));
-
-                        XPath xpath = XPathFactory.newInstance().newXPath();
-                        var xmlSubPath = subPath.replace(".", "/");
-                        var res = xpath
-                                .compile("/%s".formatted(xmlSubPath))
-                                .evaluate(document, XPathConstants.NODE);
-
-                        if (Objects.nonNull(res) && res instanceof Node resNode) {
-                            return resNode.getTextContent();
-                        }
-                        throw new ItarazzoIllegalStateException("Tried to resolved xpath %s but got null".formatted(xmlSubPath));
-                    }
-                    throw new ItarazzoUnsupportedException("Reading nested properties of response body requires a content type of JSON|XML");
-
-                } catch (Exception e) {
-                    throw new ItarazzoIllegalStateException("Invalid JSON path or XPath: '%s'".formatted(expression), e);
-                }
-            }
-            throw new ItarazzoUnsupportedException("Not supported: expression=%s".formatted(expression));
-        } else if (expression.startsWith("$request.")) {
-            if (expression.startsWith("$request.header")) {
-                var header = expression.substring("$request.header.".length());
-                return resolveHeader(header, httpContext.getLatestRequest().getHeaders());
-            } else if (expression.startsWith("$request.body")) {
-                var requestBody = resolveRequestBodyPayload(httpContext.getLatestRequest());
-                if (requestBody.isBlank()) {
-                    return null;
+        return switch (expression.getSource()) {
+            case STATUS_CODE -> String.valueOf(httpContext.getLatestStatusCode());
+            case RESPONSE_HEADER -> resolveResponseHeader(expression.getName(), httpContext);
+            // size and digest are taken from the bytes as received, so the body is not decoded for them
+            case RESPONSE_SIZE -> String.valueOf(httpContext.getLatestResponseDocument().getSize());
+            case RESPONSE_DIGEST -> httpContext.getLatestResponseDocument().getDigest(expression.getName());
+            case RESPONSE_BODY -> resolveResponseBody(expression, httpContext);
+            case REQUEST_HEADER -> resolveRequestHeader(expression.getName(), httpContext);
+            case REQUEST_BODY -> {
+                var requestBody = resolveRequestBodyPayload(httpContext);
+                if (Objects.isNull(requestBody) || requestBody.isBlank()) {
+                    yield null;
                 }
                 // TODO consider handle request bodies in a deeply manner
-                return requestBody;
-            } else if (expression.startsWith("$request.path")) {
-                var pathParam = expression.substring("$request.path.".length());
-                return resolvePathParam(pathParam, httpContext.getLatestRequest().getPathParams());
+                yield requestBody;
             }
-            throw new ItarazzoUnsupportedException("Not supported: expression=%s".formatted(expression));
-        } else if (expression.startsWith("$url")) {
-            return httpContext.getLatestUrl();
-        } else if (expression.startsWith("$method")) {
-            return httpContext.getLatestHttpMethod();
-        } else if (expression.startsWith("$message")) {
-            return httpContext.getLatestMessage();
-        }
+            case REQUEST_PATH -> resolvePathParam(expression.getName(), httpContext.getLatestRequestPathParams());
+            case URL -> httpContext.getLatestUrl();
+            case METHOD -> httpContext.getLatestHttpMethod();
+            case MESSAGE -> httpContext.getLatestMessage();
+            case UNSUPPORTED -> throw new ItarazzoUnsupportedException("Not supported: expression=%s".formatted(expression.getExpression()));
+            default -> expression.getExpression(); // Return unchanged if no resolution is found
+        };
+    }
 
-        return expression; // Return unchanged if no resolution is found
+    @Override
+    public String resolveRequestHeader(final String headerName, final HttpResolverContext context) {
+        return context.getLatestRequestHeader(headerName);
     }
 
     @Override
-    public String resolveHeader(final String headerName, final Headers headers) {
-        return headers.getValue(headerName);
+    public String resolveResponseHeader(final String headerName, final HttpResolverContext context) {
+        return context.getLatestResponseHeader(headerName);
     }
 
     @Override
@@ -117,55 +87,50 @@ public class HttpContextExpressionResolver implements HttpExpressionResolver {
     }
 
     @Override
-    public String resolveRequestBodyPayload(final RequestSpecification requestSpecification) {
-        return ((FilterableRequestSpecification) requestSpecification).getBody();
+    public String resolveRequestBodyPayload(final HttpResolverContext context) {
+        return context.getLatestRequestBody();
     }
 
     @Override
-    public String resolveResponseBodyPayload(final Response response) {
-        return (Objects.nonNull(response.body())) ? response.body().asString() : null;
+    public String resolveResponseBodyPayload(final HttpResolverContext context) {
+        return context.getLatestResponseDocument().getBody();
     }
 
-    private Object resolveJsonPath(final String responseBody, final String subPath) {
-        try {
-            // JSONPath requires array indices to be enclosed in brackets, e.g., body[0].items[10].id
-            String correctedPath = correctJsonPathSyntax(subPath);
-            return JsonPath.read(responseBody, "$." + correctedPath);
-        } catch (Exception e) {
-            throw new ItarazzoIllegalStateException("Invalid JSON Path: '$.%s'".formatted(subPath), e);
+    private Object resolveResponseBody(final RuntimeExpression expression, final HttpResolverContext httpContext) {
+        var responseDocument = httpContext.getLatestResponseDocument();
+        if (responseDocument.isBlank()) {
+            return null;
         }
-    }
-
-    private String convertJsonPointerToJsonPath(final String pointerPath) {
-        // Convert JSON Pointer to JSONPath by replacing "/" with "." except the leading "/"
-        // and handling array indexes appropriately.
-        String[] segments = pointerPath.split("/");
-        StringBuilder jsonPathBuilder = new StringBuilder();
+        var pointer = expression.getJsonPointer();
+        if (Objects.nonNull(pointer) && responseDocument.getExtractedValues().containsKey(pointer)) {
+            return responseDocument.getExtractedValues().get(pointer);
+        }
+        if (Objects.isNull(expression.getBodyPath())) return responseDocument.getBody();
 
-        for (String segment : segments) {
-            if (segment.isEmpty()) {
-                // Ignore leading segment if it is empty (happens when splitting at leading '/')
-                continue;
-            }
+        try {
+            if (responseDocument.isJson()) {
+                return resolveJsonPath(responseDocument, expression);
+            } else if (responseDocument.isXml()) {
+                var res = responseDocument.evaluateXPathText(expression.getXPath());
 
-            if (!jsonPathBuilder.isEmpty()) {
-                jsonPathBuilder.append(".");
+                if (Objects.nonNull(res)) {
+                    return res;
+                }
+                throw new ItarazzoIllegalStateException("Tried to resolved xpath %s but got null".formatted(expression.getXPath().substring(1)));
             }
+            throw new ItarazzoUnsupportedException("Reading nested properties of response body requires a content type of JSON|XML");
 
-            // If the segment is numeric, it represents an array index
-            if (segment.matches("\\d+")) {
-                jsonPathBuilder.append("[").append(segment).append("]");
-            } else {
-                jsonPathBuilder.append(segment);
-            }
+        } catch (Exception e) {
+            throw new ItarazzoIllegalStateException("Invalid JSON path or XPath: '%s'".formatted(expression.getExpression()), e);
         }
-
-        return jsonPathBuilder.toString();
     }
 
-    private String correctJsonPathSyntax(final String subPath) {
-        // Regular expression to replace all numeric parts with the correct array syntax
-        // Matches any dot followed by one or more digits and replaces it with brackets
-        return subPath.replaceAll("\\.(\\d+)", "[$1]");
+    private Object resolveJsonPath(final ResponseDocument responseDocument, final RuntimeExpression expression) {
+        try {
+            // array indices are enclosed in brackets when compiled, e.g., body[0].items[10].id
+            return responseDocument.readJsonPath(expression.getJsonPath());
+        } catch (Exception e) {
+            throw new ItarazzoIllegalStateException("Invalid JSON Path: '$.%s'".formatted(expression.getBodyPath()), e);
+        }
     }
 }
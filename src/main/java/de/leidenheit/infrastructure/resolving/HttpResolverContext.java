@@ -1,17 +1,20 @@
 package de.leidenheit.infrastructure.resolving;
 
-import io.restassured.response.Response;
-import io.restassured.specification.FilterableRequestSpecification;
-
+import java.util.Map;
 import java.util.Objects;
 
+// exchange of the latest step, independent of the HTTP engine that performed it
 public interface HttpResolverContext extends ResolverContext {
 
     String getLatestUrl();
     String getLatestHttpMethod();
     int getLatestStatusCode();
-    FilterableRequestSpecification getLatestRequest();
-    Response getLastestResponse();
     Objects getLatestMessage();
     String getLatestContentType();
+    String getLatestRequestHeader(final String headerName);
+    String getLatestRequestBody();
+    Map<String, String> getLatestRequestPathParams();
+    String getLatestResponseHeader(final String headerName);
+    String getLatestResponseBody();
+    ResponseDocument getLatestResponseDocument(); // parsed at most once per response
 }
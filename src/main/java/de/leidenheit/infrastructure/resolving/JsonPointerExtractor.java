@@ -0,0 +1,132 @@
+package de.leidenheit.infrastructure.resolving;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// collects the values of many JSON pointers in a single pass over a streaming parser; only the subtrees of the
+// targets are materialized and the pass stops as soon as every target has been found. Values are built by the
+// JSON provider of JsonPath, so they equal the ones read from a parsed document
+public class JsonPointerExtractor {
+
+    private final Map<String, JsonPointer> pointers;
+    private final JsonProvider jsonProvider;
+
+    private JsonPointerExtractor(final Map<String, JsonPointer> pointers, final JsonProvider jsonProvider) {
+        this.pointers = pointers;
+        this.jsonProvider = jsonProvider;
+    }
+
+    public static JsonPointerExtractor of(final Collection<String> pointers) {
+        var compiledPointers = new LinkedHashMap<String, JsonPointer>();
+        pointers.forEach(pointer -> compiledPointers.put(pointer, JsonPointer.compile(pointer)));
+        return new JsonPointerExtractor(compiledPointers, Configuration.defaultConfiguration().jsonProvider());
+    }
+
+    // values by pointer; pointers without a target are absent
+    public Map<String, Object> extract(final JsonParser parser) throws IOException {
+        var extracted = new HashMap<String, Object>();
+        if (Objects.isNull(parser.nextToken())) return extracted;
+
+        var targets = new ArrayList<Target>();
+        pointers.forEach((pointer, compiledPointer) -> targets.add(new Target(pointer, compiledPointer)));
+        visit(parser, targets, extracted);
+        return extracted;
+    }
+
+    // expects the parser to be positioned at the first token of a value and leaves it at the last one
+    private void visit(final JsonParser parser, final List<Target> targets, final Map<String, Object> extracted) throws IOException {
+        if (targets.stream().anyMatch(target -> target.remaining().matches())) {
+            // a target ends here, so nested targets are read from its value instead of the parser
+            var value = readValue(parser);
+            targets.forEach(target -> navigate(value, target.remaining(), target.pointer(), extracted));
+            return;
+        }
+
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var fieldName = parser.currentName();
+                parser.nextToken();
+                var children = new ArrayList<Target>();
+                for (var target : targets) {
+                    if (fieldName.equals(target.remaining().getMatchingProperty())) children.add(target.tail());
+                }
+                if (children.isEmpty()) {
+                    parser.skipChildren();
+                } else {
+                    visit(parser, children, extracted);
+                    if (extracted.size() == pointers.size()) return;
+                }
+            }
+        } else if (parser.currentToken() == JsonToken.START_ARRAY) {
+            var index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                var children = new ArrayList<Target>();
+                for (var target : targets) {
+                    if (target.remaining().getMatchingIndex() == index) children.add(target.tail());
+                }
+                if (children.isEmpty()) {
+                    parser.skipChildren();
+                } else {
+                    visit(parser, children, extracted);
+                    if (extracted.size() == pointers.size()) return;
+                }
+                index++;
+            }
+        }
+    }
+
+    private void navigate(final Object value, final JsonPointer remaining, final String pointer, final Map<String, Object> extracted) {
+        if (remaining.matches()) {
+            extracted.put(pointer, value);
+        } else if (value instanceof Map<?, ?> map && map.containsKey(remaining.getMatchingProperty())) {
+            navigate(map.get(remaining.getMatchingProperty()), remaining.tail(), pointer, extracted);
+        } else if (value instanceof List<?> list && remaining.getMatchingIndex() >= 0 && remaining.getMatchingIndex() < list.size()) {
+            navigate(list.get(remaining.getMatchingIndex()), remaining.tail(), pointer, extracted);
+        }
+    }
+
+    private Object readValue(final JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> {
+                var map = jsonProvider.createMap();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    var fieldName = parser.currentName();
+                    parser.nextToken();
+                    jsonProvider.setProperty(map, fieldName, readValue(parser));
+                }
+                yield map;
+            }
+            case START_ARRAY -> {
+                var array = jsonProvider.createArray();
+                var index = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    jsonProvider.setArrayIndex(array, index++, readValue(parser));
+                }
+                yield array;
+            }
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    private record Target(String pointer, JsonPointer remaining) {
+        private Target tail() {
+            return new Target(pointer, remaining.tail());
+        }
+    }
+}
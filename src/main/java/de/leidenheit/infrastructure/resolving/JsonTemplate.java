@@ -0,0 +1,90 @@
+package de.leidenheit.infrastructure.resolving;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// a JSON tree serialized once, whose textual values that contain expressions are kept as slots; rendering writes the
+// literals and the resolved slots as escaped strings, so the tree itself is never copied nor modified
+public class JsonTemplate implements Template {
+
+    private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+
+    // literals as String and slots as StringTemplate
+    private final List<Object> segments;
+
+    private JsonTemplate(final List<Object> segments) {
+        this.segments = segments;
+    }
+
+    public static JsonTemplate compile(final JsonNode node) {
+        var compiler = new Compiler();
+        compiler.append(node);
+        return new JsonTemplate(compiler.finish());
+    }
+
+    @Override
+    public void renderTo(final SpecExpressionResolver resolver, final StringBuilder target) {
+        for (var segment : segments) {
+            if (segment instanceof StringTemplate slot) {
+                target.append('"');
+                ENCODER.quoteAsString(slot.render(resolver), target);
+                target.append('"');
+            } else {
+                target.append((String) segment);
+            }
+        }
+    }
+
+    private static class Compiler {
+
+        private final List<Object> segments = new ArrayList<>();
+        private final StringBuilder literal = new StringBuilder();
+
+        private void append(final JsonNode node) {
+            if (node.isObject()) {
+                literal.append('{');
+                var first = true;
+                for (var fields = node.fields(); fields.hasNext(); first = false) {
+                    var field = fields.next();
+                    if (!first) literal.append(',');
+                    appendQuoted(field.getKey());
+                    literal.append(':');
+                    append(field.getValue());
+                }
+                literal.append('}');
+            } else if (node.isArray()) {
+                literal.append('[');
+                for (int i = 0; i < node.size(); i++) {
+                    if (i > 0) literal.append(',');
+                    append(node.get(i));
+                }
+                literal.append(']');
+            } else if (node.isTextual()) {
+                var template = StringTemplate.of(node.asText());
+                if (!template.hasExpressions()) {
+                    appendQuoted(node.asText());
+                    return;
+                }
+                if (!literal.isEmpty()) segments.add(literal.toString());
+                literal.setLength(0);
+                segments.add(template);
+            } else {
+                literal.append(node);
+            }
+        }
+
+        private void appendQuoted(final String text) {
+            literal.append('"');
+            ENCODER.quoteAsString(text, literal);
+            literal.append('"');
+        }
+
+        private List<Object> finish() {
+            if (!literal.isEmpty()) segments.add(literal.toString());
+            return List.copyOf(segments);
+        }
+    }
+}
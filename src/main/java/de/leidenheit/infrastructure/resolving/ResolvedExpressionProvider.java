@@ -1,29 +1,88 @@
 package de.leidenheit.infrastructure.resolving;
 
-import java.util.HashMap;
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import de.leidenheit.infrastructure.io.SpillableContent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
-@SuppressWarnings("java:S6548")
+// scoped store of resolved expressions, e.g. one root per run and one child per workflow execution; textual values
+// beyond the spill threshold are kept on disk and decoded on every lookup, so they do not stay on the heap
 public class ResolvedExpressionProvider {
 
-    private static ResolvedExpressionProvider instance;
-    private final Map<String, Object> resolvedExpressionsMap = new HashMap<>();
-    
-    public static synchronized ResolvedExpressionProvider getInstance() {
-        if (Objects.isNull(instance)) {
-            instance = new ResolvedExpressionProvider();
-        }
-        return instance;
+    public static final long DEFAULT_SPILL_THRESHOLD = 16L * 1024 * 1024;
+
+    private final ResolvedExpressionProvider parent;
+    private final long spillThreshold; // in bytes; zero or less keeps every value on the heap
+    private final Map<String, Object> resolvedExpressionsMap = new ConcurrentHashMap<>();
+
+    public static ResolvedExpressionProvider createRoot() {
+        return createRoot(DEFAULT_SPILL_THRESHOLD);
+    }
+
+    public static ResolvedExpressionProvider createRoot(final long spillThreshold) {
+        return new ResolvedExpressionProvider(null, spillThreshold);
+    }
+
+    public ResolvedExpressionProvider createChild() {
+        return createChild(spillThreshold);
+    }
+
+    public ResolvedExpressionProvider createChild(final long spillThreshold) {
+        return new ResolvedExpressionProvider(this, spillThreshold);
+    }
+
+    public long getSpillThreshold() {
+        return spillThreshold;
     }
 
     public void addResolved(final String expression, final Object resolved) {
-        this.resolvedExpressionsMap.put(expression, resolved);
+        this.resolvedExpressionsMap.put(expression, spillIfOversized(resolved));
+    }
+
+    // makes the resolved expression visible to this scope and its parent, e.g. for '$workflows.X.outputs'
+    public void publishResolved(final String expression, final Object resolved) {
+        var stored = spillIfOversized(resolved);
+        this.resolvedExpressionsMap.put(expression, stored);
+        if (Objects.nonNull(parent)) {
+            parent.resolvedExpressionsMap.put(expression, stored);
+        }
     }
 
     public Object findResolved(final String expression) {
-        return this.resolvedExpressionsMap.get(expression);
+        var resolved = this.resolvedExpressionsMap.get(expression);
+        if (Objects.isNull(resolved) && Objects.nonNull(parent)) {
+            return parent.findResolved(expression);
+        }
+        return resolved instanceof SpilledText spilledText ? spilledText.decode() : resolved;
+    }
+
+    public void clear() {
+        this.resolvedExpressionsMap.clear();
+    }
+
+    private Object spillIfOversized(final Object resolved) {
+        // a char takes at least one byte, so shorter texts are never oversized
+        if (spillThreshold <= 0 || !(resolved instanceof String text) || text.length() <= spillThreshold) return resolved;
+        try {
+            var content = SpillableContent.of(text, StandardCharsets.UTF_8, spillThreshold);
+            return content.isSpilled() ? new SpilledText(content) : resolved;
+        } catch (IOException e) {
+            throw new ItarazzoIllegalStateException(e);
+        }
+    }
+
+    private ResolvedExpressionProvider(final ResolvedExpressionProvider parent, final long spillThreshold) {
+        this.parent = parent;
+        this.spillThreshold = spillThreshold;
     }
 
-    private ResolvedExpressionProvider() {}
+    private record SpilledText(SpillableContent content) {
+        private String decode() {
+            return content.toString(StandardCharsets.UTF_8);
+        }
+    }
 }
@@ -0,0 +1,228 @@
+package de.leidenheit.infrastructure.resolving;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import de.leidenheit.core.exception.ItarazzoUnsupportedException;
+import de.leidenheit.infrastructure.io.SpillableContent;
+import de.leidenheit.infrastructure.utils.XmlUtils;
+import io.restassured.http.ContentType;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// body of the latest response, read and parsed on first use and shared by all outputs and criteria of a step; every
+// representation is built at most once and the body is only decoded to text if an expression requires it. Bound to
+// the single step that received the response, so it is not thread-safe
+public class ResponseDocument {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Pattern CHARSET_PATTERN = Pattern.compile("(?i)charset=\"?(?<charset>[^\";\\s]+)");
+
+    private final Supplier<SpillableContent> contentReader;
+    private final String contentType;
+    private final Charset charset; // declared by the content type, otherwise UTF-8
+    private SpillableContent content;
+    private String body;
+    private Map<String, Object> extractedValues = Map.of();
+    private DocumentContext jsonDocument;
+    private JsonNode jsonTree;
+    private Document xmlDocument;
+
+    private ResponseDocument(final Supplier<SpillableContent> contentReader, final String body, final String contentType) {
+        this.contentReader = contentReader;
+        this.body = body;
+        this.contentType = contentType;
+        this.charset = Objects.requireNonNullElse(findCharset(contentType), StandardCharsets.UTF_8);
+    }
+
+    // a body given as text is encoded with the charset of its content type once its content is required
+    public static ResponseDocument of(final String body, final String contentType) {
+        return new ResponseDocument(null, body, contentType);
+    }
+
+    // the reader is called once the body is required and may return null if there is none
+    public static ResponseDocument of(final Supplier<SpillableContent> contentReader, final String contentType) {
+        return new ResponseDocument(contentReader, null, contentType);
+    }
+
+    // charset declared by a content type, or null if there is none or it is unknown
+    public static Charset findCharset(final String contentType) {
+        if (Objects.isNull(contentType)) return null;
+        var matcher = CHARSET_PATTERN.matcher(contentType);
+        if (!matcher.find()) return null;
+        try {
+            return Charset.forName(matcher.group("charset"));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // body as received, which may be spilled to disk if it is oversized
+    public SpillableContent getContent() {
+        if (Objects.isNull(content)) {
+            if (Objects.nonNull(contentReader)) {
+                content = contentReader.get();
+            } else if (Objects.nonNull(body)) {
+                content = SpillableContent.of(body.getBytes(charset));
+            }
+            if (Objects.isNull(content)) content = SpillableContent.of(new byte[0]);
+        }
+        return content;
+    }
+
+    public String getBody() {
+        if (Objects.isNull(body)) body = getContent().toString(charset);
+        return body;
+    }
+
+    // number of bytes of the body as received, i.e., without decoding it
+    public long getSize() {
+        return getContent().size();
+    }
+
+    // hex encoded digest of the body as received, e.g., for algorithm 'SHA-256'
+    public String getDigest(final String algorithm) {
+        try {
+            var messageDigest = MessageDigest.getInstance(algorithm);
+            messageDigest.update(getContent().asByteBuffer());
+            return HexFormat.of().formatHex(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new ItarazzoUnsupportedException("Unsupported digest algorithm: '%s'".formatted(algorithm));
+        }
+    }
+
+    public boolean isBlank() {
+        if (Objects.nonNull(body)) return body.isBlank();
+        var buffer = getContent().asByteBuffer();
+        while (buffer.hasRemaining()) {
+            if (!Character.isWhitespace(buffer.get())) return false;
+        }
+        return true;
+    }
+
+    public boolean isJson() {
+        return ContentType.JSON.matches(contentType);
+    }
+
+    public boolean isXml() {
+        return ContentType.XML.matches(contentType);
+    }
+
+    public <T> T readJsonPath(final String jsonPath) {
+        if (Objects.isNull(jsonDocument)) {
+            jsonDocument = Objects.isNull(body) && isUnicode()
+                    ? JsonPath.parse(getContent().openStream())
+                    : JsonPath.parse(getBody());
+        }
+        return jsonDocument.read(jsonPath);
+    }
+
+    // collects the given JSON pointers in a single streaming pass, unless the body has already been parsed as a whole;
+    // extractions that fail are discarded so that the whole document reports the error
+    public void extractJsonPointers(final Collection<String> pointers) {
+        if (Objects.nonNull(jsonDocument) || Objects.nonNull(jsonTree)) return;
+        try (var parser = createJsonParser()) {
+            extractedValues = JsonPointerExtractor.of(pointers).extract(parser);
+        } catch (IOException | IllegalArgumentException e) {
+            extractedValues = Map.of();
+        }
+    }
+
+    // values of streamed JSON pointers; pointers without a target are absent
+    public Map<String, Object> getExtractedValues() {
+        return extractedValues;
+    }
+
+    // tree for JSON pointers, which are not covered by JSONPath
+    public JsonNode getJsonTree(final ObjectMapper mapper) {
+        if (Objects.isNull(jsonTree)) {
+            try {
+                jsonTree = Objects.isNull(body) && isUnicode() ? mapper.readTree(getContent().openStream()) : mapper.readTree(getBody());
+            } catch (IOException e) {
+                throw new ItarazzoIllegalStateException(e);
+            }
+        }
+        return jsonTree;
+    }
+
+    private JsonParser createJsonParser() throws IOException {
+        if (Objects.nonNull(body)) return JSON_FACTORY.createParser(body);
+        return isUnicode() ? JSON_FACTORY.createParser(getContent().openStream()) : JSON_FACTORY.createParser(openReader());
+    }
+
+    // encodings of the UTF family are detected by JSON parsers themselves
+    private boolean isUnicode() {
+        return charset.name().startsWith("UTF");
+    }
+
+    // decodes the body while it is read unless it is already available as text
+    private Reader openReader() {
+        if (Objects.nonNull(body)) return new StringReader(body);
+        return new InputStreamReader(getContent().openStream(), charset);
+    }
+
+    // paths of the streaming subset are evaluated without a DOM as long as none has been built for this body
+    public Object evaluateXPath(final String expression, final QName returnType) {
+        var streamingXPath = Objects.isNull(xmlDocument) ? StreamingXPath.compile(expression) : null;
+        if (Objects.nonNull(streamingXPath) && XPathConstants.BOOLEAN.equals(returnType)) {
+            return Objects.nonNull(evaluateStreaming(streamingXPath));
+        } else if (Objects.nonNull(streamingXPath) && XPathConstants.STRING.equals(returnType)) {
+            return Objects.requireNonNullElse(evaluateStreaming(streamingXPath), "");
+        }
+        try {
+            return XmlUtils.getXPath().evaluate(expression, getXmlDocument(), returnType);
+        } catch (XPathExpressionException e) {
+            throw new ItarazzoIllegalStateException("Invalid XPath: '%s'".formatted(expression), e);
+        }
+    }
+
+    // text content of the first node selected by the expression, or null if none is selected
+    public String evaluateXPathText(final String expression) {
+        var streamingXPath = Objects.isNull(xmlDocument) ? StreamingXPath.compile(expression) : null;
+        if (Objects.nonNull(streamingXPath)) return evaluateStreaming(streamingXPath);
+        return evaluateXPath(expression, XPathConstants.NODE) instanceof Node node ? node.getTextContent() : null;
+    }
+
+    private String evaluateStreaming(final StreamingXPath streamingXPath) {
+        try {
+            return streamingXPath.evaluate(openReader());
+        } catch (XMLStreamException e) {
+            throw new ItarazzoIllegalStateException("Error while parsing XML response body: " + e.getMessage(), e);
+        }
+    }
+
+    private Document getXmlDocument() {
+        if (Objects.isNull(xmlDocument)) {
+            try {
+                xmlDocument = XmlUtils.parseDocument(new InputSource(openReader()));
+            } catch (Exception e) {
+                throw new ItarazzoIllegalStateException("Error while parsing XML response body: " + e.getMessage(), e);
+            }
+        }
+        return xmlDocument;
+    }
+}
@@ -0,0 +1,163 @@
+package de.leidenheit.infrastructure.resolving;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// a runtime expression split into its source and the keys it navigates, so that resolving it requires neither prefix
+// matching nor string slicing. Expressions of a specification are compiled once per plan and held by its SpecNodes;
+// immutable and therefore shared by all resolvers
+@Getter
+public class RuntimeExpression {
+
+    // dotted or bracketed paths without wildcards, filters or deep scans, e.g., items[0].id or items.0.id
+    private static final Pattern SIMPLE_PATH_PATTERN = Pattern.compile("^(?:\\.[^.\\[\\]*?@$()'\"\\s]+|\\[\\d+])+$");
+    private static final Pattern INDEX_PATTERN = Pattern.compile("\\d+");
+    private static final Pattern DOTTED_INDEX_PATTERN = Pattern.compile("\\.(\\d+)");
+    private static final List<String> NO_KEYS = List.of();
+
+    public enum Source {
+        INPUTS, OUTPUTS, SOURCE_DESCRIPTIONS, WORKFLOWS, STEPS, COMPONENTS,
+        STATUS_CODE, URL, METHOD, MESSAGE,
+        REQUEST_HEADER, REQUEST_BODY, REQUEST_PATH,
+        RESPONSE_HEADER, RESPONSE_SIZE, RESPONSE_DIGEST, RESPONSE_BODY,
+        UNSUPPORTED, // a '$request.' or '$response.' expression of an unknown kind
+        LITERAL // anything else, which resolves to itself
+    }
+
+    private final String expression;
+    private final Source source;
+    // id or name of the addressed step, workflow or source description; name of a header, path parameter or digest
+    private final String name;
+    // keys of the navigated path, e.g., 'outputs' and 'id' of '$steps.create.outputs.id'
+    private final List<String> keys;
+    // set for response body expressions with a nested path only
+    private final String jsonPointer; // null unless pointer-compatible
+    private final String bodyPath; // path as written after the body, e.g., 'items.0.id'
+    private final String jsonPath; // e.g., '$.items[0].id'
+    private final String xPath; // e.g., '/items/0/id'
+
+    private RuntimeExpression(final String expression,
+                              final Source source,
+                              final String name,
+                              final List<String> keys,
+                              final String jsonPointer,
+                              final String bodyPath) {
+        this.expression = expression;
+        this.source = source;
+        this.name = name;
+        this.keys = keys;
+        this.jsonPointer = jsonPointer;
+        this.bodyPath = bodyPath;
+        this.jsonPath = bodyPath == null ? null : "$." + DOTTED_INDEX_PATTERN.matcher(bodyPath).replaceAll("[$1]");
+        this.xPath = bodyPath == null ? null : "/" + bodyPath.replace(".", "/");
+    }
+
+    public static RuntimeExpression compile(final String expression) {
+        return parse(expression);
+    }
+
+    // the navigated path as written, e.g., 'outputs.id'
+    public String getKeyPath() {
+        return String.join(".", keys);
+    }
+
+    private static RuntimeExpression parse(final String expression) {
+        if (expression.startsWith("$inputs.")) return ofKeys(expression, Source.INPUTS, "$inputs.");
+        if (expression.startsWith("$outputs.")) return ofKeys(expression, Source.OUTPUTS, "$outputs.");
+        if (expression.startsWith("$sourceDescriptions.")) return ofTarget(expression, Source.SOURCE_DESCRIPTIONS, "$sourceDescriptions.");
+        if (expression.startsWith("$workflows.")) return ofTarget(expression, Source.WORKFLOWS, "$workflows.");
+        if (expression.startsWith("$steps.")) return ofTarget(expression, Source.STEPS, "$steps.");
+        if (expression.startsWith("$components.") || expression.startsWith("#/components")) return of(expression, Source.COMPONENTS, null);
+
+        if (expression.equals("$statusCode")) return of(expression, Source.STATUS_CODE, null);
+        if (expression.startsWith("$response.")) return parseResponse(expression);
+        if (expression.startsWith("$request.")) {
+            if (expression.startsWith("$request.header")) return of(expression, Source.REQUEST_HEADER, nameAfter(expression, "$request.header."));
+            if (expression.startsWith("$request.body")) return of(expression, Source.REQUEST_BODY, null);
+            if (expression.startsWith("$request.path")) return of(expression, Source.REQUEST_PATH, nameAfter(expression, "$request.path."));
+            return of(expression, Source.UNSUPPORTED, null);
+        }
+        if (expression.startsWith("$url")) return of(expression, Source.URL, null);
+        if (expression.startsWith("$method")) return of(expression, Source.METHOD, null);
+        if (expression.startsWith("$message")) return of(expression, Source.MESSAGE, null);
+        return of(expression, Source.LITERAL, null);
+    }
+
+    private static RuntimeExpression parseResponse(final String expression) {
+        if (expression.startsWith("$response.header")) return of(expression, Source.RESPONSE_HEADER, nameAfter(expression, "$response.header."));
+        if (expression.equals("$response.size")) return of(expression, Source.RESPONSE_SIZE, null);
+        if (expression.startsWith("$response.digest.")) return of(expression, Source.RESPONSE_DIGEST, nameAfter(expression, "$response.digest."));
+        if (!expression.startsWith("$response.body")) return of(expression, Source.UNSUPPORTED, null);
+
+        String bodyPath = null;
+        if (expression.startsWith("$response.body#/")) {
+            bodyPath = convertJsonPointerToPath(expression.substring("$response.body#/".length()));
+        } else if (expression.startsWith("$response.body.")) {
+            bodyPath = expression.substring("$response.body.".length());
+        } else if (expression.startsWith("$response.body[")) {
+            bodyPath = expression.substring("$response.body".length());
+        }
+        return new RuntimeExpression(expression, Source.RESPONSE_BODY, null, NO_KEYS, toJsonPointer(expression), bodyPath);
+    }
+
+    private static RuntimeExpression of(final String expression, final Source source, final String name) {
+        return new RuntimeExpression(expression, source, name, NO_KEYS, null, null);
+    }
+
+    private static RuntimeExpression ofKeys(final String expression, final Source source, final String prefix) {
+        return new RuntimeExpression(expression, source, null, List.of(expression.substring(prefix.length()).split("\\.")), null, null);
+    }
+
+    // the first key addresses the target, the remaining ones navigate it; a target without keys resolves to null
+    private static RuntimeExpression ofTarget(final String expression, final Source source, final String prefix) {
+        var keys = expression.substring(prefix.length()).split("\\.");
+        if (keys.length < 2) return new RuntimeExpression(expression, source, null, NO_KEYS, null, null);
+        return new RuntimeExpression(expression, source, keys[0], List.of(Arrays.copyOfRange(keys, 1, keys.length)), null, null);
+    }
+
+    private static String nameAfter(final String expression, final String prefix) {
+        return expression.length() > prefix.length() ? expression.substring(prefix.length()) : "";
+    }
+
+    // JSON pointer equivalent to a response body expression, or null if it is not pointer-compatible
+    private static String toJsonPointer(final String expression) {
+        if (expression.startsWith("$response.body#/")) {
+            var pointer = expression.substring("$response.body#".length());
+            try {
+                JsonPointer.compile(pointer);
+                return pointer;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        var path = expression.substring("$response.body".length());
+        if (!SIMPLE_PATH_PATTERN.matcher(path).matches()) return null;
+        var pointer = new StringBuilder();
+        for (String segment : path.split("[.\\[\\]]+")) {
+            if (segment.isEmpty()) continue;
+            pointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+        }
+        return pointer.toString();
+    }
+
+    // segments of a JSON pointer joined by dots, with array indexes enclosed in brackets
+    private static String convertJsonPointerToPath(final String pointerPath) {
+        var path = new StringBuilder();
+        for (String segment : pointerPath.split("/")) {
+            // leading segment is empty when splitting at a leading '/'
+            if (segment.isEmpty()) continue;
+            if (!path.isEmpty()) path.append('.');
+            if (INDEX_PATTERN.matcher(segment).matches()) {
+                path.append('[').append(segment).append(']');
+            } else {
+                path.append(segment);
+            }
+        }
+        return path.toString();
+    }
+}
@@ -1,9 +1,7 @@
 package de.leidenheit.infrastructure.resolving;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import de.leidenheit.core.exception.ItarazzoIllegalStateException;
@@ -17,23 +15,37 @@ public class SpecExpressionResolver extends HttpContextExpressionResolver {
 
     private final ResolvedExpressionProvider expressionProvider;
 
-    private final ObjectMapper mapper = new ObjectMapper();
+    // thread-safe once configured, so it is shared by all resolvers
+    private static final ObjectMapper MAPPER = new ObjectMapper();
     private final Map<String, Object> inputs;
     private final Map<String, Object> outputs = new HashMap<>();
-    private final ArrayNode steps = mapper.createArrayNode();
-    private final ArrayNode workflows = mapper.createArrayNode();
-    private final ArrayNode sourceDescriptions = mapper.createArrayNode();
+    private final SpecNodes specNodes;
 
     public SpecExpressionResolver(final ArazzoSpecification arazzo, final Map<String, Object> inputs) {
+        this(arazzo, inputs, ResolvedExpressionProvider.createRoot());
+    }
+
+    public SpecExpressionResolver(final ArazzoSpecification arazzo,
+                                  final Map<String, Object> inputs,
+                                  final ResolvedExpressionProvider expressionProvider) {
+        this(ofSpecification(arazzo), inputs, expressionProvider);
+    }
+
+    public SpecExpressionResolver(final SpecNodes specNodes,
+                                  final Map<String, Object> inputs,
+                                  final ResolvedExpressionProvider expressionProvider) {
         this.inputs = inputs;
-        this.sourceDescriptions.addAll(Objects.requireNonNull(
-                mapper.convertValue(arazzo.getSourceDescriptions(), ArrayNode.class)));
-        this.workflows.addAll(Objects.requireNonNull(
-                mapper.convertValue(arazzo.getWorkflows(), ArrayNode.class)));
-        arazzo.getWorkflows().forEach(workflow ->
-                this.steps.addAll(Objects.requireNonNull(
-                        mapper.convertValue(workflow.getSteps(), ArrayNode.class))));
-        expressionProvider = ResolvedExpressionProvider.getInstance();
+        this.expressionProvider = expressionProvider;
+        this.specNodes = specNodes;
+    }
+
+    // size in bytes beyond which response bodies and resolved values of this resolver are spilled to disk
+    public long getSpillThreshold() {
+        return expressionProvider.getSpillThreshold();
+    }
+
+    public static SpecNodes ofSpecification(final ArazzoSpecification arazzo) {
+        return SpecNodes.of(arazzo, MAPPER);
     }
 
     @SneakyThrows
@@ -43,43 +55,28 @@ public class SpecExpressionResolver extends HttpContextExpressionResolver {
         Object resolved = findResolved(expression);
 
         if (Objects.isNull(resolved)) {
-            if (expression.startsWith("$inputs.")) {
-                resolved = ResolverUtils.getNestedValue(inputs, expression.substring("$inputs.".length()));
-                if (Objects.nonNull(resolved) && resolved instanceof TextNode resolvedAsTextNode) {
-                    resolved = resolvedAsTextNode.asText();
-                }
-            } else if (expression.startsWith("$outputs.")) {
-                resolved = ResolverUtils.getNestedValue(outputs, expression.substring("$outputs.".length()));
-                if (Objects.nonNull(resolved) && resolved instanceof TextNode resolvedAsTextNode) {
-                    resolved = resolvedAsTextNode.asText();
-                }
-            } else if (expression.startsWith("$sourceDescriptions.")) {
-                resolved = resolveSourceDescription(sourceDescriptions, expression.substring("$sourceDescriptions.".length()));
-                if (Objects.nonNull(resolved) && resolved instanceof TextNode resolvedAsTextNode) {
-                    resolved = resolvedAsTextNode.asText();
-                }
-            } else if (expression.startsWith("$workflows.")) {
-                resolved = resolveWorkflows(workflows, expression.substring("$workflows.".length()));
-                if (Objects.nonNull(resolved) && resolved instanceof TextNode resolvedAsTextNode) {
-                    resolved = resolvedAsTextNode.asText();
-                }
-            } else if (expression.startsWith("$steps.")) {
-                resolved = resolveSteps(steps, expression.substring("$steps.".length()));
-                if (Objects.nonNull(resolved) && resolved instanceof TextNode resolvedAsTextNode) {
-                    resolved = resolvedAsTextNode.asText();
-                }
-            } else if (expression.startsWith("$components.") || expression.startsWith("#/components")) {
-                throw new ItarazzoIllegalStateException("Expected to be handled by ArazzoComponentRefResolver but was not: %s"
-                        .formatted(expression));
-            } else {
-                resolved = super.resolveExpression(expression, context);
-                if (resolved instanceof String resolvedAsString) {
-                    return resolvedAsString;
-                } else {
-                    // TODO refactor
-                    return mapper.writeValueAsString(resolved);
+            var compiled = compile(expression);
+            switch (compiled.getSource()) {
+                case INPUTS -> resolved = ResolverUtils.getNestedValue(inputs, compiled.getKeys());
+                case OUTPUTS -> resolved = ResolverUtils.getNestedValue(outputs, compiled.getKeys());
+                case SOURCE_DESCRIPTIONS -> resolved = resolveSourceDescription(compiled);
+                case WORKFLOWS -> resolved = resolveNestedText(specNodes.findWorkflow(compiled.getName()), compiled);
+                case STEPS -> resolved = resolveNestedText(specNodes.findStep(compiled.getName()), compiled);
+                case COMPONENTS -> throw new ItarazzoIllegalStateException(
+                        "Expected to be handled by ArazzoComponentRefResolver but was not: %s".formatted(expression));
+                default -> {
+                    resolved = super.resolveExpression(compiled, context);
+                    if (resolved instanceof String resolvedAsString) {
+                        return resolvedAsString;
+                    } else {
+                        // TODO refactor
+                        return MAPPER.writeValueAsString(resolved);
+                    }
                 }
             }
+            if (Objects.nonNull(resolved) && resolved instanceof TextNode resolvedAsTextNode) {
+                resolved = resolvedAsTextNode.asText();
+            }
 
             if (Objects.nonNull(resolved) && !expression.equalsIgnoreCase(resolved.toString())) {
                 // add resolved expression to reference map
@@ -89,150 +86,50 @@ public class SpecExpressionResolver extends HttpContextExpressionResolver {
         return resolved;
     }
 
-    // TODO refactor
+    // expressions of the specification are compiled with its plan; anything else, e.g., resolved values, is not kept
+    @Override
+    protected RuntimeExpression compile(final String expression) {
+        var compiled = specNodes.findExpression(expression);
+        return Objects.nonNull(compiled) ? compiled : super.compile(expression);
+    }
+
+    // text of the specification is scanned for expressions once per plan; anything else, e.g., resolved values, is not kept
     public String resolveString(final String expression) {
-        StringBuilder result = new StringBuilder();
-        if (expression.contains("{$")) {
-            int start = 0;
-            while (start < expression.length()) {
-                int openIndex = expression.indexOf("{$", start);
-                if (openIndex == -1) {
-                    result.append(expression.substring(start));
-                    break;
-                }
-                result.append(expression, start, openIndex);
-                int closeIndex = expression.indexOf('}', openIndex);
-                if (closeIndex == -1) {
-                    throw new IllegalArgumentException("Unmatched '{$' in expression: " + expression);
-                }
-                String expr = expression.substring(openIndex + 1, closeIndex);
-                Object resolved = resolveExpression(expr, null);
-                if (Objects.nonNull(resolved)) {
-                    if (resolved instanceof TextNode textNode) {
-                        result.append(textNode.asText());
-                    } else {
-                        result.append(resolved);
-                    }
-                } else {
-                    throw new ItarazzoIllegalStateException("Tried to resolve expression %s but got null".formatted(expr));
-                }
-                start = closeIndex + 1;
-            }
-        } else if (expression.contains("$")) {
-            var resolved = resolveExpression(expression, null);
-            if (resolved.toString().contains("{")) {
-                try {
-                    return mapper.writeValueAsString(resolved);
-                } catch (JsonProcessingException e) {
-                    throw new ItarazzoIllegalStateException(e);
-                }
-            }
-            result.append(resolved);
-        } else {
-            result.append(expression);
-        }
-        return result.toString();
+        var template = specNodes.findTemplate(expression);
+        return (Objects.nonNull(template) ? template : StringTemplate.of(expression)).render(this);
     }
 
-    // TODO refactor
+    // textual values of the object are resolved without modifying the object itself
     public String resolveObject(final Object object) {
-        var objectAsNode = mapper.convertValue(object, ObjectNode.class);
-        resolveJsonObject(objectAsNode);
-        return objectAsNode.toString();
+        return JsonTemplate.compile(MAPPER.convertValue(object, ObjectNode.class)).render(this);
     }
 
     public void addResolved(final String key, final Object resolved) {
         this.expressionProvider.addResolved(key, resolved);
     }
 
-    public Object findResolved(final String expression) {
-        return expressionProvider.findResolved(expression);
-    }
-
-    private JsonNode resolveSourceDescription(final ArrayNode sourceDescriptionsArray, final String keyPath) {
-        String[] keys = keyPath.split("\\.");
-
-        if (keys.length < 2) return null;
-
-        String targetName = keys[0];
-        String[] targetFields = Arrays.copyOfRange(keys, 1, keys.length);
-
-        for (JsonNode sourceNode : sourceDescriptionsArray) {
-            if (sourceNode.has("name") && sourceNode.get("name").asText().equals(targetName)) {
-                return ResolverUtils.getNestedValue(sourceNode, String.join(".", targetFields));
-            }
-        }
-        return null;
+    public void publishResolved(final String key, final Object resolved) {
+        this.expressionProvider.publishResolved(key, resolved);
     }
 
-    private JsonNode resolveSteps(final ArrayNode stepsArray, final String keyPath) {
-        String[] keys = keyPath.split("\\.");
-
-        if (keys.length < 2) return null;
-
-        String targetName = keys[0];
-        String[] targetFields = Arrays.copyOfRange(keys, 1, keys.length);
-
-        for (JsonNode sourceNode : stepsArray) {
-            if (sourceNode.has("stepId") && sourceNode.get("stepId").asText().equals(targetName)) {
-                var nestedKeyPath = String.join(".", targetFields);
-                var resolved = ResolverUtils.getNestedValue(sourceNode, nestedKeyPath);
-                if (Objects.nonNull(resolved) && resolved.isTextual()) {
-                    resolved = new TextNode(resolveString(resolved.asText()));
-                    return resolved;
-                }
-                throw new ItarazzoIllegalStateException("Tried to resolved nested key path %s but got null".formatted(nestedKeyPath));
-            }
-        }
-        return null;
-    }
-
-    private JsonNode resolveWorkflows(final ArrayNode stepsArray, final String keyPath) {
-        String[] keys = keyPath.split("\\.");
-
-        if (keys.length < 2) return null;
-
-        String targetName = keys[0];
-        String[] targetFields = Arrays.copyOfRange(keys, 1, keys.length);
-
-        for (JsonNode sourceNode : stepsArray) {
-            if (sourceNode.has("workflowId") && sourceNode.get("workflowId").asText().equals(targetName)) {
-                var nestedKeyPath = String.join(".", targetFields);
-                var resolved = ResolverUtils.getNestedValue(sourceNode, nestedKeyPath);
-                if (Objects.nonNull(resolved) && resolved.isTextual()) {
-                    resolved = new TextNode(resolveString(resolved.asText()));
-                    return resolved;
-                }
-                throw new ItarazzoIllegalStateException("Tried to resolved nested key path %s but got null".formatted(nestedKeyPath));
-            }
-        }
-        return null;
+    public Object findResolved(final String expression) {
+        return expressionProvider.findResolved(expression);
     }
 
-    private void resolveJsonObject(final ObjectNode node) {
-        node.fields().forEachRemaining(entry -> {
-            JsonNode value = entry.getValue();
-            if (value.isTextual()) {
-                var resolved = resolveString(value.asText());
-                node.put(entry.getKey(), resolved);
-            } else if (value.isObject()) {
-                resolveJsonObject((ObjectNode) value);
-            } else if (value.isArray()) {
-                resolveJsonArray((ArrayNode) value);
-            }
-        });
+    private JsonNode resolveSourceDescription(final RuntimeExpression expression) {
+        if (expression.getKeys().isEmpty()) return null;
+        var sourceNode = specNodes.findSourceDescription(expression.getName());
+        if (Objects.isNull(sourceNode)) return null;
+        return ResolverUtils.getNestedValue(sourceNode, expression.getKeys(), expressionProvider);
     }
 
-    private void resolveJsonArray(final ArrayNode arrayNode) {
-        for (int i = 0; i < arrayNode.size(); i++) {
-            JsonNode value = arrayNode.get(i);
-            if (value.isTextual()) {
-                arrayNode.set(i, new TextNode(resolveString(value.asText())));
-            } else if (value.isObject()) {
-                resolveJsonObject((ObjectNode) value);
-            } else if (value.isArray()) {
-                resolveJsonArray((ArrayNode) value);
-            }
+    // steps and workflows resolve to text only, which may itself contain expressions
+    private JsonNode resolveNestedText(final JsonNode sourceNode, final RuntimeExpression expression) {
+        if (expression.getKeys().isEmpty() || Objects.isNull(sourceNode)) return null;
+        var resolved = ResolverUtils.getNestedValue(sourceNode, expression.getKeys(), expressionProvider);
+        if (Objects.nonNull(resolved) && resolved.isTextual()) {
+            return new TextNode(resolveString(resolved.asText()));
         }
+        throw new ItarazzoIllegalStateException("Tried to resolved nested key path %s but got null".formatted(expression.getKeyPath()));
     }
 }
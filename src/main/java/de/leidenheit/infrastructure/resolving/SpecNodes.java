@@ -0,0 +1,109 @@
+package de.leidenheit.infrastructure.resolving;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.leidenheit.core.model.ArazzoSpecification;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// tree representation of a specification as navigated by runtime expressions, indexed by workflowId, stepId and the
+// name of source descriptions, along with the templates and runtime expressions of its text; converted once per specification
+// and shared by every resolver of a run, so it must never be modified
+public class SpecNodes {
+
+    private final Map<String, JsonNode> steps;
+    private final Map<String, JsonNode> workflows;
+    private final Map<String, JsonNode> sourceDescriptions;
+    // compiled templates and expressions by their text, the latter whether bare or embedded as in
+    // 'Bearer {$steps.login.outputs.token}'
+    private final Map<String, StringTemplate> templates;
+    private final Map<String, RuntimeExpression> expressions;
+
+    private SpecNodes(final Map<String, JsonNode> steps,
+                      final Map<String, JsonNode> workflows,
+                      final Map<String, JsonNode> sourceDescriptions,
+                      final Map<String, StringTemplate> templates,
+                      final Map<String, RuntimeExpression> expressions) {
+        this.steps = steps;
+        this.workflows = workflows;
+        this.sourceDescriptions = sourceDescriptions;
+        this.templates = templates;
+        this.expressions = expressions;
+    }
+
+    public static SpecNodes of(final ArazzoSpecification arazzo, final ObjectMapper mapper) {
+        var steps = new HashMap<String, JsonNode>();
+        var workflows = new HashMap<String, JsonNode>();
+        var sourceDescriptions = new HashMap<String, JsonNode>();
+        var templates = new HashMap<String, StringTemplate>();
+        var expressions = new HashMap<String, RuntimeExpression>();
+        var sourceDescriptionNodes = mapper.convertValue(arazzo.getSourceDescriptions(), JsonNode.class);
+        var workflowNodes = mapper.convertValue(arazzo.getWorkflows(), JsonNode.class);
+        index(sourceDescriptionNodes, "name", sourceDescriptions);
+        index(workflowNodes, "workflowId", workflows);
+        arazzo.getWorkflows().forEach(workflow ->
+                index(mapper.convertValue(workflow.getSteps(), JsonNode.class), "stepId", steps));
+        // steps are part of their workflows, so their text is compiled along with them
+        compileTemplates(sourceDescriptionNodes, templates, expressions);
+        compileTemplates(workflowNodes, templates, expressions);
+        if (Objects.nonNull(arazzo.getComponents())) {
+            compileTemplates(mapper.convertValue(arazzo.getComponents(), JsonNode.class), templates, expressions);
+        }
+        return new SpecNodes(
+                Collections.unmodifiableMap(steps),
+                Collections.unmodifiableMap(workflows),
+                Collections.unmodifiableMap(sourceDescriptions),
+                Collections.unmodifiableMap(templates),
+                Collections.unmodifiableMap(expressions));
+    }
+
+    // null if no step has the id; step ids are only unique within their workflow, so the first one is found
+    public JsonNode findStep(final String stepId) {
+        return steps.get(stepId);
+    }
+
+    public JsonNode findWorkflow(final String workflowId) {
+        return workflows.get(workflowId);
+    }
+
+    public JsonNode findSourceDescription(final String name) {
+        return sourceDescriptions.get(name);
+    }
+
+    // null unless the text is part of the specification and contains an expression
+    public StringTemplate findTemplate(final String text) {
+        return templates.get(text);
+    }
+
+    // null unless the expression is part of the specification
+    public RuntimeExpression findExpression(final String expression) {
+        return expressions.get(expression);
+    }
+
+    private static void index(final JsonNode array, final String idField, final Map<String, JsonNode> index) {
+        Objects.requireNonNull(array);
+        for (var node : array) {
+            var id = node.get(idField);
+            if (Objects.isNull(id) || id.isNull()) continue;
+            index.putIfAbsent(id.asText(), node);
+        }
+    }
+
+    private static void compileTemplates(final JsonNode node,
+                                         final Map<String, StringTemplate> templates,
+                                         final Map<String, RuntimeExpression> expressions) {
+        if (Objects.isNull(node)) return;
+        if (node.isTextual()) {
+            var text = node.asText();
+            if (!text.contains("$") || templates.containsKey(text)) return;
+            var template = StringTemplate.of(text);
+            templates.put(text, template);
+            template.expressions().forEach(expression -> expressions.computeIfAbsent(expression, RuntimeExpression::compile));
+            return;
+        }
+        node.forEach(child -> compileTemplates(child, templates, expressions));
+    }
+}
@@ -0,0 +1,190 @@
+package de.leidenheit.infrastructure.resolving;
+
+import de.leidenheit.infrastructure.utils.XmlUtils;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+// absolute location paths without predicates, e.g., '/Envelope/Body/order/id' or '/order/@id', evaluated in a single
+// pass over a StAX reader instead of a DOM; names are matched as written, including their prefix. Immutable and
+// therefore thread-safe
+public class StreamingXPath {
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z_][\\w.\\-]*(?::[A-Za-z_][\\w.\\-]*)?");
+
+    private final String[] elementNames;
+    private final String attributeName; // null unless the path selects an attribute of its last element
+
+    private StreamingXPath(final String[] elementNames, final String attributeName) {
+        this.elementNames = elementNames;
+        this.attributeName = attributeName;
+    }
+
+    // null if the expression is not covered by the subset and has to be evaluated on a DOM
+    public static StreamingXPath compile(final String expression) {
+        if (Objects.isNull(expression)) return null;
+        var path = expression.trim();
+        if (!path.startsWith("/") || path.length() == 1) return null;
+
+        var steps = path.substring(1).split("/", -1);
+        String attributeName = null;
+        var last = steps[steps.length - 1];
+        if (last.startsWith("@")) {
+            attributeName = last.substring(1);
+            if (steps.length == 1 || !NAME_PATTERN.matcher(attributeName).matches()) return null;
+            steps = Arrays.copyOf(steps, steps.length - 1);
+        }
+        for (var step : steps) {
+            if (!NAME_PATTERN.matcher(step).matches()) return null;
+        }
+        return new StreamingXPath(steps, attributeName);
+    }
+
+    // string value of the first selected node in document order, or null if no node is selected
+    public String evaluate(final Reader reader) throws XMLStreamException {
+        var streamReader = XmlUtils.createStreamReader(reader);
+        try {
+            var depth = 0;
+            var matched = 0; // depth of the deepest element on the current branch that matches the path so far
+            while (streamReader.hasNext()) {
+                var event = streamReader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (matches(depth, matched, streamReader.getName())) {
+                        matched = depth;
+                        if (matched == elementNames.length) {
+                            if (Objects.isNull(attributeName)) return readTextContent(streamReader);
+                            var attributeValue = findAttributeValue(streamReader);
+                            if (Objects.nonNull(attributeValue)) return attributeValue;
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (matched == depth) matched--;
+                    depth--;
+                }
+            }
+            return null;
+        } finally {
+            streamReader.close();
+        }
+    }
+
+    // replaces the content of the first selected node as setting its text content on a DOM would, and returns the
+    // rewritten document; it is returned unchanged apart from its serialization if no node is selected
+    public String replace(final Reader reader, final String value) throws XMLStreamException {
+        var eventReader = XmlUtils.createEventReader(reader);
+        var eventFactory = XMLEventFactory.newInstance();
+        var writer = new StringWriter();
+        var eventWriter = XmlUtils.createEventWriter(writer);
+        try {
+            var depth = 0;
+            var matched = 0;
+            var replaced = false;
+            while (eventReader.hasNext()) {
+                var event = eventReader.nextEvent();
+                if (event.isStartElement()) {
+                    depth++;
+                    var startElement = event.asStartElement();
+                    if (!replaced && matches(depth, matched, startElement.getName())) {
+                        matched = depth;
+                        if (matched == elementNames.length) {
+                            if (Objects.isNull(attributeName)) {
+                                eventWriter.add(startElement);
+                                eventWriter.add(eventFactory.createCharacters(value));
+                                eventWriter.add(skipContent(eventReader));
+                                matched--;
+                                depth--;
+                                replaced = true;
+                                continue;
+                            }
+                            var rewritten = replaceAttribute(startElement, value, eventFactory);
+                            replaced = rewritten != startElement;
+                            event = rewritten;
+                        }
+                    }
+                } else if (event.isEndElement()) {
+                    if (matched == depth) matched--;
+                    depth--;
+                }
+                eventWriter.add(event);
+            }
+            eventWriter.flush();
+            return writer.toString();
+        } finally {
+            eventWriter.close();
+            eventReader.close();
+        }
+    }
+
+    private boolean matches(final int depth, final int matched, final QName name) {
+        return matched == depth - 1 && depth <= elementNames.length && elementNames[depth - 1].equals(qualifiedName(name));
+    }
+
+    private String findAttributeValue(final XMLStreamReader streamReader) {
+        for (int i = 0; i < streamReader.getAttributeCount(); i++) {
+            if (attributeName.equals(qualifiedName(streamReader.getAttributeName(i)))) return streamReader.getAttributeValue(i);
+        }
+        return null;
+    }
+
+    private StartElement replaceAttribute(final StartElement startElement, final String value, final XMLEventFactory eventFactory) {
+        var attributes = new ArrayList<Attribute>();
+        var found = false;
+        for (var iterator = startElement.getAttributes(); iterator.hasNext(); ) {
+            var attribute = iterator.next();
+            if (attributeName.equals(qualifiedName(attribute.getName()))) {
+                attributes.add(eventFactory.createAttribute(attribute.getName(), value));
+                found = true;
+            } else {
+                attributes.add(attribute);
+            }
+        }
+        if (!found) return startElement;
+        return eventFactory.createStartElement(startElement.getName(), attributes.iterator(), startElement.getNamespaces());
+    }
+
+    // text of all descendants, leaving the reader at the end of the current element
+    private static String readTextContent(final XMLStreamReader streamReader) throws XMLStreamException {
+        var textContent = new StringBuilder();
+        var nesting = 1;
+        while (nesting > 0) {
+            switch (streamReader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> nesting++;
+                case XMLStreamConstants.END_ELEMENT -> nesting--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                        textContent.append(streamReader.getText());
+                default -> {
+                    // comments and processing instructions do not contribute to the text content
+                }
+            }
+        }
+        return textContent.toString();
+    }
+
+    // skips the content of the current element and returns its end
+    private static XMLEvent skipContent(final XMLEventReader eventReader) throws XMLStreamException {
+        var nesting = 1;
+        while (true) {
+            var event = eventReader.nextEvent();
+            if (event.isStartElement()) nesting++;
+            if (event.isEndElement() && --nesting == 0) return event;
+        }
+    }
+
+    private static String qualifiedName(final QName name) {
+        return name.getPrefix().isEmpty() ? name.getLocalPart() : "%s:%s".formatted(name.getPrefix(), name.getLocalPart());
+    }
+}
@@ -0,0 +1,109 @@
+package de.leidenheit.infrastructure.resolving;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// a string with embedded expressions, e.g., 'Bearer {$steps.login.outputs.token}', or a bare expression such as
+// '$inputs.user'; anything else is a literal. Templates of a specification are compiled once per plan and held by its
+// SpecNodes; immutable and therefore shared by all resolvers
+public class StringTemplate implements Template {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String text;
+    // literals as String and expressions as Slot; null unless the text embeds expressions
+    private final List<Object> segments;
+    private final boolean bareExpression;
+    // the text is rendered up to the unmatched brace before failing, just as it was scanned before
+    private final boolean unmatched;
+
+    private StringTemplate(final String text, final List<Object> segments, final boolean bareExpression, final boolean unmatched) {
+        this.text = text;
+        this.segments = segments;
+        this.bareExpression = bareExpression;
+        this.unmatched = unmatched;
+    }
+
+    // compiled anew; templates that are rendered repeatedly are held by their owner, e.g., the payload of a step
+    public static StringTemplate of(final String text) {
+        return parse(text);
+    }
+
+    // true unless the text is rendered as is
+    public boolean hasExpressions() {
+        return Objects.nonNull(segments) || bareExpression;
+    }
+
+    // the expressions rendered by this template
+    List<String> expressions() {
+        if (bareExpression) return List.of(text);
+        if (Objects.isNull(segments)) return List.of();
+        return segments.stream()
+                .filter(Slot.class::isInstance)
+                .map(segment -> ((Slot) segment).expression())
+                .toList();
+    }
+
+    @Override
+    public void renderTo(final SpecExpressionResolver resolver, final StringBuilder target) {
+        if (Objects.nonNull(segments)) {
+            renderSegments(resolver, target);
+        } else if (bareExpression) {
+            var resolved = resolver.resolveExpression(text, null);
+            if (resolved.toString().contains("{")) {
+                try {
+                    target.append(MAPPER.writeValueAsString(resolved));
+                    return;
+                } catch (JsonProcessingException e) {
+                    throw new ItarazzoIllegalStateException(e);
+                }
+            }
+            target.append(resolved);
+        } else {
+            target.append(text);
+        }
+    }
+
+    private void renderSegments(final SpecExpressionResolver resolver, final StringBuilder target) {
+        for (var segment : segments) {
+            if (segment instanceof Slot slot) {
+                var resolved = resolver.resolveExpression(slot.expression(), null);
+                if (Objects.isNull(resolved)) throw new ItarazzoIllegalStateException(
+                        "Tried to resolve expression %s but got null".formatted(slot.expression()));
+                target.append(resolved instanceof TextNode textNode ? textNode.asText() : resolved);
+            } else {
+                target.append((String) segment);
+            }
+        }
+        if (unmatched) throw new IllegalArgumentException("Unmatched '{$' in expression: " + text);
+    }
+
+    private static StringTemplate parse(final String text) {
+        if (!text.contains("{$")) return new StringTemplate(text, null, text.contains("$"), false);
+
+        var segments = new ArrayList<>();
+        var start = 0;
+        while (start < text.length()) {
+            var openIndex = text.indexOf("{$", start);
+            if (openIndex == -1) {
+                segments.add(text.substring(start));
+                break;
+            }
+            if (openIndex > start) segments.add(text.substring(start, openIndex));
+            var closeIndex = text.indexOf('}', openIndex);
+            if (closeIndex == -1) return new StringTemplate(text, List.copyOf(segments), false, true);
+            segments.add(new Slot(text.substring(openIndex + 1, closeIndex)));
+            start = closeIndex + 1;
+        }
+        return new StringTemplate(text, List.copyOf(segments), false, false);
+    }
+
+    // an embedded expression; it is compiled by the resolver, which holds those of the specification precompiled
+    private record Slot(String expression) {}
+}
@@ -0,0 +1,13 @@
+package de.leidenheit.infrastructure.resolving;
+
+// text compiled once into literal segments and expression slots, so that rendering only resolves the slots
+public interface Template {
+
+    void renderTo(SpecExpressionResolver resolver, StringBuilder target);
+
+    default String render(final SpecExpressionResolver resolver) {
+        var target = new StringBuilder();
+        renderTo(resolver, target);
+        return target.toString();
+    }
+}
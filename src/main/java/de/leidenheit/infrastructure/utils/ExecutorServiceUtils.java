@@ -0,0 +1,182 @@
+package de.leidenheit.infrastructure.utils;
+
+import de.leidenheit.core.exception.ItarazzoInterruptException;
+import de.leidenheit.core.execution.ExecutionOptions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ExecutorServiceUtils {
+
+    public static ExecutorService newExecutorService(final ExecutionOptions options, final String threadNamePrefix) {
+        return switch (options.getThreadMode()) {
+            case PLATFORM -> newPlatformThreadExecutorService(options.getParallelism(), threadNamePrefix);
+            case VIRTUAL -> newVirtualThreadExecutorService(options.getParallelism(), threadNamePrefix);
+        };
+    }
+
+    // threads shared by all executions instead of a pool per caller; at most the given number of tasks of the returned
+    // executor run at the same time, the others are queued without holding a thread
+    public static Executor sharedExecutor(final ExecutionOptions.ThreadMode threadMode, final int maxConcurrency) {
+        var delegate = switch (threadMode) {
+            case PLATFORM -> SharedExecutors.PLATFORM;
+            case VIRTUAL -> SharedExecutors.VIRTUAL;
+        };
+        return new LimitedExecutor(delegate, Math.max(1, maxConcurrency));
+    }
+
+    public static ExecutorService newPlatformThreadExecutorService(final int maxConcurrency, final String threadNamePrefix) {
+        var threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, maxConcurrency), runnable -> {
+            var thread = new Thread(runnable, "%s-%d".formatted(threadNamePrefix, threadCounter.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // runs every task on its own virtual thread; falls back to platform threads on runtimes without virtual threads
+    public static ExecutorService newVirtualThreadExecutorService(final int maxConcurrency, final String threadNamePrefix) {
+        var virtualThreadExecutorService = tryCreateVirtualThreadPerTaskExecutor();
+        if (Objects.isNull(virtualThreadExecutorService)) {
+            log.warn("Virtual threads are not supported by the runtime {}: falling back to platform threads",
+                    Runtime.version());
+            return newPlatformThreadExecutorService(maxConcurrency, threadNamePrefix);
+        }
+        return new BoundedExecutorService(virtualThreadExecutorService, Math.max(1, maxConcurrency));
+    }
+
+    private static ExecutorService newCachedPlatformThreadExecutorService(final String threadNamePrefix) {
+        var threadCounter = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "%s-%d".formatted(threadNamePrefix, threadCounter.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static ExecutorService tryCreateVirtualThreadPerTaskExecutor() {
+        try {
+            // resolved reflectively as long as the library targets java 17
+            var factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    // created on first use and never shut down: idle platform threads terminate on their own, virtual threads are not
+    // pooled at all
+    private static class SharedExecutors {
+        private static final ExecutorService PLATFORM = newCachedPlatformThreadExecutorService("itarazzo-shared");
+        private static final ExecutorService VIRTUAL = Objects.requireNonNullElse(tryCreateVirtualThreadPerTaskExecutor(), PLATFORM);
+    }
+
+    // hands at most the given number of tasks to the delegate at the same time
+    private static class LimitedExecutor implements Executor {
+
+        private final Executor delegate;
+        private final int maxConcurrency;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger running = new AtomicInteger();
+
+        LimitedExecutor(final Executor delegate, final int maxConcurrency) {
+            this.delegate = delegate;
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            queue.add(command);
+            dispatch();
+        }
+
+        private void dispatch() {
+            while (!queue.isEmpty()) {
+                var current = running.get();
+                if (current >= maxConcurrency) return;
+                if (!running.compareAndSet(current, current + 1)) continue;
+                var task = queue.poll();
+                if (Objects.isNull(task)) {
+                    running.decrementAndGet();
+                    continue;
+                }
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        running.decrementAndGet();
+                        dispatch();
+                    }
+                });
+            }
+        }
+    }
+
+    // caps the number of concurrently running tasks; waiting tasks are parked on their own (virtual) thread
+    private static class BoundedExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        BoundedExecutorService(final ExecutorService delegate, final int maxConcurrency) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ItarazzoInterruptException(e);
+                }
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+
+    private ExecutorServiceUtils() {
+    }
+}
@@ -0,0 +1,40 @@
+package de.leidenheit.infrastructure.utils;
+
+import de.leidenheit.core.exception.ItarazzoIllegalArgumentException;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Objects;
+
+public class ExtensionUtils {
+
+    private ExtensionUtils() {}
+
+    // returns null if the extension is absent
+    public static Map<?, ?> findObjectExtension(final Map<String, Object> extensions, final String extension) {
+        if (Objects.isNull(extensions) || !extensions.containsKey(extension)) return null;
+        if (!(extensions.get(extension) instanceof Map<?, ?> objectExtension)) throw new ItarazzoIllegalArgumentException(
+                "Expected extension '%s' to be an object".formatted(extension));
+        return objectExtension;
+    }
+
+    public static Number toNumber(final Object key, final Object value) {
+        if (value instanceof Number number) return number;
+        try {
+            return Double.valueOf(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            throw new ItarazzoIllegalArgumentException("Expected '%s' to be a number but got '%s'".formatted(key, value), e);
+        }
+    }
+
+    // accepts ISO-8601 durations, e.g. PT30S, or a number of seconds
+    public static Duration toDuration(final Object key, final Object value) {
+        if (value instanceof Number number) return Duration.ofMillis((long) (number.doubleValue() * 1000));
+        try {
+            return Duration.parse(String.valueOf(value));
+        } catch (DateTimeParseException e) {
+            throw new ItarazzoIllegalArgumentException("Expected '%s' to be a duration but got '%s'".formatted(key, value), e);
+        }
+    }
+}
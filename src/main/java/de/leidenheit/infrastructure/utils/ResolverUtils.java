@@ -6,18 +6,32 @@ import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import de.leidenheit.core.exception.ItarazzoIllegalStateException;
 import de.leidenheit.infrastructure.resolving.ResolvedExpressionProvider;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class ResolverUtils {
 
     public static JsonNode getNestedValue(final JsonNode resolveNode, final String keyPath) {
-        String[] keys = keyPath.split("\\.");
+        return getNestedValue(resolveNode, keyPath, null);
+    }
+
+    public static JsonNode getNestedValue(final JsonNode resolveNode,
+                                          final String keyPath,
+                                          final ResolvedExpressionProvider expressionProvider) {
+        return getNestedValue(resolveNode, List.of(keyPath.split("\\.")), expressionProvider);
+    }
+
+    // keys as split by a compiled runtime expression
+    public static JsonNode getNestedValue(final JsonNode resolveNode,
+                                          final List<String> keys,
+                                          final ResolvedExpressionProvider expressionProvider) {
         JsonNode currentNode = resolveNode;
         for (String key : keys) {
             if (currentNode.has(key)) {
                 currentNode = currentNode.get(key);
-                if (currentNode.asText().contains("$")) {
-                    var resolved = ResolvedExpressionProvider.getInstance().findResolved(currentNode.asText());
+                if (Objects.nonNull(expressionProvider) && currentNode.asText().contains("$")) {
+                    var resolved = expressionProvider.findResolved(currentNode.asText());
                     currentNode = parseNestedNode(resolved.toString());
                 }
             } else {
@@ -41,7 +55,10 @@ public class ResolverUtils {
     }
 
     public static Object getNestedValue(final Map<String, Object> resolveMap, final String keyPath) {
-        String[] keys = keyPath.split("\\.");
+        return getNestedValue(resolveMap, List.of(keyPath.split("\\.")));
+    }
+
+    public static Object getNestedValue(final Map<String, Object> resolveMap, final List<String> keys) {
         Object current = resolveMap;
         for (String key : keys) {
             if (current instanceof Map) {
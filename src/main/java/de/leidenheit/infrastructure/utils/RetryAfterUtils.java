@@ -0,0 +1,41 @@
+package de.leidenheit.infrastructure.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+@Slf4j
+public class RetryAfterUtils {
+
+    private RetryAfterUtils() {}
+
+    public static Duration parseRetryAfter(final String retryAfter) {
+        return parseRetryAfter(retryAfter, Clock.systemUTC());
+    }
+
+    // accepts delay-seconds, e.g. '120', or an HTTP-date, e.g. 'Wed, 21 Oct 2015 07:28:00 GMT'; returns null if invalid
+    public static Duration parseRetryAfter(final String retryAfter, final Clock clock) {
+        if (Objects.isNull(retryAfter) || retryAfter.isBlank()) return null;
+        var value = retryAfter.trim();
+        try {
+            var seconds = new BigDecimal(value);
+            return seconds.signum() < 0 ? Duration.ZERO : Duration.ofMillis(seconds.movePointRight(3).longValue());
+        } catch (NumberFormatException e) {
+            // not a number of seconds, so it has to be an HTTP-date
+        }
+        try {
+            var retryAt = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            var delay = Duration.between(clock.instant(), retryAt);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            log.warn("Ignoring invalid header 'Retry-After': value='{}'", retryAfter);
+            return null;
+        }
+    }
+}
@@ -21,29 +21,32 @@ import java.util.stream.IntStream;
 public class WorkflowSorterUtils {
 
     public static void sortByDependencies(final ArazzoSpecification arazzo) {
+        var result = sortTopological(arazzo.getWorkflows());
+        log.info("Workflows have been sorted into the following execution order:\n{}",
+                IntStream.range(0, result.size())
+                        .mapToObj(index -> "%d: %s depends on: %s".formatted(
+                                index + 1,
+                                result.get(index).getWorkflowId(),
+                                result.get(index).getDependsOn()))
+                        .collect(Collectors.joining("\n")));
+        arazzo.setWorkflows(result);
+    }
 
+    public static List<Workflow> sortTopological(final List<Workflow> workflows) {
         var result = new ArrayList<Workflow>();
         var workflowMap = new LinkedHashMap<String, Workflow>();
         var visitedWorkflows = new HashSet<String>();
         var recursionStack = new ArrayDeque<String>();
 
-        for (Workflow workflow : arazzo.getWorkflows()) {
+        for (Workflow workflow : workflows) {
             workflowMap.put(workflow.getWorkflowId(), workflow);
         }
 
-        for (Workflow workflow : arazzo.getWorkflows()) {
+        for (Workflow workflow : workflows) {
             if (visitedWorkflows.contains(workflow.getWorkflowId())) continue;
             sortTopological(workflow, visitedWorkflows, recursionStack, result, workflowMap);
         }
-
-        log.info("Workflows have been sorted into the following execution order:\n{}",
-                IntStream.range(0, result.size())
-                        .mapToObj(index -> "%d: %s depends on: %s".formatted(
-                                index + 1,
-                                result.get(index).getWorkflowId(),
-                                result.get(index).getDependsOn()))
-                        .collect(Collectors.joining("\n")));
-        arazzo.setWorkflows(result);
+        return result;
     }
 
     private static void sortTopological(final Workflow currentWorkflow,
@@ -64,6 +67,10 @@ public class WorkflowSorterUtils {
                     throw new ItarazzoIllegalStateException("Unexpected cyclic dependency");
                 }
                 if (visitedWorkflows.contains(dependency)) continue;
+                if (!workflowMap.containsKey(dependency)) {
+                    log.error("Unknown dependency detected: workflowId={} dependsOn={}", workflowId, dependency);
+                    throw new ItarazzoIllegalStateException("Unexpected unknown dependency");
+                }
                 sortTopological(workflowMap.get(dependency), visitedWorkflows, recursionStack, sortedWorkflows, workflowMap);
             }
         }
@@ -0,0 +1,96 @@
+package de.leidenheit.infrastructure.utils;
+
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+// factories are created once; the StAX factories are shared since they are not modified after their configuration,
+// whereas builders, XPaths and transformers are not thread-safe and therefore kept per thread
+public class XmlUtils {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = ThreadLocal.withInitial(XmlUtils::createDocumentBuilder);
+    private static final ThreadLocal<XPath> XPATH = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+    private static final ThreadLocal<Transformer> TRANSFORMER = ThreadLocal.withInitial(XmlUtils::createTransformer);
+
+    private XmlUtils() {}
+
+    public static Document parseDocument(final InputSource inputSource) throws IOException, SAXException {
+        var documentBuilder = DOCUMENT_BUILDER.get();
+        documentBuilder.reset();
+        return documentBuilder.parse(inputSource);
+    }
+
+    public static XPath getXPath() {
+        var xpath = XPATH.get();
+        xpath.reset();
+        return xpath;
+    }
+
+    public static String toString(final Document document) throws TransformerException {
+        var transformer = TRANSFORMER.get();
+        transformer.reset();
+        var writer = new StringWriter();
+        transformer.transform(new DOMSource(document), new StreamResult(writer));
+        return writer.toString();
+    }
+
+    public static XMLStreamReader createStreamReader(final Reader reader) throws XMLStreamException {
+        return XML_INPUT_FACTORY.createXMLStreamReader(reader);
+    }
+
+    public static XMLEventReader createEventReader(final Reader reader) throws XMLStreamException {
+        return XML_INPUT_FACTORY.createXMLEventReader(reader);
+    }
+
+    public static XMLEventWriter createEventWriter(final Writer writer) throws XMLStreamException {
+        return XML_OUTPUT_FACTORY.createXMLEventWriter(writer);
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        var xmlInputFactory = XMLInputFactory.newInstance();
+        // adjacent text and CDATA are reported as a whole, just as the text content of a DOM node
+        xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return xmlInputFactory;
+    }
+
+    private static DocumentBuilder createDocumentBuilder() {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new ItarazzoIllegalStateException(e);
+        }
+    }
+
+    private static Transformer createTransformer() {
+        try {
+            return TransformerFactory.newInstance().newTransformer();
+        } catch (TransformerConfigurationException e) {
+            throw new ItarazzoIllegalStateException(e);
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package de.leidenheit.integration;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import de.leidenheit.core.exception.ItarazzoDependencyFailedException;
+import de.leidenheit.core.execution.ExecutionOptions;
 import de.leidenheit.core.execution.WorkflowExecutor;
+import de.leidenheit.core.execution.WorkflowScheduler;
+import de.leidenheit.core.execution.plan.ExecutionPlan;
 import de.leidenheit.core.model.ArazzoSpecification;
 import de.leidenheit.core.model.Workflow;
 import de.leidenheit.infrastructure.io.InputsReader;
+import de.leidenheit.infrastructure.resolving.ResolvedExpressionProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DynamicTest;
 import org.opentest4j.TestAbortedException;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
@@ -17,20 +25,52 @@ import java.util.stream.Stream;
 public class ItarazzoDynamicTest {
 
     private final AtomicBoolean shouldInterrupt = new AtomicBoolean(false);
+    private final ExecutionOptions executionOptions;
+
+    public ItarazzoDynamicTest() {
+        this(ExecutionOptions.ofDefault());
+    }
+
+    public ItarazzoDynamicTest(final ExecutionOptions executionOptions) {
+        this.executionOptions = executionOptions;
+    }
 
     public Stream<DynamicTest> generateWorkflowTests(final ArazzoSpecification arazzo, final JsonNode arazzoInputs) {
+        var plan = ExecutionPlan.compile(arazzo);
+        var runScope = ResolvedExpressionProvider.createRoot(executionOptions.getSpillThreshold());
+        // connection pools of the step executors are released once the tests were run
         return arazzo.getWorkflows().stream()
-                .map(workflow -> createDynamicTestForWorkflow(arazzo, workflow, arazzoInputs));
+                .map(workflow -> createDynamicTestForWorkflow(plan, workflow, arazzoInputs, runScope))
+                .onClose(executionOptions.getStepExecutorFactory()::close);
     }
 
-    private DynamicTest createDynamicTestForWorkflow(final ArazzoSpecification arazzo,
+    public Stream<DynamicTest> generateScheduledWorkflowTests(final ArazzoSpecification arazzo, final JsonNode arazzoInputs) {
+        // inputs are validated upfront so that nothing gets scheduled for an invalid set of inputs
+        var workflowInputs = new HashMap<String, Map<String, Object>>();
+        arazzo.getWorkflows().forEach(workflow -> workflowInputs.put(workflow.getWorkflowId(),
+                InputsReader.parseAndValidateInputs(arazzo, arazzoInputs, workflow.getInputs())));
+
+        var plan = ExecutionPlan.compile(arazzo);
+        var runScope = ResolvedExpressionProvider.createRoot(executionOptions.getSpillThreshold());
+        var scheduler = new WorkflowScheduler(executionOptions);
+        var scheduledWorkflows = scheduler.scheduleAsync(arazzo, (workflow, executor) ->
+                new WorkflowExecutor(plan, workflowInputs.get(workflow.getWorkflowId()), runScope, executionOptions)
+                        .executeWorkflowAsync(workflow, executor));
+
+        return scheduledWorkflows.entrySet().stream()
+                .map(entry -> DynamicTest.dynamicTest("%s".formatted(entry.getKey()), () ->
+                        awaitScheduledWorkflow(entry.getKey(), entry.getValue())));
+    }
+
+    private DynamicTest createDynamicTestForWorkflow(final ExecutionPlan plan,
                                                      final Workflow workflow,
-                                                     final JsonNode arazzoInputs) {
-        var workflowInputs = InputsReader.parseAndValidateInputs(arazzo, arazzoInputs, workflow.getInputs());
+                                                     final JsonNode arazzoInputs,
+                                                     final ResolvedExpressionProvider runScope) {
+        var workflowInputs = InputsReader.parseAndValidateInputs(plan.getArazzo(), arazzoInputs, workflow.getInputs());
         return DynamicTest.dynamicTest("%s".formatted(workflow.getWorkflowId()), () -> {
             if (shouldInterrupt.get()) throw new TestAbortedException("Aborted due to previous failure");
             try {
-                executeWorkflow(arazzo, workflow, workflowInputs);
+                executeWorkflow(plan, workflow, workflowInputs, runScope);
             } catch (Exception e) {
                 shouldInterrupt.set(true);
                 log.error("Interrupting execution due to exception: {}", e.getMessage());
@@ -39,10 +79,25 @@ public class ItarazzoDynamicTest {
         });
     }
 
-    private void executeWorkflow(final ArazzoSpecification arazzo,
+    private void awaitScheduledWorkflow(final String workflowId,
+                                        final CompletableFuture<Void> scheduledWorkflow) throws Throwable {
+        try {
+            scheduledWorkflow.join();
+        } catch (CompletionException e) {
+            var cause = WorkflowScheduler.unwrap(e);
+            if (cause instanceof ItarazzoDependencyFailedException) {
+                throw new TestAbortedException(cause.getMessage());
+            }
+            log.error("Workflow '{}' failed due to exception: {}", workflowId, cause.getMessage());
+            throw cause;
+        }
+    }
+
+    private void executeWorkflow(final ExecutionPlan plan,
                                  final Workflow workflow,
-                                 final Map<String, Object> inputs) {
-        var executor = new WorkflowExecutor(arazzo, inputs);
+                                 final Map<String, Object> inputs,
+                                 final ResolvedExpressionProvider runScope) {
+        var executor = new WorkflowExecutor(plan, inputs, runScope, executionOptions);
         executor.executeWorkflow(workflow);
     }
 }
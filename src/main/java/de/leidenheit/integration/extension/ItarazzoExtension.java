@@ -2,6 +2,7 @@ package de.leidenheit.integration.extension;
 
 import com.google.common.base.Strings;
 import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import de.leidenheit.core.execution.ExecutionOptions;
 import de.leidenheit.core.model.ArazzoSpecification;
 import de.leidenheit.infrastructure.parsing.ParseOptions;
 import de.leidenheit.infrastructure.parsing.Parser;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.junit.jupiter.api.extension.ParameterResolver;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -25,6 +27,10 @@ public class ItarazzoExtension implements BeforeAllCallback, ParameterResolver {
 
     private static final String PROPERTY_ARAZZO_FILE = "arazzo.file";
     private static final String PROPERTY_ARAZZO_INPUTS_FILE = "arazzo-inputs.file";
+    private static final String PROPERTY_ARAZZO_PARALLELISM = "arazzo.parallelism";
+    private static final String PROPERTY_ARAZZO_THREAD_MODE = "arazzo.thread-mode";
+    private static final String PROPERTY_ARAZZO_PARALLEL_STEPS = "arazzo.parallel-steps";
+    private static final String PROPERTY_ARAZZO_SPILL_THRESHOLD = "arazzo.spill-threshold";
 
     private final Map<Class<?>, Object> supportedParameterTypes = new HashMap<>();
 
@@ -32,6 +38,7 @@ public class ItarazzoExtension implements BeforeAllCallback, ParameterResolver {
     public void beforeAll(final ExtensionContext context) {
         readAndProvideInputs();
         readAndProvideArazzoSpecification();
+        readAndProvideExecutionOptions();
     }
 
     @Override
@@ -71,6 +78,34 @@ public class ItarazzoExtension implements BeforeAllCallback, ParameterResolver {
         supportedParameterTypes.put(ArazzoSpecification.class, arazzo);
     }
 
+    private void readAndProvideExecutionOptions() {
+        var executionOptions = ExecutionOptions.ofDefault();
+        readFromSystemProperties(PROPERTY_ARAZZO_PARALLELISM).ifPresent(parallelism -> {
+            try {
+                executionOptions.setParallelism(Integer.parseInt(parallelism));
+            } catch (NumberFormatException e) {
+                throw new ItarazzoIllegalStateException("Invalid parallelism: %s".formatted(parallelism), e);
+            }
+        });
+        readFromSystemProperties(PROPERTY_ARAZZO_THREAD_MODE).ifPresent(threadMode ->
+                executionOptions.setThreadMode(Arrays.stream(ExecutionOptions.ThreadMode.values())
+                        .filter(mode -> mode.getValue().equalsIgnoreCase(threadMode))
+                        .findFirst()
+                        .orElseThrow(() -> new ItarazzoIllegalStateException("Invalid thread mode: %s"
+                                .formatted(threadMode)))));
+        readFromSystemProperties(PROPERTY_ARAZZO_PARALLEL_STEPS).ifPresent(parallelSteps ->
+                executionOptions.setParallelSteps(Boolean.parseBoolean(parallelSteps)));
+        readFromSystemProperties(PROPERTY_ARAZZO_SPILL_THRESHOLD).ifPresent(spillThreshold -> {
+            try {
+                executionOptions.setSpillThreshold(Long.parseLong(spillThreshold));
+            } catch (NumberFormatException e) {
+                throw new ItarazzoIllegalStateException("Invalid spill threshold: %s".formatted(spillThreshold), e);
+            }
+        });
+
+        supportedParameterTypes.put(ExecutionOptions.class, executionOptions);
+    }
+
     private ArazzoSpecification loadArazzoFromPath(final String pathOfArazzo) {
         // TODO handle options from external source
 
@@ -0,0 +1,122 @@
+package de.leidenheit.core.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import de.leidenheit.core.execution.plan.ExecutionPlan;
+import de.leidenheit.core.model.ArazzoSpecification;
+import de.leidenheit.core.model.Criterion;
+import de.leidenheit.core.model.Parameter;
+import de.leidenheit.core.model.SourceDescription;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.core.model.Workflow;
+import de.leidenheit.infrastructure.evaluation.CriterionEvaluator;
+import de.leidenheit.infrastructure.resolving.ResolvedExpressionProvider;
+import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.servers.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+class HttpClientStepExecutorTest {
+
+    private final ConcurrentLinkedQueue<String> receivedRequests = new ConcurrentLinkedQueue<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            receivedRequests.add("%s %s %s".formatted(
+                    exchange.getRequestMethod(),
+                    exchange.getRequestURI().getRawPath(),
+                    exchange.getRequestURI().getRawQuery()));
+            var body = "{\"name\":\"%s\"}".formatted(exchange.getRequestHeaders().getFirst("X-Name"))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldSendParametersAndResolveOutputsOfResponse() {
+        // given
+        var step = Step.builder()
+                .stepId("fetch")
+                .operationPath("{$sourceDescriptions.api.url}#/paths/~1items~1{id}/get")
+                .parameters(List.of(
+                        Parameter.builder().name("id").in(Parameter.ParameterIn.PATH).value("4 2").build(),
+                        Parameter.builder().name("filter").in(Parameter.ParameterIn.QUERY).value("a&b").build(),
+                        Parameter.builder().name("X-Name").in(Parameter.ParameterIn.HEADER).value("hugo").build()))
+                .successCriteria(List.of(Criterion.builder().condition("$statusCode == 200").build()))
+                .outputs(Map.of("name", "$response.body#/name"))
+                .build();
+        var workflow = Workflow.builder().workflowId("workflow").steps(List.of(step)).build();
+        var arazzo = arazzoOf(workflow);
+        var resolver = new SpecExpressionResolver(arazzo, Map.of(), ResolvedExpressionProvider.createRoot());
+        var underTest = HttpClientStepExecutorFactory.ofDefault()
+                .create(ExecutionPlan.compile(arazzo), new CriterionEvaluator(resolver, new ObjectMapper()), resolver);
+
+        // when
+        var executionResult = underTest.executeStepAsync(workflow, step).toCompletableFuture().join();
+
+        // then
+        Assertions.assertTrue(executionResult.isSuccessful());
+        Assertions.assertEquals(List.of("GET /items/4%202 filter=a%26b"), List.copyOf(receivedRequests));
+        Assertions.assertEquals("hugo", resolver.resolveExpression("$steps.fetch.outputs.name", null));
+    }
+
+    @Test
+    void shouldRecordTimingsAndSizesOfExchange() {
+        // given
+        var step = Step.builder()
+                .stepId("fetch")
+                .operationPath("{$sourceDescriptions.api.url}#/paths/~1items/get")
+                .parameters(List.of(Parameter.builder().name("X-Name").in(Parameter.ParameterIn.HEADER).value("hugo").build()))
+                .successCriteria(List.of(Criterion.builder().condition("$statusCode == 200").build()))
+                .outputs(Map.of("name", "$response.body#/name"))
+                .build();
+        var workflow = Workflow.builder().workflowId("workflow").steps(List.of(step)).build();
+        var arazzo = arazzoOf(workflow);
+        var resolver = new SpecExpressionResolver(arazzo, Map.of(), ResolvedExpressionProvider.createRoot());
+        var underTest = HttpClientStepExecutorFactory.ofDefault()
+                .create(ExecutionPlan.compile(arazzo), new CriterionEvaluator(resolver, new ObjectMapper()), resolver);
+
+        // when
+        var timings = underTest.executeStepAsync(workflow, step).toCompletableFuture().join().getTimings();
+
+        // then
+        Assertions.assertNotNull(timings.getRequestBuilding());
+        Assertions.assertNotNull(timings.getTimeToFirstByte());
+        Assertions.assertNotNull(timings.getBodyDownload());
+        Assertions.assertNotNull(timings.getCriteriaEvaluation());
+        Assertions.assertNotNull(timings.getOutputResolution());
+        Assertions.assertNull(timings.getTlsHandshake());
+        Assertions.assertEquals(0, timings.getRequestSize());
+        Assertions.assertEquals("{\"name\":\"hugo\"}".length(), timings.getResponseSize());
+    }
+
+    private ArazzoSpecification arazzoOf(final Workflow workflow) {
+        var openAPI = new OpenAPI().servers(List.of(new Server().url("http://localhost:%d".formatted(server.getAddress().getPort()))));
+        return ArazzoSpecification.builder()
+                .sourceDescriptions(List.of(SourceDescription.builder().name("api").referencedOpenAPI(openAPI).build()))
+                .workflows(List.of(workflow))
+                .build();
+    }
+}
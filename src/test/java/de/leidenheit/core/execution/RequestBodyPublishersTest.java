@@ -0,0 +1,88 @@
+package de.leidenheit.core.execution;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+class RequestBodyPublishersTest {
+
+    @Test
+    void shouldStreamEncodedTextWithItsContentLength() {
+        // given
+        var text = "{\"name\": \"Crème brûlée 🍪\"}".repeat(5000);
+        var expected = text.getBytes(StandardCharsets.UTF_8);
+
+        // when
+        var underTest = RequestBodyPublishers.ofText(text, StandardCharsets.UTF_8);
+
+        // then
+        Assertions.assertEquals(expected.length, underTest.contentLength());
+        Assertions.assertArrayEquals(expected, collect(underTest));
+    }
+
+    @Test
+    void shouldCountEncodedLengthWithoutEncoding() {
+        // given
+        var text = "a\u00e9\u20ac\uD83C\uDF6A\uD800b";
+
+        // when & then
+        Assertions.assertEquals(text.getBytes(StandardCharsets.UTF_8).length,
+                RequestBodyPublishers.encodedLength(text, StandardCharsets.UTF_8));
+        Assertions.assertEquals(text.getBytes(StandardCharsets.ISO_8859_1).length,
+                RequestBodyPublishers.encodedLength(text, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void shouldStreamTextOfMultiByteCharsetWithoutContentLength() {
+        // given
+        var text = "Crème brûlée";
+
+        // when
+        var underTest = RequestBodyPublishers.ofText(text, StandardCharsets.UTF_16);
+
+        // then
+        Assertions.assertEquals(-1, underTest.contentLength());
+        Assertions.assertArrayEquals(text.getBytes(StandardCharsets.UTF_16), collect(underTest));
+    }
+
+    @Test
+    void shouldSendEmptyTextWithoutBody() {
+        Assertions.assertEquals(0, RequestBodyPublishers.ofText("", StandardCharsets.UTF_8).contentLength());
+    }
+
+    private static byte[] collect(final HttpRequest.BodyPublisher publisher) {
+        var result = new CompletableFuture<byte[]>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private final ByteArrayOutputStream collected = new ByteArrayOutputStream();
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final ByteBuffer item) {
+                var chunk = new byte[item.remaining()];
+                item.get(chunk);
+                collected.writeBytes(chunk);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(collected.toByteArray());
+            }
+        });
+        return result.join();
+    }
+}
@@ -0,0 +1,43 @@
+package de.leidenheit.core.execution;
+
+import de.leidenheit.core.execution.pool.ConnectionPoolOptions;
+import de.leidenheit.core.model.SourceDescription;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class RestAssuredStepExecutorFactoryTest {
+
+    @Test
+    void shouldPoolOnlySourceDescriptionsThatOptIn() {
+        // given
+        var plain = SourceDescription.builder().name("plain").build();
+        var pooled = SourceDescription.builder().name("pooled")
+                .extensions(Map.of(ConnectionPoolOptions.CONNECTION_POOL_EXTENSION, Map.of("maxConnectionsPerRoute", 5)))
+                .build();
+
+        try (var underTest = RestAssuredStepExecutorFactory.ofDefault()) {
+            // when & then
+            Assertions.assertNull(underTest.getConnectionPool(plain));
+            Assertions.assertEquals(5, underTest.getConnectionPool(pooled).getOptions().getMaxConnectionsPerRoute());
+            Assertions.assertEquals(1, underTest.getConnectionPoolStats().size());
+        }
+    }
+
+    @Test
+    void shouldPoolEverySourceDescriptionAndReopenAfterClose() {
+        // given
+        var underTest = RestAssuredStepExecutorFactory.ofPooled(ConnectionPoolOptions.ofDefault());
+        var plain = SourceDescription.builder().name("plain").build();
+        var connectionPool = underTest.getConnectionPool(plain);
+
+        // when
+        underTest.close();
+
+        // then
+        Assertions.assertTrue(underTest.getConnectionPoolStats().isEmpty());
+        Assertions.assertNotSame(connectionPool, underTest.getConnectionPool(plain));
+        underTest.close();
+    }
+}
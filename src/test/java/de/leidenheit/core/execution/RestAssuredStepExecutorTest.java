@@ -1,7 +1,88 @@
 package de.leidenheit.core.execution;
 
-import static org.junit.jupiter.api.Assertions.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import de.leidenheit.core.execution.plan.ExecutionPlan;
+import de.leidenheit.core.model.ArazzoSpecification;
+import de.leidenheit.core.model.Criterion;
+import de.leidenheit.core.model.RequestBody;
+import de.leidenheit.core.model.SourceDescription;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.core.model.Workflow;
+import de.leidenheit.infrastructure.evaluation.CriterionEvaluator;
+import de.leidenheit.infrastructure.resolving.ResolvedExpressionProvider;
+import de.leidenheit.infrastructure.resolving.SpecExpressionResolver;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.servers.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 class RestAssuredStepExecutorTest {
 
-}
\ No newline at end of file
+    private final ConcurrentLinkedQueue<String> receivedRequests = new ConcurrentLinkedQueue<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            var body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            receivedRequests.add("%s %s %s %s".formatted(
+                    exchange.getRequestHeaders().getFirst("Content-Type"),
+                    exchange.getRequestHeaders().getFirst("Content-Length"),
+                    exchange.getRequestHeaders().getFirst("Transfer-Encoding"),
+                    body));
+            exchange.sendResponseHeaders(201, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldStreamTextBodyWithItsContentLength() {
+        // given
+        var payload = "{\"name\":\"Crème brûlée 🍪\"}";
+        var step = Step.builder()
+                .stepId("create")
+                .operationPath("{$sourceDescriptions.api.url}#/paths/~1items/post")
+                .requestBody(RequestBody.builder().contentType("application/json; charset=UTF-8").payload(payload).build())
+                .successCriteria(List.of(Criterion.builder().condition("$statusCode == 201").build()))
+                .build();
+        var workflow = Workflow.builder().workflowId("workflow").steps(List.of(step)).build();
+        var arazzo = arazzoOf(workflow);
+        var resolver = new SpecExpressionResolver(arazzo, Map.of(), ResolvedExpressionProvider.createRoot());
+        var underTest = RestAssuredStepExecutorFactory.ofDefault()
+                .create(ExecutionPlan.compile(arazzo), new CriterionEvaluator(resolver, new ObjectMapper()), resolver);
+
+        // when
+        var executionResult = underTest.executeStep(workflow, step);
+
+        // then
+        Assertions.assertTrue(executionResult.isSuccessful());
+        Assertions.assertEquals(
+                List.of("application/json; charset=UTF-8 %d null %s".formatted(payload.getBytes(StandardCharsets.UTF_8).length, payload)),
+                List.copyOf(receivedRequests));
+    }
+
+    private ArazzoSpecification arazzoOf(final Workflow workflow) {
+        var openAPI = new OpenAPI().servers(List.of(new Server().url("http://localhost:%d".formatted(server.getAddress().getPort()))));
+        return ArazzoSpecification.builder()
+                .sourceDescriptions(List.of(SourceDescription.builder().name("api").referencedOpenAPI(openAPI).build()))
+                .workflows(List.of(workflow))
+                .build();
+    }
+}
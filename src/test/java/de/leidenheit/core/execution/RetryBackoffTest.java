@@ -0,0 +1,36 @@
+package de.leidenheit.core.execution;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+class RetryBackoffTest {
+
+    @Test
+    void shouldGrowDelayExponentiallyUpToMaxDelay() {
+        // given
+        var backoff = RetryBackoff.ofExtensions(Map.of(RetryBackoff.BACKOFF_EXTENSION, Map.of(
+                "multiplier", 2,
+                "maxDelay", "PT5S")));
+
+        // when & then
+        Assertions.assertEquals(Duration.ofSeconds(1), backoff.delayOf(Duration.ofSeconds(1), 1));
+        Assertions.assertEquals(Duration.ofSeconds(4), backoff.delayOf(Duration.ofSeconds(1), 3));
+        Assertions.assertEquals(Duration.ofSeconds(5), backoff.delayOf(Duration.ofSeconds(1), 4));
+    }
+
+    @Test
+    void shouldKeepDelayWithinJitterRange() {
+        // given
+        var backoff = RetryBackoff.ofExtensions(Map.of(RetryBackoff.BACKOFF_EXTENSION, Map.of("jitter", 0.5)));
+
+        // when
+        var result = backoff.delayOf(Duration.ofSeconds(10), 1);
+
+        // then
+        Assertions.assertTrue(result.compareTo(Duration.ofSeconds(5)) >= 0);
+        Assertions.assertTrue(result.compareTo(Duration.ofSeconds(10)) <= 0);
+    }
+}
@@ -1,7 +1,179 @@
 package de.leidenheit.core.execution;
 
-import static org.junit.jupiter.api.Assertions.*;
+import de.leidenheit.core.execution.context.ExecutionResultContext;
+import de.leidenheit.core.model.ArazzoSpecification;
+import de.leidenheit.core.model.FailureAction;
+import de.leidenheit.core.model.SourceDescription;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.core.model.SuccessAction;
+import de.leidenheit.core.model.Workflow;
+import de.leidenheit.infrastructure.resolving.ResolvedExpressionProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 class WorkflowExecutorTest {
 
-}
\ No newline at end of file
+    @Test
+    void shouldExecuteStepsOfAsyncStepExecutorInOrder() {
+        // given
+        var executedSteps = new ConcurrentLinkedQueue<String>();
+        var asyncStepExecutor = new AsyncStepExecutor(step -> {
+            executedSteps.add(step.getStepId());
+            return successful();
+        });
+        var workflow = workflow(step("first"), step("second"));
+        var executor = Executors.newSingleThreadExecutor();
+
+        // when
+        try {
+            new WorkflowExecutor(arazzoOf(workflow), Map.of(), ResolvedExpressionProvider.createRoot(), optionsOf(asyncStepExecutor))
+                    .executeWorkflowAsync(workflow, executor)
+                    .get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            Assertions.fail(e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        Assertions.assertEquals(List.of("first", "second"), List.copyOf(executedSteps));
+    }
+
+    @Test
+    void shouldRetryWithoutBlockingTheExecutor() {
+        // given
+        var attempts = new AtomicInteger();
+        var retry = FailureAction.builder()
+                .name("retry")
+                .type(FailureAction.FailureActionType.RETRY)
+                .retryAfter(new BigDecimal("0.05"))
+                .retryLimit(3)
+                .build();
+        var asyncStepExecutor = new AsyncStepExecutor(step -> attempts.incrementAndGet() < 3
+                ? ExecutionResultContext.builder().successful(false).failureAction(retry).build()
+                : successful());
+        var workflow = workflow(step("polling"));
+        var executor = Executors.newSingleThreadExecutor();
+
+        // when
+        try {
+            var execution = new WorkflowExecutor(arazzoOf(workflow), Map.of(), ResolvedExpressionProvider.createRoot(), optionsOf(asyncStepExecutor))
+                    .executeWorkflowAsync(workflow, executor);
+            // the only worker stays available while the execution waits for its retries
+            Assertions.assertTrue(CompletableFuture.supplyAsync(() -> true, executor).get(1, TimeUnit.SECONDS));
+            execution.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            Assertions.fail(e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void shouldRetryTargetOfGotoWorkflowWithoutBlockingTheExecutor() {
+        // given
+        var attempts = new AtomicInteger();
+        var retry = FailureAction.builder()
+                .name("retry")
+                .type(FailureAction.FailureActionType.RETRY)
+                .retryAfter(new BigDecimal("0.05"))
+                .retryLimit(3)
+                .build();
+        var gotoPolling = SuccessAction.builder()
+                .name("gotoPolling")
+                .type(SuccessAction.SuccessActionType.GOTO)
+                .workflowId("polling")
+                .build();
+        var executor = Executors.newSingleThreadExecutor();
+        // steps complete on the only worker, so an execution blocking it would never finish
+        var asyncStepExecutor = new AsyncStepExecutor(step -> switch (step.getStepId()) {
+            case "start" -> ExecutionResultContext.builder().successful(true).successAction(gotoPolling).build();
+            case "poll" -> attempts.incrementAndGet() < 3
+                    ? ExecutionResultContext.builder().successful(false).failureAction(retry).build()
+                    : successful();
+            default -> throw new IllegalStateException("Unexpected step: " + step.getStepId());
+        }, executor);
+        var workflow = workflow(step("start"), step("skipped"));
+        var pollingWorkflow = Workflow.builder().workflowId("polling").steps(List.of(step("poll"))).build();
+        var arazzo = ArazzoSpecification.builder()
+                .sourceDescriptions(List.of(SourceDescription.builder().name("api").build()))
+                .workflows(List.of(workflow, pollingWorkflow))
+                .build();
+
+        // when
+        try {
+            var execution = new WorkflowExecutor(arazzo, Map.of(), ResolvedExpressionProvider.createRoot(), optionsOf(asyncStepExecutor))
+                    .executeWorkflowAsync(workflow, executor);
+            // the only worker stays available while the referenced workflow waits for its retries
+            Assertions.assertTrue(CompletableFuture.supplyAsync(() -> true, executor).get(1, TimeUnit.SECONDS));
+            execution.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            Assertions.fail(e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    private ExecutionOptions optionsOf(final StepExecutor stepExecutor) {
+        return ExecutionOptions.ofDefault().toBuilder()
+                .stepExecutorFactory((plan, criterionEvaluator, resolver) -> stepExecutor)
+                .build();
+    }
+
+    private ExecutionResultContext successful() {
+        return ExecutionResultContext.builder().successful(true).build();
+    }
+
+    private ArazzoSpecification arazzoOf(final Workflow workflow) {
+        return ArazzoSpecification.builder()
+                .sourceDescriptions(List.of(SourceDescription.builder().name("api").build()))
+                .workflows(List.of(workflow))
+                .build();
+    }
+
+    private Workflow workflow(final Step... steps) {
+        return Workflow.builder().workflowId("workflow").steps(List.of(steps)).build();
+    }
+
+    private Step step(final String stepId) {
+        return Step.builder().stepId(stepId).operationPath("{$sourceDescriptions.api.url}#/paths/~1items/get").build();
+    }
+
+    // completes every step on another thread, like a non-blocking HTTP client would
+    private record AsyncStepExecutor(Function<Step, ExecutionResultContext> stepResults, Executor completionExecutor) implements StepExecutor {
+
+        private AsyncStepExecutor(final Function<Step, ExecutionResultContext> stepResults) {
+            this(stepResults, ForkJoinPool.commonPool());
+        }
+
+        @Override
+        public ExecutionResultContext executeStep(final Workflow workflow, final Step step) {
+            return executeStepAsync(workflow, step).toCompletableFuture().join();
+        }
+
+        @Override
+        public CompletionStage<ExecutionResultContext> executeStepAsync(final Workflow workflow, final Step step) {
+            return CompletableFuture.supplyAsync(() -> stepResults.apply(step),
+                    CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS, completionExecutor));
+        }
+    }
+}
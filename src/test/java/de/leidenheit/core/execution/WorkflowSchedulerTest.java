@@ -0,0 +1,124 @@
+package de.leidenheit.core.execution;
+
+import de.leidenheit.core.exception.ItarazzoDependencyFailedException;
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import de.leidenheit.core.model.ArazzoSpecification;
+import de.leidenheit.core.model.Workflow;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class WorkflowSchedulerTest {
+
+    private final WorkflowScheduler underTest = new WorkflowScheduler(ExecutionOptions.builder().parallelism(2).build());
+
+    @Test
+    void shouldExecuteIndependentWorkflowsConcurrently() {
+        // given
+        var arazzo = arazzoOf(workflow("a"), workflow("b"));
+        var latch = new CountDownLatch(2);
+
+        // when
+        var scheduled = underTest.schedule(arazzo, workflow -> {
+            latch.countDown();
+            try {
+                // would time out if the workflows were executed one after another
+                if (!latch.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("Not executed concurrently");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // then
+        Assertions.assertDoesNotThrow(() -> CompletableFuture.allOf(
+                scheduled.values().toArray(CompletableFuture[]::new)).join());
+    }
+
+    @Test
+    void shouldExecuteDependenciesFirst() {
+        // given
+        var arazzo = arazzoOf(workflow("c", "b"), workflow("b", "a"), workflow("a"));
+        var executionOrder = new ConcurrentLinkedQueue<String>();
+
+        // when
+        var scheduled = underTest.schedule(arazzo, workflow -> executionOrder.add(workflow.getWorkflowId()));
+        CompletableFuture.allOf(scheduled.values().toArray(CompletableFuture[]::new)).join();
+
+        // then
+        Assertions.assertEquals(List.of("a", "b", "c"), List.copyOf(executionOrder));
+        Assertions.assertEquals(List.of("a", "b", "c"), List.copyOf(scheduled.keySet()));
+    }
+
+    @Test
+    void shouldAbortOnlyWorkflowsDownstreamOfAFailure() {
+        // given
+        var arazzo = arazzoOf(workflow("a"), workflow("b", "a"), workflow("c", "b"), workflow("d"));
+        var executed = new ConcurrentLinkedQueue<String>();
+
+        // when
+        var scheduled = underTest.schedule(arazzo, workflow -> {
+            executed.add(workflow.getWorkflowId());
+            if ("a".equals(workflow.getWorkflowId())) throw new IllegalStateException("failed");
+        });
+
+        // then
+        var failure = Assertions.assertThrows(CompletionException.class, () -> scheduled.get("a").join());
+        Assertions.assertInstanceOf(IllegalStateException.class, WorkflowScheduler.unwrap(failure));
+        failure = Assertions.assertThrows(CompletionException.class, () -> scheduled.get("b").join());
+        Assertions.assertInstanceOf(ItarazzoDependencyFailedException.class, WorkflowScheduler.unwrap(failure));
+        failure = Assertions.assertThrows(CompletionException.class, () -> scheduled.get("c").join());
+        Assertions.assertInstanceOf(ItarazzoDependencyFailedException.class, WorkflowScheduler.unwrap(failure));
+        Assertions.assertDoesNotThrow(() -> scheduled.get("d").join());
+        Assertions.assertFalse(executed.contains("b"));
+        Assertions.assertFalse(executed.contains("c"));
+    }
+
+    @Test
+    void shouldCapConcurrencyInVirtualThreadMode() {
+        // given
+        var virtualScheduler = new WorkflowScheduler(ExecutionOptions.builder()
+                .parallelism(1)
+                .threadMode(ExecutionOptions.ThreadMode.VIRTUAL)
+                .build());
+        var arazzo = arazzoOf(workflow("a"), workflow("b"), workflow("c"));
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+
+        // when
+        var scheduled = virtualScheduler.schedule(arazzo, workflow -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            running.decrementAndGet();
+        });
+        CompletableFuture.allOf(scheduled.values().toArray(CompletableFuture[]::new)).join();
+
+        // then
+        Assertions.assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void shouldFailDueToCyclicDependencies() {
+        // given
+        var arazzo = arazzoOf(workflow("a", "b"), workflow("b", "a"));
+
+        // when & then
+        Assertions.assertThrowsExactly(ItarazzoIllegalStateException.class, () ->
+                underTest.schedule(arazzo, workflow -> {
+                }));
+    }
+
+    private ArazzoSpecification arazzoOf(final Workflow... workflows) {
+        return ArazzoSpecification.builder().workflows(List.of(workflows)).build();
+    }
+
+    private Workflow workflow(final String workflowId, final String... dependsOn) {
+        return Workflow.builder().workflowId(workflowId).dependsOn(List.of(dependsOn)).build();
+    }
+}
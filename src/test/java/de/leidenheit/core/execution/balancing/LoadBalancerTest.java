@@ -0,0 +1,116 @@
+package de.leidenheit.core.execution.balancing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LoadBalancerTest {
+
+    private static final List<String> SERVER_URLS = List.of("http://a", "http://b", "http://c");
+
+    @Test
+    void shouldSelectServersInTurn() {
+        // given
+        var underTest = LoadBalancer.of(SERVER_URLS, LoadBalancingOptions.ofDefault());
+
+        // when
+        var selected = List.of(
+                underTest.select().getServerUrl(),
+                underTest.select().getServerUrl(),
+                underTest.select().getServerUrl(),
+                underTest.select().getServerUrl());
+
+        // then
+        Assertions.assertEquals(List.of("http://a", "http://b", "http://c", "http://a"), selected);
+    }
+
+    @Test
+    void shouldSelectServerWithLeastOutstandingRequests() {
+        // given
+        var options = LoadBalancingOptions.ofDefault().toBuilder().strategy(LoadBalancingStrategy.LEAST_OUTSTANDING).build();
+        var underTest = LoadBalancer.of(SERVER_URLS, options);
+        var first = underTest.select();
+        var second = underTest.select();
+        underTest.select();
+        second.complete(200);
+
+        // when
+        var result = underTest.select();
+
+        // then
+        Assertions.assertEquals(second.getServerUrl(), result.getServerUrl());
+        Assertions.assertNotEquals(first.getServerUrl(), result.getServerUrl());
+    }
+
+    @Test
+    void shouldPreferFasterServerWhenWeightedByLatency() {
+        // given
+        var clock = new AtomicLong();
+        var options = LoadBalancingOptions.ofDefault().toBuilder().strategy(LoadBalancingStrategy.LATENCY_WEIGHTED).build();
+        var underTest = LoadBalancer.of(List.of("http://slow", "http://fast"), options, clock::get);
+        var slow = underTest.select();
+        var fast = underTest.select();
+        clock.addAndGet(Duration.ofMillis(1).toNanos());
+        fast.complete(200);
+        clock.addAndGet(Duration.ofMillis(999).toNanos());
+        slow.complete(200);
+
+        // when
+        var fastSelections = 0;
+        for (int i = 0; i < 1000; i++) {
+            var selection = underTest.select();
+            if ("http://fast".equals(selection.getServerUrl())) fastSelections++;
+            selection.cancel();
+        }
+
+        // then
+        Assertions.assertTrue(fastSelections > 900, "selected fast server %d times".formatted(fastSelections));
+    }
+
+    @Test
+    void shouldEjectFailingServerUntilEjectionTimeElapsed() {
+        // given
+        var clock = new AtomicLong();
+        var options = LoadBalancingOptions.ofDefault().toBuilder()
+                .failureThreshold(2)
+                .ejectionTime(Duration.ofSeconds(10))
+                .build();
+        var underTest = LoadBalancer.of(List.of("http://a", "http://b"), options, clock::get);
+        underTest.select().fail();
+        underTest.select().complete(200);
+        underTest.select().complete(503);
+
+        // when
+        var selectedWhileEjected = List.of(underTest.select().getServerUrl(), underTest.select().getServerUrl());
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        var selectedAfterwards = List.of(underTest.select().getServerUrl(), underTest.select().getServerUrl());
+
+        // then
+        Assertions.assertEquals(List.of("http://b", "http://b"), selectedWhileEjected);
+        Assertions.assertTrue(selectedAfterwards.contains("http://a"));
+        var stats = underTest.getStats().get(0);
+        Assertions.assertEquals(2, stats.getRequests());
+        Assertions.assertEquals(2, stats.getFailures());
+        Assertions.assertEquals(1, stats.getEjections());
+        Assertions.assertFalse(stats.isEjected());
+        Assertions.assertEquals(1, stats.getOutstanding());
+    }
+
+    @Test
+    void shouldKeepSelectingWhenAllServersAreEjected() {
+        // given
+        var options = LoadBalancingOptions.ofDefault().toBuilder().failureThreshold(1).build();
+        var underTest = LoadBalancer.of(List.of("http://a"), options);
+        underTest.select().fail();
+
+        // when
+        var result = underTest.select();
+
+        // then
+        Assertions.assertEquals("http://a", result.getServerUrl());
+        Assertions.assertTrue(underTest.getStats().get(0).isEjected());
+    }
+}
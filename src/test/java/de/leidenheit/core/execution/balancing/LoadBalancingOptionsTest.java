@@ -0,0 +1,39 @@
+package de.leidenheit.core.execution.balancing;
+
+import de.leidenheit.core.exception.ItarazzoIllegalArgumentException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+class LoadBalancingOptionsTest {
+
+    @Test
+    void shouldApplyLoadBalancingExtensionOnTopOfDefaults() {
+        // given
+        var extensions = Map.<String, Object>of(LoadBalancingOptions.LOAD_BALANCING_EXTENSION, Map.of(
+                "strategy", "least-outstanding",
+                "ejectionTime", "PT10S",
+                "localhostPort", 0));
+
+        // when
+        var result = LoadBalancingOptions.ofExtensions(extensions, LoadBalancingOptions.ofDefault());
+
+        // then
+        Assertions.assertEquals(LoadBalancingStrategy.LEAST_OUTSTANDING, result.getStrategy());
+        Assertions.assertEquals(5, result.getFailureThreshold());
+        Assertions.assertEquals(Duration.ofSeconds(10), result.getEjectionTime());
+        Assertions.assertEquals(0, result.getLocalhostPort());
+    }
+
+    @Test
+    void shouldFailDueToUnknownStrategy() {
+        // given
+        var extensions = Map.<String, Object>of(LoadBalancingOptions.LOAD_BALANCING_EXTENSION, Map.of("strategy", "random"));
+
+        // when & then
+        Assertions.assertThrowsExactly(ItarazzoIllegalArgumentException.class, () ->
+                LoadBalancingOptions.ofExtensions(extensions, LoadBalancingOptions.ofDefault()));
+    }
+}
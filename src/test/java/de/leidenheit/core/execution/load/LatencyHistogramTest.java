@@ -0,0 +1,59 @@
+package de.leidenheit.core.execution.load;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldReportPercentilesWithinRelativeError() {
+        // given
+        var underTest = new LatencyHistogram();
+        for (long millis = 1; millis <= 1000; millis++) {
+            underTest.record(Duration.ofMillis(millis).toNanos());
+        }
+
+        // when
+        var summary = underTest.summarize();
+
+        // then
+        Assertions.assertEquals(1000, summary.getCount());
+        assertWithinRelativeError(Duration.ofMillis(500), summary.getP50());
+        assertWithinRelativeError(Duration.ofMillis(900), summary.getP90());
+        assertWithinRelativeError(Duration.ofMillis(990), summary.getP99());
+        Assertions.assertEquals(Duration.ofMillis(1000), summary.getMax());
+        assertWithinRelativeError(Duration.ofNanos(500_500_000L), summary.getMean());
+    }
+
+    @Test
+    void shouldReportZeroWithoutRecordings() {
+        // given
+        var underTest = new LatencyHistogram();
+
+        // when & then
+        Assertions.assertEquals(Duration.ZERO, underTest.getPercentile(99.0));
+        Assertions.assertEquals(Duration.ZERO, underTest.getMax());
+        Assertions.assertEquals(Duration.ZERO, underTest.getMean());
+    }
+
+    @Test
+    void shouldRecordExtremeValues() {
+        // given
+        var underTest = new LatencyHistogram();
+
+        // when
+        underTest.record(0L);
+        underTest.record(Long.MAX_VALUE);
+
+        // then
+        Assertions.assertEquals(Duration.ZERO, underTest.getPercentile(50.0));
+        Assertions.assertEquals(Duration.ofNanos(Long.MAX_VALUE), underTest.getPercentile(100.0));
+    }
+
+    private void assertWithinRelativeError(final Duration expected, final Duration actual) {
+        var relativeError = Math.abs(actual.toNanos() - expected.toNanos()) / (double) expected.toNanos();
+        Assertions.assertTrue(relativeError <= 0.02, "expected %s but was %s".formatted(expected, actual));
+    }
+}
@@ -0,0 +1,50 @@
+package de.leidenheit.core.execution.load;
+
+import de.leidenheit.core.exception.ItarazzoIllegalArgumentException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+class LoadOptionsTest {
+
+    @Test
+    void shouldApplyLoadExtensionOnTopOfDefaults() {
+        // given
+        var extensions = Map.<String, Object>of(LoadOptions.LOAD_EXTENSION, Map.of(
+                "arrivalRate", 50,
+                "duration", "PT1M",
+                "rampUp", 10));
+
+        // when
+        var result = LoadOptions.ofExtensions(extensions, LoadOptions.ofDefault());
+
+        // then
+        Assertions.assertTrue(result.isOpenModel());
+        Assertions.assertEquals(50.0, result.getArrivalRate());
+        Assertions.assertEquals(Duration.ofMinutes(1), result.getDuration());
+        Assertions.assertEquals(Duration.ofSeconds(10), result.getRampUp());
+        Assertions.assertEquals(1, result.getVirtualUsers());
+    }
+
+    @Test
+    void shouldReturnDefaultsWithoutLoadExtension() {
+        // given
+        var defaults = LoadOptions.ofDefault();
+
+        // when & then
+        Assertions.assertSame(defaults, LoadOptions.ofExtensions(null, defaults));
+        Assertions.assertSame(defaults, LoadOptions.ofExtensions(Map.of("x-other", true), defaults));
+    }
+
+    @Test
+    void shouldFailDueToUnknownProperty() {
+        // given
+        var extensions = Map.<String, Object>of(LoadOptions.LOAD_EXTENSION, Map.of("rps", 50));
+
+        // when & then
+        Assertions.assertThrowsExactly(ItarazzoIllegalArgumentException.class, () ->
+                LoadOptions.ofExtensions(extensions, LoadOptions.ofDefault()));
+    }
+}
@@ -0,0 +1,94 @@
+package de.leidenheit.core.execution.load;
+
+import de.leidenheit.core.execution.ExecutionOptions;
+import de.leidenheit.core.execution.StepExecutor;
+import de.leidenheit.core.execution.context.ExecutionResultContext;
+import de.leidenheit.core.model.ArazzoSpecification;
+import de.leidenheit.core.model.FailureAction;
+import de.leidenheit.core.model.SourceDescription;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.core.model.Workflow;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LoadRunnerTest {
+
+    private final FailureAction retry = FailureAction.builder()
+            .name("retry")
+            .type(FailureAction.FailureActionType.RETRY)
+            .retryAfter(new BigDecimal("0.02"))
+            .retryLimit(1)
+            .build();
+
+    @Test
+    void shouldRecordIterationsOfVirtualUsersOnceTheirRetriesFinished() {
+        // given
+        var workflow = workflow();
+        var loadOptions = LoadOptions.ofDefault().toBuilder().virtualUsers(2).iterations(6).build();
+
+        // when
+        var report = new LoadRunner(arazzoOf(workflow), Map.of(), optionsOf(true)).run(workflow, loadOptions);
+
+        // then
+        Assertions.assertEquals(6, report.getIterations());
+        Assertions.assertEquals(0, report.getFailedIterations());
+    }
+
+    @Test
+    void shouldRecordFailedIterationsOfOpenModel() {
+        // given
+        var workflow = workflow();
+        var loadOptions = LoadOptions.ofDefault().toBuilder().virtualUsers(2).iterations(5).arrivalRate(100).build();
+
+        // when
+        var report = new LoadRunner(arazzoOf(workflow), Map.of(), optionsOf(false)).run(workflow, loadOptions);
+
+        // then
+        Assertions.assertEquals(5, report.getIterations());
+        Assertions.assertEquals(5, report.getFailedIterations());
+    }
+
+    // the step fails on its first attempt of every iteration, and succeeds on its retry if it is retried at all
+    private ExecutionOptions optionsOf(final boolean retried) {
+        return ExecutionOptions.ofDefault().toBuilder()
+                .stepExecutorFactory((plan, criterionEvaluator, resolver) -> new StepExecutor() {
+                    private final AtomicInteger attempts = new AtomicInteger();
+
+                    @Override
+                    public ExecutionResultContext executeStep(final Workflow workflow, final Step step) {
+                        return executeStepAsync(workflow, step).toCompletableFuture().join();
+                    }
+
+                    @Override
+                    public CompletionStage<ExecutionResultContext> executeStepAsync(final Workflow workflow, final Step step) {
+                        var result = attempts.getAndIncrement() > 0
+                                ? ExecutionResultContext.builder().successful(true).build()
+                                : ExecutionResultContext.builder().successful(false).failureAction(retried ? retry : null).build();
+                        return CompletableFuture.supplyAsync(() -> result, CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS));
+                    }
+                })
+                .build();
+    }
+
+    private ArazzoSpecification arazzoOf(final Workflow workflow) {
+        return ArazzoSpecification.builder()
+                .sourceDescriptions(List.of(SourceDescription.builder().name("api").build()))
+                .workflows(List.of(workflow))
+                .build();
+    }
+
+    private Workflow workflow() {
+        return Workflow.builder()
+                .workflowId("polling")
+                .steps(List.of(Step.builder().stepId("poll").operationPath("{$sourceDescriptions.api.url}#/paths/~1items/get").build()))
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package de.leidenheit.core.execution.plan;
+
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import de.leidenheit.core.model.ArazzoSpecification;
+import de.leidenheit.core.model.FailureAction;
+import de.leidenheit.core.model.Parameter;
+import de.leidenheit.core.model.SourceDescription;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.core.model.SuccessAction;
+import de.leidenheit.core.model.Workflow;
+import io.restassured.http.Method;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.servers.Server;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class ExecutionPlanTest {
+
+    @Test
+    void shouldResolveStepIndexesAndActionTargets() {
+        // given
+        var retry = FailureAction.builder()
+                .type(FailureAction.FailureActionType.RETRY)
+                .stepId("$steps.first")
+                .build();
+        var workflow = Workflow.builder()
+                .workflowId("a")
+                .steps(List.of(
+                        Step.builder().stepId("first").operationPath("{$sourceDescriptions.api.url}#/paths/~1items~1{id}/get").build(),
+                        Step.builder().stepId("second").operationPath("{$sourceDescriptions.api.url}#/paths/~1items/post").onFailure(List.of(retry)).build()))
+                .build();
+
+        // when
+        var workflowPlan = ExecutionPlan.compile(arazzoOf(workflow)).getWorkflowPlan("a");
+
+        // then
+        Assertions.assertEquals(1, workflowPlan.findStepIndex("second"));
+        Assertions.assertEquals(0, workflowPlan.findStepIndex("$steps.first"));
+        Assertions.assertEquals("/items/{id}", workflowPlan.getSteps().get(0).getPathTemplate());
+        Assertions.assertEquals(Method.GET, workflowPlan.getSteps().get(0).getHttpMethod());
+        Assertions.assertEquals(Method.POST, workflowPlan.getSteps().get(1).getHttpMethod());
+        Assertions.assertThrowsExactly(ItarazzoIllegalStateException.class, () -> workflowPlan.findStepIndex("unknown"));
+    }
+
+    @Test
+    void shouldResolveWorkflowReferencesOfActions() {
+        // given
+        var gotoWorkflow = SuccessAction.builder()
+                .type(SuccessAction.SuccessActionType.GOTO)
+                .workflowId("$sourceDescriptions.api.b")
+                .build();
+        var a = Workflow.builder().workflowId("a").successActions(List.of(gotoWorkflow)).build();
+        var b = Workflow.builder().workflowId("b").build();
+
+        // when
+        var plan = ExecutionPlan.compile(arazzoOf(a, b));
+
+        // then
+        Assertions.assertSame(b, plan.findWorkflow("$sourceDescriptions.api.b"));
+        Assertions.assertSame(a, plan.findWorkflow("a"));
+        Assertions.assertThrowsExactly(ItarazzoIllegalStateException.class, () -> plan.findWorkflow("c"));
+    }
+
+    @Test
+    void shouldDeriveStepDependenciesFromOutputReferences() {
+        // given
+        var workflow = Workflow.builder()
+                .workflowId("a")
+                .steps(List.of(
+                        step("first", "$inputs.id"),
+                        step("second", "$inputs.id"),
+                        step("third", "$steps.first.outputs.id"),
+                        step("fourth", "$steps.fifth.outputs.id"),
+                        step("fifth", "$inputs.id")))
+                .build();
+
+        // when
+        var steps = ExecutionPlan.compile(arazzoOf(workflow)).getWorkflowPlan("a").getSteps();
+
+        // then
+        Assertions.assertEquals(Set.of(), steps.get(1).getDependencies());
+        Assertions.assertEquals(Set.of(0), steps.get(2).getDependencies());
+        Assertions.assertFalse(steps.get(2).isSequential());
+        Assertions.assertTrue(steps.get(3).isSequential());
+    }
+
+    @Test
+    void shouldPrecompileRequestTemplateOfOperationSteps() {
+        // given
+        var step = Step.builder()
+                .stepId("first")
+                .operationPath("{$sourceDescriptions.api.url}#/paths/~1items/post")
+                .parameters(List.of(
+                        Parameter.builder().name("id").in(Parameter.ParameterIn.QUERY).value("$inputs.id").build(),
+                        Parameter.builder().name("limit").in(Parameter.ParameterIn.QUERY).value(10).build(),
+                        Parameter.builder().name("Content-Type").in(Parameter.ParameterIn.HEADER).value("multipart/form-data").build()))
+                .build();
+        var workflow = Workflow.builder().workflowId("a").steps(List.of(step)).build();
+
+        // when
+        var requestTemplate = ExecutionPlan.compile(arazzoOf(workflow)).getWorkflowPlan("a").getSteps().get(0).getRequestTemplate();
+
+        // then
+        var queryParameters = requestTemplate.getParameters().get(Parameter.ParameterIn.QUERY);
+        Assertions.assertEquals(2, queryParameters.size());
+        Assertions.assertTrue(queryParameters.get(0).isExpression());
+        Assertions.assertFalse(queryParameters.get(1).isExpression());
+        Assertions.assertEquals("10", queryParameters.get(1).resolve(null));
+        Assertions.assertTrue(requestTemplate.getParameters().get(Parameter.ParameterIn.PATH).isEmpty());
+        Assertions.assertTrue(requestTemplate.isMultipart(Map.of()));
+        Assertions.assertNull(requestTemplate.getPayload());
+    }
+
+    @Test
+    void shouldShareLoadBalancerOfDesignatedServersAcrossSteps() {
+        // given
+        var openAPI = new OpenAPI().servers(List.of(
+                new Server().url("https://api.example.com"),
+                new Server().url("http://localhost/v1").extensions(Map.of("x-itarazzo-designated-server", true)),
+                new Server().url("http://localhost:9090/v1").extensions(Map.of("x-itarazzo-designated-server", true))));
+        var workflow = Workflow.builder().workflowId("a").steps(List.of(step("first", "1"), step("second", "2"))).build();
+        var arazzo = ArazzoSpecification.builder()
+                .sourceDescriptions(List.of(SourceDescription.builder().name("api").referencedOpenAPI(openAPI).build()))
+                .workflows(List.of(workflow))
+                .build();
+
+        // when
+        var plan = ExecutionPlan.compile(arazzo);
+
+        // then
+        var steps = plan.getWorkflowPlan("a").getSteps();
+        Assertions.assertSame(steps.get(0).getLoadBalancer(), steps.get(1).getLoadBalancer());
+        Assertions.assertEquals(List.of("http://localhost:8080/v1", "http://localhost:9090/v1"),
+                steps.get(0).getLoadBalancer().getServerUrls());
+        Assertions.assertEquals(Set.of("api"), plan.getServerStats().keySet());
+    }
+
+    private ArazzoSpecification arazzoOf(final Workflow... workflows) {
+        return ArazzoSpecification.builder()
+                .sourceDescriptions(List.of(SourceDescription.builder().name("api").build()))
+                .workflows(List.of(workflows))
+                .build();
+    }
+
+    private Step step(final String stepId, final String parameterValue) {
+        return Step.builder()
+                .stepId(stepId)
+                .operationPath("{$sourceDescriptions.api.url}#/paths/~1items/get")
+                .parameters(List.of(Parameter.builder().name("id").in(Parameter.ParameterIn.QUERY).value(parameterValue).build()))
+                .build();
+    }
+}
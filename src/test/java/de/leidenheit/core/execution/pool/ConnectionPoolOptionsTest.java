@@ -0,0 +1,51 @@
+package de.leidenheit.core.execution.pool;
+
+import de.leidenheit.core.exception.ItarazzoIllegalArgumentException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+class ConnectionPoolOptionsTest {
+
+    @Test
+    void shouldApplyConnectionPoolExtensionOnTopOfDefaults() {
+        // given
+        var extensions = Map.<String, Object>of(ConnectionPoolOptions.CONNECTION_POOL_EXTENSION, Map.of(
+                "maxConnectionsPerRoute", 50,
+                "idleTimeout", "PT10S",
+                "keepAlive", 60));
+
+        // when
+        var result = ConnectionPoolOptions.ofExtensions(extensions, ConnectionPoolOptions.ofDefault());
+
+        // then
+        Assertions.assertEquals(50, result.getMaxConnectionsPerRoute());
+        Assertions.assertEquals(100, result.getMaxConnectionsTotal());
+        Assertions.assertEquals(Duration.ofSeconds(10), result.getIdleTimeout());
+        Assertions.assertEquals(Duration.ofMinutes(1), result.getKeepAlive());
+    }
+
+    @Test
+    void shouldReturnDefaultsWithoutConnectionPoolExtension() {
+        // given
+        var defaults = ConnectionPoolOptions.ofDefault();
+
+        // when & then
+        Assertions.assertSame(defaults, ConnectionPoolOptions.ofExtensions(null, defaults));
+        Assertions.assertSame(defaults, ConnectionPoolOptions.ofExtensions(Map.of("x-other", true), defaults));
+    }
+
+    @Test
+    void shouldFailDueToMoreConnectionsPerRouteThanInTotal() {
+        // given
+        var extensions = Map.<String, Object>of(ConnectionPoolOptions.CONNECTION_POOL_EXTENSION, Map.of(
+                "maxConnectionsPerRoute", 20,
+                "maxConnectionsTotal", 10));
+
+        // when & then
+        Assertions.assertThrowsExactly(ItarazzoIllegalArgumentException.class, () ->
+                ConnectionPoolOptions.ofExtensions(extensions, ConnectionPoolOptions.ofDefault()));
+    }
+}
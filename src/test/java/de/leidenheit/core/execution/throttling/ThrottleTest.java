@@ -0,0 +1,111 @@
+package de.leidenheit.core.execution.throttling;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ThrottleTest {
+
+    @Test
+    void shouldLetBurstPassAndDelayFurtherRequests() {
+        // given
+        var bucket = new TokenBucket(10, 3);
+
+        // when
+        var delays = new long[]{bucket.reserve(0), bucket.reserve(0), bucket.reserve(0), bucket.reserve(0), bucket.reserve(0)};
+
+        // then
+        var interval = Duration.ofMillis(100).toNanos();
+        Assertions.assertArrayEquals(new long[]{0, 0, 0, interval, 2 * interval}, delays);
+        Assertions.assertEquals(0, bucket.reserve(10 * interval));
+    }
+
+    @Test
+    void shouldPauseBucketAsRequestedByServer() {
+        // given
+        var bucket = new TokenBucket(10, 1);
+        bucket.reserve(0);
+
+        // when
+        bucket.pause(0, Duration.ofSeconds(2).toNanos());
+
+        // then
+        Assertions.assertEquals(Duration.ofSeconds(2).toNanos(), bucket.reserve(0));
+    }
+
+    @Test
+    void shouldQueueRequestsBeyondConcurrencyLimit() {
+        // given
+        var options = ThrottlingOptions.ofDefault().toBuilder()
+                .limitAlgorithm(ConcurrencyLimitAlgorithm.AIMD)
+                .initialLimit(1)
+                .build();
+        var underTest = Throttle.of(options);
+        var first = underTest.acquire().join();
+
+        // when
+        var second = underTest.acquire();
+
+        // then
+        Assertions.assertFalse(second.isDone());
+        Assertions.assertEquals(1, underTest.getStats().getWaiting());
+        first.complete(200, null);
+        Assertions.assertTrue(second.isDone());
+    }
+
+    @Test
+    void shouldIncreaseLimitAdditivelyAndDecreaseMultiplicatively() {
+        // given
+        var clock = new AtomicLong();
+        var options = ThrottlingOptions.ofDefault().toBuilder()
+                .limitAlgorithm(ConcurrencyLimitAlgorithm.AIMD)
+                .initialLimit(10)
+                .backoffRatio(0.5)
+                .build();
+        var underTest = Throttle.of(options, clock::get);
+
+        // when
+        var permits = new Throttle.Permit[10];
+        for (int i = 0; i < permits.length; i++) permits[i] = underTest.acquire().join();
+        clock.addAndGet(Duration.ofMillis(5).toNanos());
+        permits[0].complete(200, null);
+        var increasedLimit = underTest.getStats().getLimit();
+        permits[1].complete(429, Duration.ofSeconds(1));
+        permits[2].fail();
+
+        // then
+        Assertions.assertEquals(11, increasedLimit);
+        Assertions.assertEquals(2, underTest.getStats().getLimit());
+        Assertions.assertEquals(2, underTest.getStats().getDropped());
+    }
+
+    @Test
+    void shouldShrinkGradientLimitWhenLatencyRises() {
+        // given
+        var clock = new AtomicLong();
+        var options = ThrottlingOptions.ofDefault().toBuilder()
+                .limitAlgorithm(ConcurrencyLimitAlgorithm.GRADIENT)
+                .initialLimit(20)
+                .build();
+        var underTest = Throttle.of(options, clock::get);
+        for (int i = 0; i < 20; i++) {
+            var permit = underTest.acquire().join();
+            clock.addAndGet(Duration.ofMillis(10).toNanos());
+            permit.complete(200, null);
+        }
+        var limitBefore = underTest.getStats().getLimit();
+
+        // when
+        for (int i = 0; i < 20; i++) {
+            var permit = underTest.acquire().join();
+            clock.addAndGet(Duration.ofMillis(100).toNanos());
+            permit.complete(200, null);
+        }
+
+        // then
+        Assertions.assertTrue(underTest.getStats().getLimit() < limitBefore,
+                "limit %d should be below %d".formatted(underTest.getStats().getLimit(), limitBefore));
+    }
+}
@@ -0,0 +1,43 @@
+package de.leidenheit.core.execution.throttling;
+
+import de.leidenheit.core.exception.ItarazzoIllegalArgumentException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class ThrottlingOptionsTest {
+
+    @Test
+    void shouldApplyThrottlingExtensionOnTopOfDefaults() {
+        // given
+        var extensions = Map.<String, Object>of(ThrottlingOptions.THROTTLING_EXTENSION, Map.of(
+                "rate", 50,
+                "limitAlgorithm", "gradient",
+                "maxLimit", 64));
+
+        // when
+        var result = ThrottlingOptions.ofExtensions(extensions, ThrottlingOptions.ofDefault());
+
+        // then
+        Assertions.assertEquals(50.0, result.getRate());
+        Assertions.assertEquals(ConcurrencyLimitAlgorithm.GRADIENT, result.getLimitAlgorithm());
+        Assertions.assertEquals(20, result.getInitialLimit());
+        Assertions.assertEquals(64, result.getMaxLimit());
+        Assertions.assertFalse(result.isUnlimited());
+        Assertions.assertTrue(ThrottlingOptions.ofDefault().isUnlimited());
+    }
+
+    @Test
+    void shouldFailDueToInitialLimitAboveMaxLimit() {
+        // given
+        var extensions = Map.<String, Object>of(ThrottlingOptions.THROTTLING_EXTENSION, Map.of(
+                "limitAlgorithm", "aimd",
+                "initialLimit", 100,
+                "maxLimit", 10));
+
+        // when & then
+        Assertions.assertThrowsExactly(ItarazzoIllegalArgumentException.class, () ->
+                ThrottlingOptions.ofExtensions(extensions, ThrottlingOptions.ofDefault()));
+    }
+}
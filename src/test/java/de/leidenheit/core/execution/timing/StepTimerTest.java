@@ -0,0 +1,43 @@
+package de.leidenheit.core.execution.timing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class StepTimerTest {
+
+    @Test
+    void shouldAddUpRepeatedPhasesAndLeaveMissingOnesUnset() {
+        // given
+        var underTest = new StepTimer();
+
+        // when
+        underTest.record(TimingPhase.CONNECT, Duration.ofMillis(3).toNanos());
+        underTest.record(TimingPhase.CONNECT, Duration.ofMillis(4).toNanos());
+        underTest.record(TimingPhase.OUTPUT_RESOLUTION, Duration.ofMillis(1).toNanos());
+        underTest.stop(TimingPhase.BODY_DOWNLOAD);
+        var timings = underTest.toTimings();
+
+        // then
+        Assertions.assertEquals(Duration.ofMillis(7), timings.getConnect());
+        Assertions.assertNull(timings.getDnsLookup());
+        Assertions.assertNull(timings.getBodyDownload());
+        Assertions.assertEquals(-1, timings.getResponseSize());
+        Assertions.assertEquals(Duration.ofMillis(7), timings.getServerLatency());
+        Assertions.assertEquals(Duration.ofMillis(1), timings.getClientOverhead());
+    }
+
+    @Test
+    void shouldBindTimerToCurrentThreadWhileActionRuns() {
+        // given
+        var underTest = new StepTimer();
+
+        // when
+        var bound = underTest.bind(StepTimer::current);
+
+        // then
+        Assertions.assertSame(underTest, bound);
+        Assertions.assertNull(StepTimer.current());
+    }
+}
@@ -14,7 +14,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -108,8 +107,6 @@ class CriterionEvaluatorTest {
         given(resolverMock.resolveString("$inputs.cookieId"))
                 .willReturn("4711");
         // mock for condition comparison
-        given(mapperMock.writeValueAsString(any()))
-                .willReturn("{\"id\": 4711}");
         given(resolverMock.resolveExpression("4711", resolverContextMock))
                 .willReturn("4711");
 
@@ -0,0 +1,56 @@
+package de.leidenheit.infrastructure.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class SpillableContentTest {
+
+    @Test
+    void shouldKeepContentUpToThresholdOnHeap() throws IOException {
+        // given
+        var bytes = "Chocolate".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        var result = SpillableContent.read(new ByteArrayInputStream(bytes), bytes.length);
+
+        // then
+        Assertions.assertFalse(result.isSpilled());
+        Assertions.assertArrayEquals(bytes, result.toByteArray());
+    }
+
+    @Test
+    void shouldSpillContentBeyondThresholdToMappedFile() throws IOException {
+        // given
+        var text = "Chocolate Chip Cookie ".repeat(1000);
+        var sink = SpillableContent.sink(64);
+
+        // when
+        SpillableContent result;
+        try (sink) {
+            var bytes = text.getBytes(StandardCharsets.UTF_8);
+            sink.write(ByteBuffer.wrap(bytes, 0, 32));
+            sink.write(ByteBuffer.wrap(bytes, 32, bytes.length - 32));
+            result = sink.finish();
+        }
+
+        // then
+        Assertions.assertTrue(result.isSpilled());
+        Assertions.assertEquals(text.length(), result.size());
+        Assertions.assertEquals(text, result.toString(StandardCharsets.UTF_8));
+        Assertions.assertEquals(text, new String(result.openStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldNeverSpillWithoutThreshold() throws IOException {
+        // when
+        var result = SpillableContent.of("Chocolate Chip Cookie", StandardCharsets.UTF_8, 0);
+
+        // then
+        Assertions.assertFalse(result.isSpilled());
+    }
+}
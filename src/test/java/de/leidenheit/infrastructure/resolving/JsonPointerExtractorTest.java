@@ -0,0 +1,54 @@
+package de.leidenheit.infrastructure.resolving;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class JsonPointerExtractorTest {
+
+    private static final String BODY = """
+            {
+              "id": 4711,
+              "ignored": {"deeply": [{"nested": true}]},
+              "items": [
+                {"name": "Chocolate", "price": 1.99},
+                {"name": "Cookie", "tags": ["sweet", "crunchy"]}
+              ],
+              "a/b": "escaped"
+            }""";
+
+    @Test
+    void shouldExtractAllPointersInSinglePass() throws IOException {
+        // given
+        var underTest = JsonPointerExtractor.of(List.of("/id", "/items/0/price", "/items/1/tags", "/items/1/tags/1", "/a~1b"));
+
+        // when
+        var result = underTest.extract(new JsonFactory().createParser(BODY.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        Assertions.assertEquals(5, result.size());
+        Assertions.assertEquals(JsonPath.parse(BODY).read("$.id"), result.get("/id"));
+        Assertions.assertEquals(JsonPath.parse(BODY).read("$.items[0].price"), result.get("/items/0/price"));
+        Assertions.assertEquals(JsonPath.parse(BODY).read("$.items[1].tags"), result.get("/items/1/tags"));
+        Assertions.assertEquals("crunchy", result.get("/items/1/tags/1"));
+        Assertions.assertEquals("escaped", result.get("/a~1b"));
+    }
+
+    @Test
+    void shouldOmitPointersWithoutTarget() throws IOException {
+        // given
+        var underTest = JsonPointerExtractor.of(List.of("/id", "/missing", "/items/5/name", "/id/nested"));
+
+        // when
+        var result = underTest.extract(new JsonFactory().createParser(BODY));
+
+        // then
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals(4711, result.get("/id"));
+    }
+}
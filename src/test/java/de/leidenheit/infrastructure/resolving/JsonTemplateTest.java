@@ -0,0 +1,52 @@
+package de.leidenheit.infrastructure.resolving;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class JsonTemplateTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Mock
+    private SpecExpressionResolver resolverMock;
+
+    @Test
+    void shouldRenderTextualValuesAsEscapedStrings() throws Exception {
+        // given
+        given(resolverMock.resolveExpression("$inputs.name", null)).willReturn("Chocolate \"Chip\"");
+        given(resolverMock.resolveExpression("$inputs.id", null)).willReturn("4711");
+        var payload = MAPPER.readTree("""
+                {"name": "$inputs.name", "tags": ["id-{$inputs.id}", "plain"], "price": 1.5, "vegan": false, "extra": null}""");
+
+        // when
+        var rendered = JsonTemplate.compile(payload).render(resolverMock);
+
+        // then
+        Assertions.assertEquals(
+                MAPPER.readTree("""
+                        {"name": "Chocolate \\"Chip\\"", "tags": ["id-4711", "plain"], "price": 1.5, "vegan": false, "extra": null}"""),
+                MAPPER.readTree(rendered));
+        // the compiled tree is left untouched
+        Assertions.assertEquals("$inputs.name", payload.get("name").asText());
+    }
+
+    @Test
+    void shouldRenderTreeWithoutExpressionsAsIs() throws Exception {
+        // given
+        var payload = MAPPER.readTree("""
+                {"name": "Chocolate", "nested": {"quote": "say \\"hi\\""}}""");
+
+        // when
+        var rendered = JsonTemplate.compile(payload).render(resolverMock);
+
+        // then
+        Assertions.assertEquals(payload.toString(), rendered);
+    }
+}
@@ -1,7 +1,67 @@
 package de.leidenheit.infrastructure.resolving;
 
-import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 class ResolvedExpressionProviderTest {
 
-}
\ No newline at end of file
+    @Test
+    void shouldFindResolvedOfParentScope() {
+        // given
+        var runScope = ResolvedExpressionProvider.createRoot();
+        var workflowScope = runScope.createChild();
+        runScope.addResolved("$workflows.a.outputs.id", "4711");
+
+        // when
+        var result = workflowScope.findResolved("$workflows.a.outputs.id");
+
+        // then
+        Assertions.assertEquals("4711", result);
+    }
+
+    @Test
+    void shouldIsolateSiblingScopes() {
+        // given
+        var runScope = ResolvedExpressionProvider.createRoot();
+        var workflowScope = runScope.createChild();
+        var otherWorkflowScope = runScope.createChild();
+        workflowScope.addResolved("$steps.a.outputs.id", "4711");
+
+        // when & then
+        Assertions.assertEquals("4711", workflowScope.findResolved("$steps.a.outputs.id"));
+        Assertions.assertNull(otherWorkflowScope.findResolved("$steps.a.outputs.id"));
+        Assertions.assertNull(runScope.findResolved("$steps.a.outputs.id"));
+    }
+
+    @Test
+    void shouldPublishResolvedToParentScope() {
+        // given
+        var runScope = ResolvedExpressionProvider.createRoot();
+        var workflowScope = runScope.createChild();
+        var otherWorkflowScope = runScope.createChild();
+
+        // when
+        workflowScope.publishResolved("$workflows.a.outputs.id", "4711");
+
+        // then
+        Assertions.assertEquals("4711", runScope.findResolved("$workflows.a.outputs.id"));
+        Assertions.assertEquals("4711", otherWorkflowScope.findResolved("$workflows.a.outputs.id"));
+    }
+
+    @Test
+    void shouldSpillOversizedValuesAndDecodeThemOnLookup() {
+        // given
+        var runScope = ResolvedExpressionProvider.createRoot(16);
+        var workflowScope = runScope.createChild();
+        var payload = "{\"name\": \"Chocolate Chip Cookie\"}";
+
+        // when
+        workflowScope.publishResolved("$workflows.a.outputs.payload", payload);
+        workflowScope.addResolved("$steps.a.outputs.id", "4711");
+
+        // then
+        Assertions.assertEquals(payload, workflowScope.findResolved("$workflows.a.outputs.payload"));
+        Assertions.assertEquals(payload, runScope.findResolved("$workflows.a.outputs.payload"));
+        Assertions.assertEquals("4711", workflowScope.findResolved("$steps.a.outputs.id"));
+    }
+}
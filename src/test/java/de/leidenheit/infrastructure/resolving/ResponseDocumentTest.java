@@ -0,0 +1,56 @@
+package de.leidenheit.infrastructure.resolving;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.leidenheit.infrastructure.io.SpillableContent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.xpath.XPathConstants;
+import java.nio.charset.StandardCharsets;
+
+class ResponseDocumentTest {
+
+    @Test
+    void shouldParseJsonBodyOnceForAllReads() {
+        // given
+        var underTest = ResponseDocument.of("{\"id\": 4711, \"items\": [{\"name\": \"Chocolate\"}]}", "application/json");
+        var mapper = new ObjectMapper();
+
+        // when & then
+        Assertions.assertTrue(underTest.isJson());
+        Assertions.assertEquals(4711, (Integer) underTest.readJsonPath("$.id"));
+        Assertions.assertEquals("Chocolate", underTest.readJsonPath("$.items[0].name"));
+        Assertions.assertSame(underTest.getJsonTree(mapper), underTest.getJsonTree(mapper));
+        Assertions.assertEquals("Chocolate", underTest.getJsonTree(mapper).at("/items/0/name").asText());
+    }
+
+    @Test
+    void shouldEvaluateXPathAgainstXmlBody() {
+        // given
+        var underTest = ResponseDocument.of("<root><id>4711</id><name>Chocolate</name></root>", "application/xml");
+
+        // when & then
+        Assertions.assertTrue(underTest.isXml());
+        Assertions.assertEquals(true, underTest.evaluateXPath("/root/id = 4711", XPathConstants.BOOLEAN));
+        Assertions.assertEquals("Chocolate", underTest.evaluateXPath("/root/name", XPathConstants.STRING));
+    }
+
+    @Test
+    void shouldTreatMissingBodyAsBlank() {
+        Assertions.assertTrue(ResponseDocument.of((String) null, "application/json").isBlank());
+        Assertions.assertTrue(ResponseDocument.of(() -> null, "application/json").isBlank());
+        Assertions.assertTrue(ResponseDocument.of(" ", "application/json").isBlank());
+    }
+
+    @Test
+    void shouldMeasureAndHashBodyWithoutDecoding() {
+        // given
+        var bytes = "{\"name\": \"Cr\u00e8me br\u00fbl\u00e9e\"}".getBytes(StandardCharsets.ISO_8859_1);
+        var underTest = ResponseDocument.of(() -> SpillableContent.of(bytes), "application/json; charset=ISO-8859-1");
+
+        // when & then
+        Assertions.assertEquals(bytes.length, underTest.getSize());
+        Assertions.assertEquals("a9993e364706816aba3e25717850c26c9cd0d89d", ResponseDocument.of("abc", "text/plain").getDigest("SHA-1"));
+        Assertions.assertEquals("Cr\u00e8me br\u00fbl\u00e9e", underTest.readJsonPath("$.name"));
+    }
+}
@@ -0,0 +1,75 @@
+package de.leidenheit.infrastructure.resolving;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class RuntimeExpressionTest {
+
+    @Test
+    void shouldCompileStepExpressionIntoTargetAndKeys() {
+        // when
+        var compiled = RuntimeExpression.compile("$steps.createOrder.outputs.orderId");
+
+        // then
+        Assertions.assertEquals(RuntimeExpression.Source.STEPS, compiled.getSource());
+        Assertions.assertEquals("createOrder", compiled.getName());
+        Assertions.assertEquals(List.of("outputs", "orderId"), compiled.getKeys());
+        Assertions.assertEquals("outputs.orderId", compiled.getKeyPath());
+    }
+
+    @Test
+    void shouldCompileTargetWithoutKeysIntoEmptyPath() {
+        // when
+        var compiled = RuntimeExpression.compile("$workflows.checkout");
+
+        // then
+        Assertions.assertEquals(RuntimeExpression.Source.WORKFLOWS, compiled.getSource());
+        Assertions.assertNull(compiled.getName());
+        Assertions.assertTrue(compiled.getKeys().isEmpty());
+    }
+
+    @Test
+    void shouldCompileJsonPointerIntoPointerAndJsonPath() {
+        // when
+        var compiled = RuntimeExpression.compile("$response.body#/a/0/b");
+
+        // then
+        Assertions.assertEquals(RuntimeExpression.Source.RESPONSE_BODY, compiled.getSource());
+        Assertions.assertEquals("/a/0/b", compiled.getJsonPointer());
+        Assertions.assertEquals("a.[0].b", compiled.getBodyPath());
+        Assertions.assertEquals("$.a.[0].b", compiled.getJsonPath());
+    }
+
+    @Test
+    void shouldCompileDottedBodyPathWithBracketedIndexes() {
+        // when
+        var compiled = RuntimeExpression.compile("$response.body.items.0.id");
+
+        // then
+        Assertions.assertEquals("/items/0/id", compiled.getJsonPointer());
+        Assertions.assertEquals("$.items[0].id", compiled.getJsonPath());
+        Assertions.assertEquals("/items/0/id", compiled.getXPath());
+    }
+
+    @Test
+    void shouldNotDerivePointerFromFilterExpression() {
+        // when
+        var compiled = RuntimeExpression.compile("$response.body.items[?(@.id == 1)].name");
+
+        // then
+        Assertions.assertNull(compiled.getJsonPointer());
+        Assertions.assertEquals("items[?(@.id == 1)].name", compiled.getBodyPath());
+    }
+
+    @Test
+    void shouldCompileHttpExpressions() {
+        Assertions.assertEquals(RuntimeExpression.Source.STATUS_CODE, RuntimeExpression.compile("$statusCode").getSource());
+        Assertions.assertEquals("Location", RuntimeExpression.compile("$response.header.Location").getName());
+        Assertions.assertEquals("SHA-256", RuntimeExpression.compile("$response.digest.SHA-256").getName());
+        Assertions.assertEquals("petId", RuntimeExpression.compile("$request.path.petId").getName());
+        Assertions.assertEquals(RuntimeExpression.Source.UNSUPPORTED, RuntimeExpression.compile("$response.trailer").getSource());
+        Assertions.assertEquals(RuntimeExpression.Source.LITERAL, RuntimeExpression.compile("plain text").getSource());
+    }
+}
@@ -0,0 +1,85 @@
+package de.leidenheit.infrastructure.resolving;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.leidenheit.core.model.ArazzoSpecification;
+import de.leidenheit.core.model.SourceDescription;
+import de.leidenheit.core.model.Step;
+import de.leidenheit.core.model.Workflow;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class SpecNodesTest {
+
+    @Test
+    void shouldIndexStepsWorkflowsAndSourceDescriptions() {
+        // given
+        var arazzo = ArazzoSpecification.builder()
+                .sourceDescriptions(List.of(SourceDescription.builder().name("api").url("https://api.example.com").build()))
+                .workflows(List.of(
+                        Workflow.builder().workflowId("a").summary("first").steps(List.of(
+                                Step.builder().stepId("login").description("first login").build())).build(),
+                        Workflow.builder().workflowId("b").steps(List.of(
+                                Step.builder().stepId("login").description("second login").build(),
+                                Step.builder().stepId("order").build())).build()))
+                .build();
+
+        // when
+        var specNodes = SpecNodes.of(arazzo, new ObjectMapper());
+
+        // then
+        Assertions.assertEquals("https://api.example.com", specNodes.findSourceDescription("api").get("url").asText());
+        Assertions.assertEquals("first", specNodes.findWorkflow("a").get("summary").asText());
+        Assertions.assertEquals("order", specNodes.findStep("order").get("stepId").asText());
+        // step ids are only unique per workflow, the first step is found just as by a scan
+        Assertions.assertEquals("first login", specNodes.findStep("login").get("description").asText());
+        Assertions.assertNull(specNodes.findStep("missing"));
+    }
+
+    @Test
+    void shouldResolveStepExpressionThroughIndex() {
+        // given
+        var arazzo = ArazzoSpecification.builder()
+                .sourceDescriptions(List.of())
+                .workflows(List.of(Workflow.builder().workflowId("a").steps(List.of(
+                        Step.builder().stepId("login").description("Login as alice").build())).build()))
+                .build();
+        var resolver = new SpecExpressionResolver(arazzo, Map.of());
+
+        // when
+        var resolved = resolver.resolveExpression("$steps.login.description", null);
+
+        // then
+        Assertions.assertEquals("Login as alice", resolved);
+    }
+
+    @Test
+    void shouldCompileTemplatesAndExpressionsOfSpecificationOnce() {
+        // given
+        var arazzo = ArazzoSpecification.builder()
+                .sourceDescriptions(List.of())
+                .workflows(List.of(Workflow.builder().workflowId("a").steps(List.of(
+                        Step.builder().stepId("order")
+                                .description("Order for {$inputs.user.name} with {$steps.login.outputs.token}")
+                                .operationId("$sourceDescriptions.api.createOrder")
+                                .build())).build()))
+                .build();
+
+        // when
+        var specNodes = SpecNodes.of(arazzo, new ObjectMapper());
+
+        // then
+        var compiled = specNodes.findExpression("$inputs.user.name");
+        Assertions.assertEquals(RuntimeExpression.Source.INPUTS, compiled.getSource());
+        Assertions.assertSame(compiled, specNodes.findExpression("$inputs.user.name"));
+        Assertions.assertEquals("login", specNodes.findExpression("$steps.login.outputs.token").getName());
+        Assertions.assertNotNull(specNodes.findExpression("$sourceDescriptions.api.createOrder"));
+        var template = specNodes.findTemplate("Order for {$inputs.user.name} with {$steps.login.outputs.token}");
+        Assertions.assertEquals(List.of("$inputs.user.name", "$steps.login.outputs.token"), template.expressions());
+        // values resolved at runtime are not kept
+        Assertions.assertNull(specNodes.findExpression("$inputs.user.id"));
+        Assertions.assertNull(specNodes.findTemplate("Order for alice"));
+    }
+}
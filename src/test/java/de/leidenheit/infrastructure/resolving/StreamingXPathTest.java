@@ -0,0 +1,71 @@
+package de.leidenheit.infrastructure.resolving;
+
+import de.leidenheit.infrastructure.utils.XmlUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.StringReader;
+
+class StreamingXPathTest {
+
+    private static final String ENVELOPE = """
+            <soap:Envelope xmlns:soap="http://schemas.xmlsoap.org/soap/envelope/">
+              <soap:Body>
+                <order id="4711">
+                  <item>Chocolate</item>
+                  <item>Cookie<!-- crunchy --><![CDATA[ & Cream]]></item>
+                </order>
+              </soap:Body>
+            </soap:Envelope>""";
+
+    @Test
+    void shouldCompileOnlyAbsolutePathsWithoutPredicates() {
+        Assertions.assertNotNull(StreamingXPath.compile("/soap:Envelope/soap:Body/order"));
+        Assertions.assertNotNull(StreamingXPath.compile("/order/@id"));
+        Assertions.assertNull(StreamingXPath.compile("//order"));
+        Assertions.assertNull(StreamingXPath.compile("/order/item[2]"));
+        Assertions.assertNull(StreamingXPath.compile("/order/id = 4711"));
+        Assertions.assertNull(StreamingXPath.compile("order/item"));
+        Assertions.assertNull(StreamingXPath.compile("/@id"));
+    }
+
+    @Test
+    void shouldEvaluateFirstSelectedNode() throws XMLStreamException {
+        // when & then
+        Assertions.assertEquals("Chocolate",
+                StreamingXPath.compile("/soap:Envelope/soap:Body/order/item").evaluate(new StringReader(ENVELOPE)));
+        Assertions.assertEquals("4711",
+                StreamingXPath.compile("/soap:Envelope/soap:Body/order/@id").evaluate(new StringReader(ENVELOPE)));
+        Assertions.assertNull(StreamingXPath.compile("/soap:Envelope/order").evaluate(new StringReader(ENVELOPE)));
+    }
+
+    @Test
+    void shouldReadTextContentLikeDom() throws Exception {
+        // given
+        var xml = "<order><item>Cookie<!-- crunchy --><![CDATA[ & Cream]]><size>XL</size></item></order>";
+        var document = XmlUtils.parseDocument(new InputSource(new StringReader(xml)));
+
+        // when
+        var result = StreamingXPath.compile("/order/item").evaluate(new StringReader(xml));
+
+        // then
+        Assertions.assertEquals(document.getDocumentElement().getFirstChild().getTextContent(), result);
+    }
+
+    @Test
+    void shouldReplaceContentOfFirstSelectedNode() throws XMLStreamException {
+        // given
+        var xml = "<order id=\"1\"><item>Chocolate<size>XL</size></item><item>Cookie</item></order>";
+
+        // when
+        var replacedElement = StreamingXPath.compile("/order/item").replace(new StringReader(xml), "Cream");
+        var replacedAttribute = StreamingXPath.compile("/order/@id").replace(new StringReader(xml), "4711");
+
+        // then
+        Assertions.assertEquals("Cream", StreamingXPath.compile("/order/item").evaluate(new StringReader(replacedElement)));
+        Assertions.assertTrue(replacedElement.contains("<item>Cookie</item>"));
+        Assertions.assertEquals("4711", StreamingXPath.compile("/order/@id").evaluate(new StringReader(replacedAttribute)));
+    }
+}
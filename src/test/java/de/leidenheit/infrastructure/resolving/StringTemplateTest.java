@@ -0,0 +1,72 @@
+package de.leidenheit.infrastructure.resolving;
+
+import de.leidenheit.core.exception.ItarazzoIllegalStateException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class StringTemplateTest {
+
+    @Mock
+    private SpecExpressionResolver resolverMock;
+
+    @Test
+    void shouldRenderEmbeddedExpressionsBetweenLiterals() {
+        // given
+        given(resolverMock.resolveExpression("$steps.login.outputs.token", null)).willReturn("abc");
+        given(resolverMock.resolveExpression("$inputs.suffix", null)).willReturn(42);
+        var template = StringTemplate.of("Bearer {$steps.login.outputs.token}-{$inputs.suffix}!");
+
+        // when
+        var rendered = template.render(resolverMock);
+
+        // then
+        Assertions.assertEquals("Bearer abc-42!", rendered);
+    }
+
+    @Test
+    void shouldRenderBareExpressionAsJsonIfStructured() {
+        // given
+        given(resolverMock.resolveExpression("$inputs.cookie", null)).willReturn(Map.of("name", "Chocolate"));
+
+        // when
+        var rendered = StringTemplate.of("$inputs.cookie").render(resolverMock);
+
+        // then
+        Assertions.assertEquals("{\"name\":\"Chocolate\"}", rendered);
+    }
+
+    @Test
+    void shouldRenderLiteralWithoutResolving() {
+        // given
+        var template = StringTemplate.of("Chocolate");
+
+        // when
+        var rendered = template.render(resolverMock);
+
+        // then
+        Assertions.assertFalse(template.hasExpressions());
+        Assertions.assertEquals("Chocolate", rendered);
+        verifyNoInteractions(resolverMock);
+    }
+
+    @Test
+    void shouldFailOnUnresolvedOrUnmatchedExpression() {
+        // given
+        given(resolverMock.resolveExpression("$inputs.missing", null)).willReturn(null);
+
+        // when & then
+        var missing = StringTemplate.of("id={$inputs.missing}");
+        Assertions.assertThrows(ItarazzoIllegalStateException.class, () -> missing.render(resolverMock));
+        var unmatched = StringTemplate.of("id={$inputs.id");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> unmatched.render(resolverMock));
+    }
+}
@@ -0,0 +1,42 @@
+package de.leidenheit.infrastructure.utils;
+
+import de.leidenheit.core.execution.ExecutionOptions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+class ExecutorServiceUtilsTest {
+
+    @Test
+    void shouldLimitConcurrentTasksOfSharedExecutor() throws Exception {
+        // given
+        var underTest = ExecutorServiceUtils.sharedExecutor(ExecutionOptions.ThreadMode.PLATFORM, 2);
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var release = new CountDownLatch(1);
+
+        // when
+        var tasks = IntStream.range(0, 6)
+                .mapToObj(task -> CompletableFuture.runAsync(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                }, underTest))
+                .toArray(CompletableFuture[]::new);
+        TimeUnit.MILLISECONDS.sleep(100);
+        release.countDown();
+        CompletableFuture.allOf(tasks).get(5, TimeUnit.SECONDS);
+
+        // then
+        Assertions.assertEquals(2, maxRunning.get());
+    }
+}
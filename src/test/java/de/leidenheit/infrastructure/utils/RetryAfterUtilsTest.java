@@ -0,0 +1,31 @@
+package de.leidenheit.infrastructure.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+class RetryAfterUtilsTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2015-10-21T07:27:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void shouldParseDelaySeconds() {
+        // when & then
+        Assertions.assertEquals(Duration.ofSeconds(120), RetryAfterUtils.parseRetryAfter("120", clock));
+        Assertions.assertEquals(Duration.ofMillis(1500), RetryAfterUtils.parseRetryAfter("1.5", clock));
+    }
+
+    @Test
+    void shouldParseHttpDate() {
+        // when & then
+        Assertions.assertEquals(Duration.ofMinutes(1),
+                RetryAfterUtils.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT", clock));
+        Assertions.assertEquals(Duration.ZERO,
+                RetryAfterUtils.parseRetryAfter("Wed, 21 Oct 2015 07:00:00 GMT", clock));
+        Assertions.assertNull(RetryAfterUtils.parseRetryAfter("soon", clock));
+    }
+}